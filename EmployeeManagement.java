@@ -1,6 +1,16 @@
 /*
  * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
  */
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import com.ideas2it.employeemanagement.server.EmployeeHttpServer;
+import com.ideas2it.employeemanagement.view.EmployeeBatchView;
 import com.ideas2it.employeemanagement.view.EmployeeView;
 
 /**
@@ -9,13 +19,38 @@ import com.ideas2it.employeemanagement.view.EmployeeView;
  * id, name, date of birth, a unique mobile number and email, salary, date of
  * joining. Once a Employee id created it cannot be changed.
  *
+ * <p>Usage : java EmployeeManagement [--server [port]
+ * | --batch commandFile [resultFile]]
+ * <br>With --server the employees are served as a JSON API over HTTP
+ * instead of the console, on port 8080 unless another is given. With
+ * --batch the commands of the file are run without prompts, writing the
+ * results to the standard output unless a result file is given.
+ *
  * @author  Sivanantham
  * @version 1.4
  */
 public class EmployeeManagement {
     
-    public static void main(String[] args) {
-        EmployeeView employeeView = new EmployeeView();
-        employeeView.showWelcomeMessage();
+    public static void main(String[] args) throws IOException {
+        if ((0 < args.length) && "--server".equals(args[0])) {
+            EmployeeHttpServer server = new EmployeeHttpServer((1 < args.length)
+                    ? Integer.parseInt(args[1])
+                    : EmployeeHttpServer.DEFAULT_PORT);
+
+            server.start();
+            System.out.println("Serving employees on port " + server.getPort());
+        } else if ((1 < args.length) && "--batch".equals(args[0])) {
+            try (BufferedReader commands = Files.newBufferedReader(
+                         Paths.get(args[1]));
+                 BufferedWriter output = (2 < args.length)
+                         ? Files.newBufferedWriter(Paths.get(args[2]))
+                         : new BufferedWriter(new OutputStreamWriter(
+                                 System.out, StandardCharsets.UTF_8))) {
+                new EmployeeBatchView(output).runCommands(commands);
+            }
+        } else {
+            EmployeeView employeeView = new EmployeeView();
+            employeeView.showWelcomeMessage();
+        }
     }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.IntFunction;
+
+/**
+ * The BenchmarkRunner class measures the throughput, latency and allocation
+ * of an operation called repeatedly by one or more threads. Each
+ * measurement runs warmup iterations first, so the operation is compiled
+ * before it is measured, then measured iterations of a fixed duration. The
+ * threads call the operation in a loop until a flag set by the runner
+ * stops them, so the loop costs no clock read per call.
+ *
+ * <p>The operation gets the number of the call, which it may use to pick
+ * its input, and returns its result. Some results are written to a
+ * volatile field, so every result escapes and the compiler can neither
+ * drop the call nor remove its allocations. Bytes allocated are read per
+ * thread from the thread MXBean and garbage collections from the collector
+ * MXBeans, like a GC profiler would.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+    private static final int SINK_MASK = (1 << 16) - 1;
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN
+            = (com.sun.management.ThreadMXBean)
+              ManagementFactory.getThreadMXBean();
+    private static volatile Object sink;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+    private volatile boolean isStopped;
+
+    /**
+     * Initializes a runner with the specified iterations.
+     *
+     * @param warmupIterations the number of iterations not measured.
+     * @param measurementIterations the number of iterations measured.
+     * @param iterationMillis the duration of each iteration in milliseconds.
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations,
+            long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    /** Prints the header of the result table. */
+    public static void printHeader() {
+        System.out.printf("%-32s %7s %8s %14s %12s %12s %6s %8s%n",
+                          "Benchmark", "Store", "Threads", "ops/s", "ns/op",
+                          "B/op", "GCs", "GC ms");
+    }
+
+    /**
+     * Measures the specified operation and prints one row of results.
+     *
+     * @param name the name of the benchmark.
+     * @param storeSize the number of employees stored, printed only.
+     * @param threadCount the number of threads calling the operation.
+     * @param operation the operation, given the number of the call.
+     * @throws InterruptedException if the runner is interrupted.
+     */
+    public void run(String name, int storeSize, int threadCount,
+            IntFunction<Object> operation) throws InterruptedException {
+        long[] totals = new long[4];
+        long collectionCount;
+        long collectionMillis;
+
+        for (int iteration = 0; iteration < warmupIterations; iteration++) {
+            runIteration(threadCount, operation);
+        }
+        collectionCount = getCollectionCount();
+        collectionMillis = getCollectionMillis();
+
+        for (int iteration = 0; iteration < measurementIterations;
+                iteration++) {
+            long[] results = runIteration(threadCount, operation);
+
+            for (int index = 0; index < totals.length; index++) {
+                totals[index] += results[index];
+            }
+        }
+        System.out.printf("%-32s %7d %8d %14.0f %12.1f %12.1f %6d %8d%n",
+                name, storeSize, threadCount,
+                totals[0] * 1e9 / totals[3],
+                (double) totals[1] / Math.max(1, totals[0]),
+                (double) totals[2] / Math.max(1, totals[0]),
+                getCollectionCount() - collectionCount,
+                getCollectionMillis() - collectionMillis);
+    }
+
+    /**
+     * Runs one iteration with the specified number of threads.
+     *
+     * @param threadCount the number of threads calling the operation.
+     * @param operation the operation to be called.
+     * @return the calls, the nanoseconds spent by all threads, the bytes
+     *         allocated and the duration of the iteration in nanoseconds.
+     * @throws InterruptedException if the runner is interrupted.
+     */
+    private long[] runIteration(int threadCount,
+            IntFunction<Object> operation) throws InterruptedException {
+        long[][] threadResults = new long[threadCount][];
+        Thread[] threads = new Thread[threadCount];
+        CyclicBarrier startBarrier = new CyclicBarrier(threadCount + 1);
+        long startTime;
+        long[] results = new long[4];
+
+        isStopped = false;
+        for (int index = 0; index < threadCount; index++) {
+            int threadIndex = index;
+
+            threads[index] = new Thread(() -> threadResults[threadIndex]
+                    = callUntilStopped(startBarrier, operation));
+            threads[index].start();
+        }
+        await(startBarrier);
+        startTime = System.nanoTime();
+        Thread.sleep(iterationMillis);
+        isStopped = true;
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        results[3] = System.nanoTime() - startTime;
+
+        for (long[] threadResult : threadResults) {
+            for (int index = 0; index < threadResult.length; index++) {
+                results[index] += threadResult[index];
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Calls the operation on the current thread until the runner stops it.
+     *
+     * @param startBarrier the barrier all threads start from.
+     * @param operation the operation to be called.
+     * @return the calls, the nanoseconds spent and the bytes allocated.
+     */
+    private long[] callUntilStopped(CyclicBarrier startBarrier,
+            IntFunction<Object> operation) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytes;
+        long startTime;
+        int callCount = 0;
+
+        await(startBarrier);
+        allocatedBytes = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+        startTime = System.nanoTime();
+
+        while (!isStopped) {
+            Object result = operation.apply(callCount);
+
+            if (0 == (callCount++ & SINK_MASK)) {
+                sink = result;
+            }
+        }
+        return new long[] {callCount, System.nanoTime() - startTime,
+                THREAD_BEAN.getThreadAllocatedBytes(threadId)
+                        - allocatedBytes};
+    }
+
+    /**
+     * Waits until all threads reach the specified barrier.
+     *
+     * @param barrier the barrier to be awaited.
+     */
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Gets the number of garbage collections since the JVM started.
+     *
+     * @return the number of collections of all collectors.
+     */
+    private static long getCollectionCount() {
+        long count = 0;
+
+        for (GarbageCollectorMXBean collector
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Gets the time spent in garbage collection since the JVM started.
+     *
+     * @return the collection time of all collectors in milliseconds.
+     */
+    private static long getCollectionMillis() {
+        long millis = 0;
+
+        for (GarbageCollectorMXBean collector
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import com.ideas2it.employeemanagement.repository.DurableEmployeeRepository;
+import com.ideas2it.employeemanagement.repository.InMemoryEmployeeRepository;
+
+/**
+ * The ColdStartBenchmark class measures how long the application takes to
+ * serve its first employee lookup after startup, with an empty in-memory
+ * store, with a durable store replaying its whole log, and with a durable
+ * store opening its memory mapped snapshot.
+ *
+ * <p>Usage : java com.ideas2it.employeemanagement.benchmark.ColdStartBenchmark
+ * [employee count]
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class ColdStartBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int employeeCount = (0 < args.length) ? Integer.parseInt(args[0])
+                                              : 1000000;
+        Path dataDirectory = Files.createTempDirectory("cold-start");
+        long startTime;
+        DurableEmployeeRepository repository;
+
+        repository = new DurableEmployeeRepository(dataDirectory, 10, false);
+        for (int id = 1; id <= employeeCount; id++) {
+            repository.insertEmployee(EmployeeGenerator.createEmployee(id));
+        }
+        repository.close();
+        System.out.printf("Employees : %d, log size : %d MB%n", employeeCount,
+                Files.size(dataDirectory.resolve(
+                        DurableEmployeeRepository.LOG_FILE_NAME)) >> 20);
+
+        startTime = System.nanoTime();
+        new InMemoryEmployeeRepository().getEmployee(employeeCount / 2);
+        report("Empty in-memory start", startTime);
+
+        startTime = System.nanoTime();
+        repository = new DurableEmployeeRepository(dataDirectory, 10, false);
+        repository.getEmployee(employeeCount / 2);
+        report("Full log replay", startTime);
+
+        repository.checkpoint();
+        repository.close();
+
+        startTime = System.nanoTime();
+        repository = new DurableEmployeeRepository(dataDirectory, 10, false);
+        repository.getEmployee(employeeCount / 2);
+        report("Snapshot, first lookup", startTime);
+        repository.isEmpty();
+        report("Snapshot, fully loaded", startTime);
+        repository.close();
+
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                path.toFile().delete();
+            });
+        }
+    }
+
+    /**
+     * Prints the time elapsed since the specified start time.
+     *
+     * @param scenario the name of the measured scenario.
+     * @param startTime the start time in nanoseconds.
+     */
+    private static void report(String scenario, long startTime) {
+        System.out.printf("%-24s : %10.2f ms%n", scenario,
+                          (System.nanoTime() - startTime) / 1e6);
+    }
+}
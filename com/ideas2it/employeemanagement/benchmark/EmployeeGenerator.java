@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.time.LocalDate;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.Gender;
+
+/**
+ * The EmployeeGenerator class creates valid employees for benchmarks. The
+ * details are derived from the id, so the same id always gives the same
+ * employee, and mobile numbers and emails are unique per id. Every
+ * employee is valid on TODAY, which benchmarks fix their clock at.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeGenerator {
+    public static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+    private static final Gender[] GENDERS = Gender.values();
+    private static final String[] FIRST_NAMES = {"siva", "priya", "arun",
+            "kavya", "rahul", "divya", "karthik", "meena", "vijay", "anitha"};
+    private static final String[] LAST_NAMES = {"kumar", "raj", "devi",
+            "nathan", "lakshmi", "prasad", "bala", "rani"};
+    private static final int FIRST_DATE_OF_BIRTH
+            = (int) LocalDate.of(1970, 1, 1).toEpochDay();
+    private static final int FIRST_DATE_OF_JOINING
+            = (int) LocalDate.of(2005, 1, 1).toEpochDay();
+
+    private EmployeeGenerator() {
+
+    }
+
+    /**
+     * Creates the employee of the specified id.
+     *
+     * @param id the employee id, from 1 to 999,999,999.
+     * @return a valid employee with details derived from the id.
+     */
+    public static Employee createEmployee(int id) {
+        int hash = id * 0x9E3779B1;
+        int spread = hash ^ (hash >>> 16);
+
+        return new Employee(id,
+                FIRST_NAMES[Math.floorMod(spread, FIRST_NAMES.length)] + " "
+                + LAST_NAMES[Math.floorMod(spread >>> 4, LAST_NAMES.length)],
+                FIRST_DATE_OF_BIRTH + Math.floorMod(spread, 10000),
+                GENDERS[id % GENDERS.length], 6000000000L + id,
+                "employee" + id + "@ideas2it.com",
+                (8000 + Math.floorMod(spread, 192000)) * 100L + 50,
+                FIRST_DATE_OF_JOINING + Math.floorMod(spread >>> 8, 7000));
+    }
+}
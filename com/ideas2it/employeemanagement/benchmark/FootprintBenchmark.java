@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.repository.EmployeeRepositoryFactory;
+import com.ideas2it.employeemanagement.service.EmployeeService;
+import com.ideas2it.employeemanagement.util.DateClock;
+
+/**
+ * The FootprintBenchmark class measures the heap used per employee, both
+ * by the employee objects alone and by a service storing them with its
+ * indexes, and the garbage produced by the operations copying or reading
+ * employees. Employees are created with their own gender strings and date
+ * objects, as they are when parsed from user input.
+ *
+ * <p>Usage : java com.ideas2it.employeemanagement.benchmark
+ * .FootprintBenchmark [employee count] [storage]
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class FootprintBenchmark {
+    private static final MemoryMXBean MEMORY_BEAN
+            = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws InterruptedException {
+        int employeeCount = (0 < args.length) ? Integer.parseInt(args[0])
+                                              : 1000000;
+        String storage = (1 < args.length) ? args[1]
+                                           : EmployeeRepositoryFactory
+                                                     .MEMORY_STORAGE;
+        Employee[] employees = new Employee[employeeCount];
+        BenchmarkRunner runner = new BenchmarkRunner(2, 3, 1000);
+        EmployeeService employeeService;
+        long usedHeap = getUsedHeap();
+
+        for (int index = 0; index < employeeCount; index++) {
+            employees[index] = createInputEmployee(index + 1);
+        }
+        System.out.printf("Bytes per employee object  : %.1f%n",
+                          (double) (getUsedHeap() - usedHeap) / employeeCount);
+        employees = null;
+
+        employeeService = new EmployeeService(
+                EmployeeRepositoryFactory.createRepository(storage),
+                DateClock.fixed(EmployeeGenerator.TODAY));
+        usedHeap = getUsedHeap();
+        for (int index = 0; index < employeeCount; index++) {
+            Employee employee = createInputEmployee(index + 1);
+
+            employeeService.createEmployee(employee.getId(),
+                    employee.getName(), employee.getDateOfBirth(),
+                    employee.getGender(), employee.getMobileNumber(),
+                    employee.getEmail(), employee.getSalaryInPaise(),
+                    employee.getDateOfJoining());
+        }
+        System.out.printf("Bytes per stored employee  : %.1f%n",
+                          (double) (getUsedHeap() - usedHeap) / employeeCount);
+
+        BenchmarkRunner.printHeader();
+        runner.run("getEmployee", employeeCount, 1, call
+                -> employeeService.getEmployee(1 + (call % employeeCount)));
+        runner.run("patchEmployee salary", employeeCount, 1, call -> {
+            EmployeePatch patch = new EmployeePatch();
+
+            patch.setSalaryInPaise(800000L + (call & 0xFFFF));
+            return employeeService.patchEmployee(1 + (call % employeeCount),
+                                                 patch);
+        });
+        runner.run("getEmployeesByAgeRange", employeeCount, 1, call
+                -> employeeService.getEmployeesByAgeRange(30, 40, 10));
+        runner.run("toString", employeeCount, 1, call
+                -> employeeService.getEmployee(1 + (call % employeeCount))
+                                  .get(0).toString());
+        runner.run("getSalaryStatistics", employeeCount, 1, call
+                -> employeeService.getSalaryStatistics(
+                        EmployeeGrouping.AGE_BAND));
+    }
+
+    /**
+     * Creates the employee of the specified id with details allocated as
+     * they are when parsed from input.
+     *
+     * @param id the employee id.
+     * @return a valid employee with its own gender string.
+     */
+    private static Employee createInputEmployee(int id) {
+        Employee employee = EmployeeGenerator.createEmployee(id);
+
+        employee.setGender(new String(employee.getGender()));
+        return employee;
+    }
+
+    /**
+     * Gets the heap used by reachable objects, collecting garbage first.
+     *
+     * @return the used heap in bytes.
+     * @throws InterruptedException if interrupted while waiting for the
+     *         collector.
+     */
+    private static long getUsedHeap() throws InterruptedException {
+        for (int collection = 0; collection < 3; collection++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return MEMORY_BEAN.getHeapMemoryUsage().getUsed();
+    }
+}
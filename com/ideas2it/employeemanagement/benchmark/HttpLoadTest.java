@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ideas2it.employeemanagement.controller.EmployeeController;
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.server.EmployeeHttpServer;
+import com.ideas2it.employeemanagement.util.OperationMetrics;
+
+/**
+ * The HttpLoadTest class starts the HTTP server in process and sends it
+ * requests from many concurrent clients over the loopback interface, then
+ * reports the throughput, the latency percentiles and the peak number of
+ * platform threads. Most requests read one employee, one in twenty
+ * searches by name prefix and one in twenty updates a salary.
+ *
+ * <p>Usage : java com.ideas2it.employeemanagement.benchmark.HttpLoadTest
+ * [concurrent clients] [request count] [employee count]
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class HttpLoadTest {
+
+    public static void main(String[] args)
+            throws IOException, InterruptedException {
+        int clientCount = (0 < args.length) ? Integer.parseInt(args[0]) : 1000;
+        int requestCount = (1 < args.length) ? Integer.parseInt(args[1])
+                                             : 200000;
+        int employeeCount = (2 < args.length) ? Integer.parseInt(args[2])
+                                              : 10000;
+        EmployeeController employeeController = new EmployeeController();
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        AtomicLong failureCount = new AtomicLong();
+        Semaphore clients = new Semaphore(clientCount);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1).build();
+        OperationMetrics metrics;
+        String baseUri;
+
+        for (int id = 1; id <= employeeCount; id++) {
+            Employee employee = EmployeeGenerator.createEmployee(id);
+
+            employeeController.createEmployee(id, employee.getName(),
+                    employee.getDateOfBirth(), employee.getGender(),
+                    employee.getMobileNumber(), employee.getEmail(),
+                    employee.getSalaryInPaise(), employee.getDateOfJoining());
+        }
+
+        try (EmployeeHttpServer server = new EmployeeHttpServer(0)) {
+            server.start();
+            baseUri = "http://localhost:" + server.getPort();
+            threadBean.resetPeakThreadCount();
+            metrics = new OperationMetrics("http");
+
+            for (int request = 0; request < requestCount; request++) {
+                HttpRequest httpRequest = createRequest(baseUri, request,
+                                                        employeeCount);
+                long startTime;
+
+                clients.acquire();
+                startTime = System.nanoTime();
+                httpClient.sendAsync(httpRequest,
+                                     HttpResponse.BodyHandlers.discarding())
+                          .whenComplete((response, exception) -> {
+                              metrics.record(startTime);
+                              if ((null != exception)
+                                      || (400 <= response.statusCode())) {
+                                  failureCount.incrementAndGet();
+                              }
+                              clients.release();
+                          });
+            }
+            clients.acquire(clientCount);
+        }
+
+        System.out.printf("Clients : %d, requests : %d, failures : %d%n",
+                          clientCount, metrics.getCount(),
+                          failureCount.get());
+        System.out.printf("Throughput : %.0f requests/s%n",
+                          metrics.getThroughput());
+        System.out.printf("Latency us : mean %.0f, p50 %.0f, p90 %.0f, "
+                          + "p99 %.0f, p99.9 %.0f, max %.0f%n",
+                          metrics.getMeanLatency(),
+                          metrics.getMedianLatency(),
+                          metrics.getNinetiethPercentileLatency(),
+                          metrics.getNinetyNinthPercentileLatency(),
+                          metrics.getNinetyNinePointNinthPercentileLatency(),
+                          metrics.getMaximumLatency());
+        System.out.printf("Peak platform threads : %d%n",
+                          threadBean.getPeakThreadCount());
+    }
+
+    /**
+     * Creates the request of the specified number.
+     *
+     * @param baseUri the URI of the server.
+     * @param request the number of the request.
+     * @param employeeCount the number of stored employees.
+     * @return a read, search or update request.
+     */
+    private static HttpRequest createRequest(String baseUri, int request,
+            int employeeCount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int id = 1 + random.nextInt(employeeCount);
+
+        switch (request % 20) {
+            case 0:
+                return HttpRequest.newBuilder(URI.create(baseUri
+                        + "/employees/" + id))
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"salary\":" + (8000 + random.nextInt(
+                                        100000)) + "}"))
+                        .build();
+            case 1:
+                return HttpRequest.newBuilder(URI.create(baseUri
+                        + "/employees/search?prefix=siv&pageSize=10")).build();
+            default:
+                return HttpRequest.newBuilder(URI.create(baseUri
+                        + "/employees/" + id)).build();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.benchmark;
+
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.repository.EmployeeRepositoryFactory;
+import com.ideas2it.employeemanagement.service.EmployeeService;
+import com.ideas2it.employeemanagement.util.DateClock;
+import com.ideas2it.employeemanagement.util.EmployeeFormat;
+
+/**
+ * The ServiceBenchmark class measures the validators, the create, update
+ * and lookup operations of the service and the formatting of employees for
+ * the view, with every combination of the specified store sizes and thread
+ * counts. Validation and formatting do not depend on the store, so they
+ * are measured once per thread count. Inputs are taken from a table of
+ * generated employees, so repeated calls do not hit one cached value. The
+ * services' clock is fixed, so results do not depend on the day.
+ *
+ * <p>Each benchmark prints its throughput, average time per call, bytes
+ * allocated per call and the garbage collections during measurement. The
+ * create benchmark includes generating the employee and runs last, as it
+ * grows the store.
+ *
+ * <p>Usage : java com.ideas2it.employeemanagement.benchmark.ServiceBenchmark
+ * [store sizes] [thread counts] [storage], where sizes and counts are comma
+ * separated, for example 10000,1000000 1,4 memory
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class ServiceBenchmark {
+    private static final int INPUT_COUNT = 1 << 12;
+    private static final int INPUT_MASK = INPUT_COUNT - 1;
+    private static final DateTimeFormatter DATE_FORMATTER
+            = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] storeSizes = ((0 < args.length) ? args[0] : "10000,1000000")
+                .split(",");
+        String[] threadCounts = ((1 < args.length) ? args[1] : "1,4")
+                .split(",");
+        String storage = (2 < args.length) ? args[2]
+                                           : EmployeeRepositoryFactory
+                                                     .MEMORY_STORAGE;
+        BenchmarkRunner runner = new BenchmarkRunner(2, 3, 1000);
+
+        BenchmarkRunner.printHeader();
+        for (String threadCount : threadCounts) {
+            runValidationBenchmarks(runner, Integer.parseInt(threadCount));
+        }
+
+        for (String storeSize : storeSizes) {
+            int size = Integer.parseInt(storeSize);
+            EmployeeService employeeService = new EmployeeService(
+                    EmployeeRepositoryFactory.createRepository(storage),
+                    DateClock.fixed(EmployeeGenerator.TODAY));
+
+            for (int id = 1; id <= size; id++) {
+                createEmployee(employeeService, id);
+            }
+
+            for (String threadCount : threadCounts) {
+                runStoreBenchmarks(runner, employeeService, size,
+                                   Integer.parseInt(threadCount));
+            }
+            runCreateBenchmark(runner, employeeService, size, threadCounts);
+        }
+    }
+
+    /**
+     * Measures the validators and the formatting of employees.
+     *
+     * @param runner the runner of the benchmarks.
+     * @param threadCount the number of threads calling each operation.
+     * @throws InterruptedException if the benchmark is interrupted.
+     */
+    private static void runValidationBenchmarks(BenchmarkRunner runner,
+            int threadCount) throws InterruptedException {
+        EmployeeService employeeService = new EmployeeService(
+                EmployeeRepositoryFactory.createRepository(
+                        EmployeeRepositoryFactory.MEMORY_STORAGE),
+                DateClock.fixed(EmployeeGenerator.TODAY));
+        Employee[] employees = new Employee[INPUT_COUNT];
+        String[][] details = new String[INPUT_COUNT][];
+
+        for (int index = 0; index < INPUT_COUNT; index++) {
+            Employee employee = EmployeeGenerator.createEmployee(index + 1);
+            StringBuilder salary = new StringBuilder();
+
+            EmployeeFormat.appendSalaryInPaise(salary,
+                                               employee.getSalaryInPaise());
+            employees[index] = employee;
+            details[index] = new String[] {
+                    Integer.toString(employee.getId()), employee.getName(),
+                    employee.getDateOfBirth().format(DATE_FORMATTER),
+                    employee.getGender(),
+                    Long.toString(employee.getMobileNumber()),
+                    employee.getEmail(), salary.toString(),
+                    employee.getDateOfJoining().format(DATE_FORMATTER)};
+        }
+        runner.run("validateId", 0, threadCount, call
+                -> employeeService.validateId(details[call & INPUT_MASK][0]));
+        runner.run("validateName", 0, threadCount, call
+                -> employeeService.validateName(
+                        details[call & INPUT_MASK][1]));
+        runner.run("validateDateOfBirth", 0, threadCount, call
+                -> employeeService.validateDateOfBirth(
+                        details[call & INPUT_MASK][2]));
+        runner.run("validateGender", 0, threadCount, call
+                -> employeeService.validateGender(
+                        details[call & INPUT_MASK][3]));
+        runner.run("validateMobileNumber", 0, threadCount, call
+                -> employeeService.validateMobileNumber(
+                        details[call & INPUT_MASK][4]));
+        runner.run("validateEmail", 0, threadCount, call
+                -> employeeService.validateEmail(
+                        details[call & INPUT_MASK][5]));
+        runner.run("validateSalaryInPaise", 0, threadCount, call
+                -> employeeService.validateSalaryInPaise(
+                        details[call & INPUT_MASK][6]));
+        runner.run("validateDateOfJoining", 0, threadCount, call
+                -> employeeService.validateDateOfJoining(
+                        details[call & INPUT_MASK][7]));
+        runner.run("validateEmployee", 0, threadCount, call -> {
+            String[] employee = details[call & INPUT_MASK];
+
+            return employeeService.validateEmployee(employee[0], employee[1],
+                    employee[2], employee[3], employee[4], employee[5],
+                    employee[6], employee[7]);
+        });
+        runner.run("Employee.toString", 0, threadCount, call
+                -> employees[call & INPUT_MASK].toString());
+    }
+
+    /**
+     * Measures the lookups and updates on a store of the specified size.
+     * The updates replace details with values of the same kind, so the
+     * store does not change in size.
+     *
+     * @param runner the runner of the benchmarks.
+     * @param employeeService the service holding the employees.
+     * @param size the number of employees stored.
+     * @param threadCount the number of threads calling each operation.
+     * @throws InterruptedException if the benchmark is interrupted.
+     */
+    private static void runStoreBenchmarks(BenchmarkRunner runner,
+            EmployeeService employeeService, int size, int threadCount)
+            throws InterruptedException {
+        Employee[] employees = new Employee[INPUT_COUNT];
+
+        for (int index = 0; index < INPUT_COUNT; index++) {
+            employees[index] = EmployeeGenerator.createEmployee(
+                    ThreadLocalRandom.current().nextInt(size) + 1);
+        }
+        runner.run("isMobileNumberExist", size, threadCount, call
+                -> employeeService.isMobileNumberExist(
+                        employees[call & INPUT_MASK].getMobileNumber()));
+        runner.run("isEmailExist", size, threadCount, call
+                -> employeeService.isEmailExist(
+                        employees[call & INPUT_MASK].getEmail()));
+        runner.run("updateName", size, threadCount, call -> {
+            Employee employee = employees[call & INPUT_MASK];
+
+            return employeeService.updateName(employee.getId(),
+                    employees[(call + 1) & INPUT_MASK].getName());
+        });
+        runner.run("updateSalary", size, threadCount, call -> {
+            Employee employee = employees[call & INPUT_MASK];
+
+            return employeeService.updateSalary(employee.getId(),
+                    employees[(call + 1) & INPUT_MASK].getSalaryInPaise());
+        });
+        runner.run("updateDateOfJoining", size, threadCount, call -> {
+            Employee employee = employees[call & INPUT_MASK];
+
+            return employeeService.updateDateOfJoining(employee.getId(),
+                    employees[(call + 1) & INPUT_MASK].getDateOfJoining());
+        });
+        runner.run("getAllEmployees", size, threadCount, call
+                -> employeeService.getAllEmployees());
+    }
+
+    /**
+     * Measures creating employees with new ids after the stored ones.
+     *
+     * @param runner the runner of the benchmarks.
+     * @param employeeService the service holding the employees.
+     * @param size the number of employees stored before the benchmark.
+     * @param threadCounts the numbers of threads to be measured with.
+     * @throws InterruptedException if the benchmark is interrupted.
+     */
+    private static void runCreateBenchmark(BenchmarkRunner runner,
+            EmployeeService employeeService, int size, String[] threadCounts)
+            throws InterruptedException {
+        AtomicInteger nextId = new AtomicInteger(size);
+
+        for (String threadCount : threadCounts) {
+            runner.run("createEmployee", size, Integer.parseInt(threadCount),
+                       call -> createEmployee(employeeService,
+                                              nextId.incrementAndGet()));
+        }
+    }
+
+    /**
+     * Creates the generated employee of the specified id.
+     *
+     * @param employeeService the service to create the employee with.
+     * @param id the id of the employee.
+     * @return true if the employee is created, otherwise false.
+     */
+    private static boolean createEmployee(EmployeeService employeeService,
+            int id) {
+        Employee employee = EmployeeGenerator.createEmployee(id);
+
+        return employeeService.createEmployee(id, employee.getName(),
+                employee.getDateOfBirth(), employee.getGender(),
+                employee.getMobileNumber(), employee.getEmail(),
+                employee.getSalaryInPaise(), employee.getDateOfJoining());
+    }
+}
@@ -3,10 +3,27 @@
  */
 package com.ideas2it.employeemanagement.controller;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-import com.ideas2it.employeemanagement.service.EmployeeService;
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.ExportFormat;
+import com.ideas2it.employeemanagement.model.ImportSummary;
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
+import com.ideas2it.employeemanagement.repository.EmployeeReadSnapshot;
+import com.ideas2it.employeemanagement.service.InstrumentedEmployeeService;
 
 /**
  * The EmployeeController class contains CRUD implementations for employee 
@@ -17,7 +34,12 @@ import com.ideas2it.employeemanagement.service.EmployeeService;
  * @version 1.4
  */
 public class EmployeeController {
-    private static EmployeeService employeeService = new EmployeeService();
+    private static final InstrumentedEmployeeService employeeService 
+            = new InstrumentedEmployeeService();
+    
+    static {
+        employeeService.registerMetrics();
+    }
     
     /**
      * Checks if the specified employee exist.
@@ -119,13 +141,13 @@ public class EmployeeController {
     }
     
     /**
-     * Validates and parses given employee salary.
+     * Validates and parses given employee salary into paise.
      * 
      * @param salary the employee salary to be validated.
-     * @return employee salary as a Float if it is valid else null.
+     * @return employee salary in paise as a Long if it is valid else null.
      */
-    public Float validateSalary(String salary) {
-         return employeeService.validateSalary(salary);
+    public Long validateSalaryInPaise(String salary) {
+         return employeeService.validateSalaryInPaise(salary);
     }
     
     /**
@@ -138,6 +160,37 @@ public class EmployeeController {
         return employeeService.validateDateOfJoining(dateOfJoining);
     }
     
+    /**
+     * Validates all details of a candidate employee record in one call.
+     *
+     * @param id the employee id to be validated.
+     * @param name the employee name to be validated.
+     * @param dateOfBirth the employee date of birth to be validated.
+     * @param gender the employee gender to be validated.
+     * @param mobileNumber the employee mobile number to be validated.
+     * @param email the employee email to be validated.
+     * @param salary the employee salary to be validated.
+     * @param dateOfJoining the employee date of joining to be validated.
+     * @return a Map of every invalid field to its error message, empty if all
+     *         details are valid.
+     */
+    public Map<EmployeeField, String> validateEmployee(String id, String name,
+            String dateOfBirth, String gender, String mobileNumber, 
+            String email, String salary, String dateOfJoining) {
+        return employeeService.validateEmployee(id, name, dateOfBirth, gender,
+                mobileNumber, email, salary, dateOfJoining);
+    }
+    
+    /**
+     * Validates the specified changes of an employee's details in one call.
+     *
+     * @param changes the new value of each changed field.
+     * @return the patch of the changes if all are valid, otherwise null.
+     */
+    public EmployeePatch validatePatch(Map<EmployeeField, String> changes) {
+        return employeeService.validatePatch(changes);
+    }
+    
     /**
      * Retrieves the specified employee.
      * 
@@ -157,6 +210,252 @@ public class EmployeeController {
         return employeeService.getAllEmployees();
     }
     
+    /**
+     * Retrieves one page of employees in id order.
+     *
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of employees with the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid or the
+     *         page size is not positive.
+     */
+    public EmployeePage getEmployeePage(String cursor, int pageSize) {
+        return employeeService.getEmployeePage(cursor, pageSize);
+    }
+    
+    /**
+     * Retrieves the employees whose salary is within the specified range, in
+     * ascending order of salary.
+     *
+     * @param minimumPaise the lowest salary of the range in paise,
+     *        inclusive.
+     * @param maximumPaise the highest salary of the range in paise,
+     *        inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesBySalaryRange(long minimumPaise,
+            long maximumPaise, int limit) {
+        return employeeService.getEmployeesBySalaryRange(minimumPaise,
+                maximumPaise, limit);
+    }
+    
+    /**
+     * Retrieves the employees with the highest salaries, highest first.
+     *
+     * @param count the number of employees to be retrieved.
+     * @return a List of at most count employees.
+     */
+    public List<Employee> getHighestPaidEmployees(int count) {
+        return employeeService.getHighestPaidEmployees(count);
+    }
+    
+    /**
+     * Retrieves the employees with the lowest salaries, lowest first.
+     *
+     * @param count the number of employees to be retrieved.
+     * @return a List of at most count employees.
+     */
+    public List<Employee> getLowestPaidEmployees(int count) {
+        return employeeService.getLowestPaidEmployees(count);
+    }
+    
+    /**
+     * Retrieves the employees who joined within the specified dates, earliest
+     * joined first.
+     *
+     * @param fromDate the earliest date of joining, inclusive.
+     * @param toDate the latest date of joining, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByDateOfJoiningRange(LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        return employeeService.getEmployeesByDateOfJoiningRange(fromDate,
+                toDate, limit);
+    }
+    
+    /**
+     * Retrieves the employees whose age in years is within the specified
+     * range, oldest first.
+     *
+     * @param minimumAge the lowest age, inclusive.
+     * @param maximumAge the highest age, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByAgeRange(int minimumAge,
+            int maximumAge, int limit) {
+        return employeeService.getEmployeesByAgeRange(minimumAge, maximumAge,
+                                                      limit);
+    }
+    
+    /**
+     * Retrieves the employees whose experience in years is within the
+     * specified range, most experienced first.
+     *
+     * @param minimumYears the lowest experience in years, inclusive.
+     * @param maximumYears the highest experience in years, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByExperienceRange(int minimumYears,
+            int maximumYears, int limit) {
+        return employeeService.getEmployeesByExperienceRange(minimumYears,
+                maximumYears, limit);
+    }
+    
+    /**
+     * Searches the employees whose name has a word starting with the
+     * specified text, in id order.
+     *
+     * @param prefix the text the name words start with.
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of matching employees with the cursor of the next
+     *         page.
+     * @throws IllegalArgumentException if the prefix is blank, the cursor
+     *         is not valid or the page size is not positive.
+     */
+    public EmployeePage searchEmployeesByNamePrefix(String prefix,
+            String cursor, int pageSize) {
+        return employeeService.searchEmployeesByNamePrefix(prefix, cursor,
+                                                           pageSize);
+    }
+    
+    /**
+     * Applies the specified patch to the specified employee in one atomic
+     * update. Fails if the mobile number or email is used by another
+     * employee.
+     *
+     * @param id the id of the employee to be updated.
+     * @param patch the changed details.
+     * @return true if employee updated successfully else false.
+     */
+    public boolean patchEmployee(int id, EmployeePatch patch) {
+        return employeeService.patchEmployee(id, patch);
+    }
+    
+    /**
+     * Applies the specified patch to the specified employee only if it is
+     * still stored with the specified version.
+     *
+     * @param id the id of the employee to be updated.
+     * @param version the version the employee was read with.
+     * @param patch the changed details.
+     * @return true if employee updated successfully, false if it is not
+     *         found, its version differs or the patch would duplicate a
+     *         mobile number or email.
+     */
+    public boolean patchEmployeeIfVersion(int id, long version,
+            EmployeePatch patch) {
+        return employeeService.patchEmployeeIfVersion(id, version, patch);
+    }
+    
+    /**
+     * Applies the specified changes to many employees in one call.
+     *
+     * @param changes the changes to be applied to each employee id.
+     * @return the ids of the employees not updated.
+     */
+    public List<Integer> updateEmployees(
+            Map<Integer, Consumer<Employee>> changes) {
+        return employeeService.updateEmployees(changes);
+    }
+    
+    /**
+     * Applies the specified changes to every employee matching the
+     * specified filter in one call.
+     *
+     * @param filter the test an employee must pass to be updated.
+     * @param changes the changes to be applied to each matching employee.
+     * @return the number of employees updated.
+     */
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            Consumer<Employee> changes) {
+        return employeeService.updateMatchingEmployees(filter, changes);
+    }
+    
+    /**
+     * Gets the call count and latency of every operation called so far, also
+     * available through JMX.
+     *
+     * @return the metrics report as a table.
+     */
+    public String getOperationMetricsReport() {
+        return employeeService.getMetricsReport();
+    }
+    
+    /**
+     * Computes the headcount and salary statistics of the employees grouped
+     * by the specified detail.
+     *
+     * @param grouping the detail to group the employees by.
+     * @return a Map of each group name to its statistics, sorted by name.
+     */
+    public Map<String, SalaryStatistics> getSalaryStatistics(
+            EmployeeGrouping grouping) {
+        return employeeService.getSalaryStatistics(grouping);
+    }
+    
+    /**
+     * Searches the employees whose name contains the specified text, in id
+     * order.
+     *
+     * @param text the text to be found in the names.
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of matching employees with the cursor of the next
+     *         page.
+     * @throws IllegalArgumentException if the text is blank, the cursor is
+     *         not valid or the page size is not positive.
+     */
+    public EmployeePage searchEmployeesByName(String text, String cursor,
+            int pageSize) {
+        return employeeService.searchEmployeesByName(text, cursor, pageSize);
+    }
+    
+    /**
+     * Opens a consistent snapshot of all employees as they are now, to be
+     * closed once read.
+     *
+     * @return the opened snapshot.
+     */
+    public EmployeeReadSnapshot openSnapshot() {
+        return employeeService.openSnapshot();
+    }
+    
+    /**
+     * Exports all employees in the specified format to the specified file,
+     * or to the standard output if no file is given.
+     *
+     * @param format the format of the output.
+     * @param file the path of the file to write, replaced if it exists, or
+     *        an empty string for the standard output.
+     * @return the number of employees written.
+     * @throws IOException if the file cannot be written.
+     */
+    public long exportEmployees(ExportFormat format, String file)
+            throws IOException {
+        long count;
+        
+        if (file.isBlank()) {
+            count = employeeService.exportEmployees(format, 
+                    Channels.newChannel(System.out));
+            System.out.flush();
+            return count;
+        }
+        
+        try (FileChannel channel = FileChannel.open(Paths.get(file.strip()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return employeeService.exportEmployees(format, channel);
+        }
+    }
+    
     /**
      * Creates a new employee with specified details and stores in the database.
      *
@@ -166,16 +465,30 @@ public class EmployeeController {
      * @param dateOfBirth the date of birth of the employee.
      * @param mobileNumber the mobile number of the employee.
      * @param email the email address of the employee.
-     * @param salary the salary of the employee.
+     * @param salaryInPaise the salary of the employee in paise.
      * @param dateOfJoining the employee's date of joining. 
      * @return true if employee created successfully else false.
      */
     public boolean createEmployee (int id, String name, LocalDate dateOfBirth, 
-            String gender, long mobileNumber, String email, float salary, 
+            String gender, long mobileNumber, String email, long salaryInPaise,
             LocalDate dateOfJoining) {
        
         return employeeService.createEmployee(id, name, dateOfBirth, gender, 
-                       mobileNumber, email, salary, dateOfJoining);
+                       mobileNumber, email, salaryInPaise, dateOfJoining);
+    }
+    
+    /**
+     * Imports employees in bulk from the specified CSV file.
+     *
+     * @param csvFile the path of the file holding the employees.
+     * @param errorFile the path of the file to write the rejected rows to.
+     * @return the number of accepted and rejected rows.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public ImportSummary importEmployees(String csvFile, String errorFile)
+            throws IOException {
+        return employeeService.importEmployees(Paths.get(csvFile.strip()),
+                                               Paths.get(errorFile.strip()));
     }
     
     /**
@@ -237,11 +550,11 @@ public class EmployeeController {
     * Updates specified employee's salary and stores in the database.
     *
     * @param id employee id.
-    * @param salary the employee's new salary to update.
+    * @param salaryInPaise the employee's new salary in paise to update.
     * @return true if employee salary updated successfully else false.
     */    
-    public boolean updateSalary(int id, float salary) {
-        return employeeService.updateSalary(id, salary);
+    public boolean updateSalary(int id, long salaryInPaise) {
+        return employeeService.updateSalary(id, salaryInPaise);
     }
     
    /**
@@ -264,16 +577,16 @@ public class EmployeeController {
     * @param dateOfBirth the date of birth of the employee to update.
     * @param mobileNumber the mobile number of the employee to update.
     * @param email the email address of the employee to update.
-    * @param salary the salary of the employee to update.
+    * @param salaryInPaise the salary of the employee in paise to update.
     * @param dateOfJoining the employee's date of joining to update.
     * @return true if employee updated successfully otherwise false.
     */    
     public boolean updateAllDetails(int id, String name,LocalDate dateOfBirth,
-            String gender, long mobileNumber, String email, float salary, 
-            LocalDate dateOfJoining) {
+            String gender, long mobileNumber, String email,
+            long salaryInPaise, LocalDate dateOfJoining) {
             
         return employeeService.updateAllDetails(id, name, dateOfBirth, gender,
-                       mobileNumber, email, salary, dateOfJoining);
+                       mobileNumber, email, salaryInPaise, dateOfJoining);
     }
     
    /**
@@ -286,6 +599,19 @@ public class EmployeeController {
         return employeeService.deleteEmployee(id);
     }
     
+    /**
+     * Deletes the specified employee only if it is still stored with the
+     * specified version.
+     *
+     * @param id employee id to be deleted.
+     * @param version the version the employee was read with.
+     * @return true if employee deleted successfully, false if it is not
+     *         found or its version differs.
+     */
+    public boolean deleteEmployeeIfVersion(int id, long version) {
+        return employeeService.deleteEmployeeIfVersion(id, version);
+    }
+    
     /** Deletes all employees from the database. */
     public void deleteAllEmployee() {
         employeeService.deleteAllEmployee();
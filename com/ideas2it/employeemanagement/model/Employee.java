@@ -4,22 +4,33 @@
 package  com.ideas2it.employeemanagement.model;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+
+import com.ideas2it.employeemanagement.util.EmployeeFormat;
  
 /**
- * The Employee class is a container for employee details.
+ * The Employee class is a container for employee details. The version of a
+ * stored employee counts its updates, so a client can tell whether the
+ * employee it read has been changed since.
+ *
+ * <p>The details are held in a compact form : the gender as an enum
+ * constant, the salary as a whole number of paise and the dates as days
+ * since the epoch, so an employee holds no objects but its name and email
+ * and salaries keep their paise however large. The String and LocalDate
+ * accessors convert from and to that form. Code reading many employees
+ * should use the compact accessors instead.
  *
  * @author  sivanantham
  * @version 1.0
  */
 public class Employee {
     private int id;
-    private float salary;
+    private int dateOfBirth;
+    private int dateOfJoining;
     private long mobileNumber;
-    private LocalDate dateOfBirth;
-    private LocalDate dateOfJoining;
+    private long salaryInPaise;
+    private long version;
+    private Gender gender;
     private String email;
-    private String gender;
     private String name;
     
     /** Initializes all fields to default values. */
@@ -28,30 +39,43 @@ public class Employee {
     }
     
     /**
-     * Initializes fields with specified values.
+     * Initializes fields with specified values in compact form.
      *
      * @param id a integer value which represents employee id
      * @param name the name of the employee
+     * @param dateOfBirth the date of birth of the employee as an epoch day
      * @param gender the gender of the employee
-     * @param dateOfBirth the date of birth of the employee
      * @param mobileNumber the mobile number of the employee
      * @param email the email address of the employee
-     * @param salary the salary of the employee
-     * @param dateOfJoining the employee's date of joining 
+     * @param salaryInPaise the salary of the employee in paise
+     * @param dateOfJoining the employee's date of joining as an epoch day
      */
-    public Employee(int id, String name, LocalDate dateOfBirth, String gender,
-            long mobileNumber, String email, float salary,
-            LocalDate dateOfJoining) {
+    public Employee(int id, String name, int dateOfBirth, Gender gender,
+            long mobileNumber, String email, long salaryInPaise,
+            int dateOfJoining) {
         this.id = id;
         this.name = name;
         this.gender = gender;
         this.dateOfBirth = dateOfBirth;
         this.mobileNumber = mobileNumber;
         this.email = email;
-        this.salary = salary;
+        this.salaryInPaise = salaryInPaise;
         this.dateOfJoining = dateOfJoining;
     }
-    
+
+    /**
+     * Initializes fields with the values of the specified employee,
+     * including its version.
+     *
+     * @param employee the employee whose details to be copied
+     */
+    public Employee(Employee employee) {
+        this(employee.id, employee.name, employee.dateOfBirth, employee.gender,
+             employee.mobileNumber, employee.email, employee.salaryInPaise,
+             employee.dateOfJoining);
+        this.version = employee.version;
+    }
+
     /**
      * Gets the employee id
      *
@@ -94,15 +118,34 @@ public class Employee {
      * @return a string representing the employee gender
      */
     public String getGender() {
-        return this.gender;
+        return (null == this.gender) ? null : this.gender.getLabel();
     }
     
     /** 
-     * Assigns the specified string to the gender field.
+     * Assigns the gender of the specified label to the gender field.
      *
      * @param gender a string value representing employee gender
+     * @throws IllegalArgumentException if the gender is not valid
      */
     public void setGender(String gender) {
+        this.gender = Gender.fromLabel(gender);
+    }
+    
+    /**
+     * Gets the employee gender as an enum constant.
+     *
+     * @return the gender of the employee
+     */
+    public Gender getGenderType() {
+        return this.gender;
+    }
+    
+    /** 
+     * Assigns the specified gender to the gender field.
+     *
+     * @param gender the gender of the employee
+     */
+    public void setGenderType(Gender gender) {
         this.gender = gender;
     }
     
@@ -112,7 +155,7 @@ public class Employee {
      * @return a LocalDate type representing employee date of birth
      */
     public LocalDate getDateOfBirth() {
-        return this.dateOfBirth;
+        return LocalDate.ofEpochDay(this.dateOfBirth);
     }
     
     /** 
@@ -121,6 +164,25 @@ public class Employee {
      * @param dateOfBirth a LocalDate representing employee date of birth
      */
     public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = (int) dateOfBirth.toEpochDay();
+    }
+    
+    /**
+     * Gets the employee date of birth as the number of days since
+     * 1970-01-01.
+     *
+     * @return an int value representing employee date of birth
+     */
+    public int getDateOfBirthEpochDay() {
+        return this.dateOfBirth;
+    }
+    
+    /** 
+     * Assigns the specified epoch day to the dateOfBirth field.
+     *
+     * @param dateOfBirth the number of days since 1970-01-01
+     */
+    public void setDateOfBirthEpochDay(int dateOfBirth) {
         this.dateOfBirth = dateOfBirth;
     }
     
@@ -161,21 +223,22 @@ public class Employee {
     }
     
     /**
-     * Gets the employee salary
+     * Gets the employee salary in paise.
      *
-     * @return a string value representing employee salary
+     * @return a long value representing employee salary in paise
      */
-    public float getSalary() {
-        return this.salary;
+    public long getSalaryInPaise() {
+        return this.salaryInPaise;
     }
     
     /** 
-     * Assigns the specified float value to the salary field.
+     * Assigns the specified number of paise to the salary field.
      *
-     * @param salary a float value representing employee salary
+     * @param salaryInPaise a long value representing employee salary in
+     *        paise
      */
-    public void setSalary(float salary) {
-        this.salary = salary;
+    public void setSalaryInPaise(long salaryInPaise) {
+        this.salaryInPaise = salaryInPaise;
     }
     
     /**
@@ -184,7 +247,7 @@ public class Employee {
      * @return a LocalDate type representing employee date of joining
      */
     public LocalDate getDateOfJoining() {
-        return this.dateOfJoining;
+        return LocalDate.ofEpochDay(this.dateOfJoining);
     }
     
     /** 
@@ -194,34 +257,65 @@ public class Employee {
      *        joining
      */
     public void setDateOfJoining(LocalDate dateOfJoining) {
+        this.dateOfJoining = (int) dateOfJoining.toEpochDay();
+    }
+    
+    /**
+     * Gets the employee date of joining as the number of days since
+     * 1970-01-01.
+     *
+     * @return an int value representing employee date of joining
+     */
+    public int getDateOfJoiningEpochDay() {
+        return this.dateOfJoining;
+    }
+    
+    /** 
+     * Assigns the specified epoch day to the dateOfJoining field.
+     *
+     * @param dateOfJoining the number of days since 1970-01-01
+     */
+    public void setDateOfJoiningEpochDay(int dateOfJoining) {
         this.dateOfJoining = dateOfJoining;
     }
     
+    /**
+     * Gets the employee version.
+     *
+     * @return a long value representing the number of updates of the
+     *         employee since it was stored
+     */
+    public long getVersion() {
+        return this.version;
+    }
+    
+    /** 
+     * Assigns the specified long value to the version field. Only the
+     * repository stamps the version of an employee it stores.
+     *
+     * @param version a long value representing employee version
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    /**
+     * Converts the specified salary to the nearest number of paise.
+     *
+     * @param salary the salary in rupees
+     * @return the salary in paise
+     */
+    public static long toPaise(double salary) {
+        return Math.round(salary * 100d);
+    }
+    
     /**
      * Provides this object in human readable form.
      * @return a string which is description of the object
      */ 
     @Override 
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        
-        return new StringBuilder(150).append("\n\t\t Employee Id     : ")
-                                     .append(id)
-                                     .append("\n\n\t\t Name            : ")
-                                     .append(name)
-                                     .append("\n\n\t\t Date of birth   : ")
-                                     .append(dateOfBirth.format(formatter))
-                                     .append("\n\n\t\t Gender          : ")
-                                     .append(gender)
-                                     .append("\n\n\t\t Mobile Number   : ")
-                                     .append(mobileNumber)
-                                     .append("\n\n\t\t Email           : ")
-                                     .append(email)
-                                     .append("\n\n\t\t Salary          : ")
-                                     .append(String.format("%.2f", salary))
-                                     .append("\n\n\t\t Date Of joining : ")
-                                     .append(dateOfJoining.format(formatter))
-                                     .append("\n")
-                                     .toString();
+        return EmployeeFormat.appendDetails(new StringBuilder(320), this)
+                             .toString();
     }      
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The EmployeeField enum lists the details an employee record is made of.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public enum EmployeeField {
+    ID("Employee Id", "id"),
+    NAME("Name", "name"),
+    DATE_OF_BIRTH("Date Of Birth", "dateOfBirth"),
+    GENDER("Gender", "gender"),
+    MOBILE_NUMBER("Mobile Number", "mobileNumber"),
+    EMAIL("Email", "email"),
+    SALARY("Salary", "salary"),
+    DATE_OF_JOINING("Date Of Joining", "dateOfJoining");
+
+    private final String displayName;
+    private final String propertyName;
+
+    /**
+     * Initializes the field with its display name and property name.
+     *
+     * @param displayName the human readable name of the field.
+     * @param propertyName the name of the field in files and requests.
+     */
+    EmployeeField(String displayName, String propertyName) {
+        this.displayName = displayName;
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Finds the field of the specified property name.
+     *
+     * @param propertyName the name of the field in files and requests.
+     * @return the field, or null if no field has that name.
+     */
+    public static EmployeeField fromPropertyName(String propertyName) {
+        for (EmployeeField field : values()) {
+            if (field.propertyName.equals(propertyName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the human readable name of the field.
+     *
+     * @return the display name of the field.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the name of the field in files and requests, as in the CSV
+     * header and the JSON objects.
+     *
+     * @return the property name of the field.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The EmployeeGrouping enum lists the details employees can be grouped by
+ * for salary statistics.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public enum EmployeeGrouping {
+
+    /** One group per gender. */
+    GENDER,
+
+    /** One group per calendar year of joining. */
+    JOINING_YEAR,
+
+    /** One group per ten years of age in completed years, such as 20-29. */
+    AGE_BAND
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+import java.util.List;
+
+/**
+ * The EmployeePage class holds one page of employees in id order and the
+ * cursor to fetch the next page with.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeePage {
+    private final List<Employee> employees;
+    private final String nextCursor;
+
+    /**
+     * Initializes the page with the specified employees.
+     *
+     * @param employees the employees of the page.
+     * @param nextCursor the cursor of the next page, or null if this is the
+     *        last page.
+     */
+    public EmployeePage(List<Employee> employees, String nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the employees of the page.
+     *
+     * @return a List of the employees in id order.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Gets the cursor to fetch the next page with.
+     *
+     * @return the cursor of the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks if there is a page after this page.
+     *
+     * @return true if there are more employees, otherwise false.
+     */
+    public boolean hasNextPage() {
+        return null != nextCursor;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The EmployeePatch class holds the new values of some details of an
+ * employee. A detail which is not set is left unchanged when the patch is
+ * applied. The id of an employee cannot be patched.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeePatch {
+    private String name;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private Long mobileNumber;
+    private String email;
+    private Long salaryInPaise;
+    private LocalDate dateOfJoining;
+
+    /**
+     * Gets the new name.
+     *
+     * @return the new name, or null if the name is not changed.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the new name.
+     *
+     * @param name the new name of the employee.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the new date of birth.
+     *
+     * @return the new date of birth, or null if it is not changed.
+     */
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Sets the new date of birth.
+     *
+     * @param dateOfBirth the new date of birth of the employee.
+     */
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    /**
+     * Gets the new gender.
+     *
+     * @return the new gender, or null if the gender is not changed.
+     */
+    public String getGender() {
+        return gender;
+    }
+
+    /**
+     * Sets the new gender.
+     *
+     * @param gender the new gender of the employee.
+     */
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    /**
+     * Gets the new mobile number.
+     *
+     * @return the new mobile number, or null if it is not changed.
+     */
+    public Long getMobileNumber() {
+        return mobileNumber;
+    }
+
+    /**
+     * Sets the new mobile number.
+     *
+     * @param mobileNumber the new mobile number of the employee.
+     */
+    public void setMobileNumber(Long mobileNumber) {
+        this.mobileNumber = mobileNumber;
+    }
+
+    /**
+     * Gets the new email.
+     *
+     * @return the new email, or null if the email is not changed.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Sets the new email.
+     *
+     * @param email the new email of the employee.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Gets the new salary in paise.
+     *
+     * @return the new salary in paise, or null if it is not changed.
+     */
+    public Long getSalaryInPaise() {
+        return salaryInPaise;
+    }
+
+    /**
+     * Sets the new salary in paise.
+     *
+     * @param salaryInPaise the new salary of the employee in paise.
+     */
+    public void setSalaryInPaise(Long salaryInPaise) {
+        this.salaryInPaise = salaryInPaise;
+    }
+
+    /**
+     * Gets the new date of joining.
+     *
+     * @return the new date of joining, or null if it is not changed.
+     */
+    public LocalDate getDateOfJoining() {
+        return dateOfJoining;
+    }
+
+    /**
+     * Sets the new date of joining.
+     *
+     * @param dateOfJoining the new date of joining of the employee.
+     */
+    public void setDateOfJoining(LocalDate dateOfJoining) {
+        this.dateOfJoining = dateOfJoining;
+    }
+
+    /**
+     * Gets the details set in the patch.
+     *
+     * @return a Set of the fields the patch changes.
+     */
+    public Set<EmployeeField> getChangedFields() {
+        Set<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+
+        if (null != name) {
+            fields.add(EmployeeField.NAME);
+        }
+
+        if (null != dateOfBirth) {
+            fields.add(EmployeeField.DATE_OF_BIRTH);
+        }
+
+        if (null != gender) {
+            fields.add(EmployeeField.GENDER);
+        }
+
+        if (null != mobileNumber) {
+            fields.add(EmployeeField.MOBILE_NUMBER);
+        }
+
+        if (null != email) {
+            fields.add(EmployeeField.EMAIL);
+        }
+
+        if (null != salaryInPaise) {
+            fields.add(EmployeeField.SALARY);
+        }
+
+        if (null != dateOfJoining) {
+            fields.add(EmployeeField.DATE_OF_JOINING);
+        }
+        return fields;
+    }
+
+    /**
+     * Applies the patch to a copy of the specified employee. The employee
+     * itself is not modified.
+     *
+     * @param employee the employee to be patched.
+     * @return a patched copy of the employee, or the employee itself if the
+     *         patch does not change any of its details.
+     */
+    public Employee applyTo(Employee employee) {
+        Employee patchedEmployee;
+
+        if (((null == name) || name.equals(employee.getName()))
+                && ((null == dateOfBirth) || (dateOfBirth.toEpochDay()
+                        == employee.getDateOfBirthEpochDay()))
+                && ((null == gender) || gender.equals(employee.getGender()))
+                && ((null == mobileNumber)
+                    || (mobileNumber == employee.getMobileNumber()))
+                && ((null == email) || email.equals(employee.getEmail()))
+                && ((null == salaryInPaise)
+                    || (salaryInPaise == employee.getSalaryInPaise()))
+                && ((null == dateOfJoining) || (dateOfJoining.toEpochDay()
+                        == employee.getDateOfJoiningEpochDay()))) {
+            return employee;
+        }
+        patchedEmployee = new Employee(employee);
+        if (null != name) {
+            patchedEmployee.setName(name);
+        }
+
+        if (null != dateOfBirth) {
+            patchedEmployee.setDateOfBirth(dateOfBirth);
+        }
+
+        if (null != gender) {
+            patchedEmployee.setGender(gender);
+        }
+
+        if (null != mobileNumber) {
+            patchedEmployee.setMobileNumber(mobileNumber);
+        }
+
+        if (null != email) {
+            patchedEmployee.setEmail(email);
+        }
+
+        if (null != salaryInPaise) {
+            patchedEmployee.setSalaryInPaise(salaryInPaise);
+        }
+
+        if (null != dateOfJoining) {
+            patchedEmployee.setDateOfJoining(dateOfJoining);
+        }
+        return patchedEmployee;
+    }
+}
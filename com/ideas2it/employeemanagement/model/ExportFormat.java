@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The ExportFormat enum lists the file formats employees can be exported to.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public enum ExportFormat {
+
+    /** One comma separated line per employee, readable by the importer. */
+    CSV,
+
+    /** One JSON object per line. */
+    JSON_LINES
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The Gender enum lists the genders an employee can have. Each gender has
+ * the lowercase label users enter and a one byte code used by the binary
+ * storage formats, so the order of the constants must not change.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public enum Gender {
+    MALE("male"),
+    FEMALE("female"),
+    OTHERS("others");
+
+    private static final Gender[] GENDERS = values();
+    private final String label;
+
+    /**
+     * Initializes the gender with its label.
+     *
+     * @param label the lowercase name of the gender.
+     */
+    Gender(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the lowercase name of the gender, as entered by users.
+     *
+     * @return the label of the gender.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the code of the gender in the binary storage formats.
+     *
+     * @return the code of the gender.
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Finds the gender of the specified label.
+     *
+     * @param label the lowercase name of the gender.
+     * @return the gender of the label.
+     * @throws IllegalArgumentException if no gender has that label.
+     */
+    public static Gender fromLabel(String label) {
+        for (Gender gender : GENDERS) {
+            if (gender.label.equals(label)) {
+                return gender;
+            }
+        }
+        throw new IllegalArgumentException("Invalid gender : " + label);
+    }
+
+    /**
+     * Finds the gender of the specified code.
+     *
+     * @param code the code of the gender.
+     * @return the gender of the code.
+     */
+    public static Gender fromCode(int code) {
+        return GENDERS[code];
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The ImportSummary class holds the outcome of a bulk employee import.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class ImportSummary {
+    private final long acceptedCount;
+    private final long rejectedCount;
+    private final long elapsedMillis;
+
+    /**
+     * Initializes the summary with the specified counts.
+     *
+     * @param acceptedCount the number of employees stored.
+     * @param rejectedCount the number of rows written to the error file.
+     * @param elapsedMillis the time taken by the import in milliseconds.
+     */
+    public ImportSummary(long acceptedCount, long rejectedCount,
+            long elapsedMillis) {
+        this.acceptedCount = acceptedCount;
+        this.rejectedCount = rejectedCount;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of employees stored.
+     *
+     * @return the accepted row count.
+     */
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Gets the number of rows rejected.
+     *
+     * @return the rejected row count.
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the time taken by the import.
+     *
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(80).append("Accepted : ").append(acceptedCount)
+                .append(", Rejected : ").append(rejectedCount)
+                .append(", Time Taken : ").append(elapsedMillis).append(" ms")
+                .toString();
+    }
+}
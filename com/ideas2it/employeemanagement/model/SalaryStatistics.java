@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.model;
+
+/**
+ * The SalaryStatistics class holds the headcount and salary statistics of a
+ * group of employees. Salaries are in rupees. The percentiles are estimated
+ * from a histogram and are within about one percent of the exact values.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class SalaryStatistics {
+    private final String group;
+    private final long count;
+    private final double totalSalary;
+    private final double minimumSalary;
+    private final double maximumSalary;
+    private final double medianSalary;
+    private final double ninetiethPercentileSalary;
+    private final double ninetyNinthPercentileSalary;
+
+    /**
+     * Initializes the statistics of a group.
+     *
+     * @param group the name of the group.
+     * @param count the number of employees in the group.
+     * @param totalSalary the sum of the salaries.
+     * @param minimumSalary the lowest salary.
+     * @param maximumSalary the highest salary.
+     * @param medianSalary the 50th percentile salary.
+     * @param ninetiethPercentileSalary the 90th percentile salary.
+     * @param ninetyNinthPercentileSalary the 99th percentile salary.
+     */
+    public SalaryStatistics(String group, long count, double totalSalary,
+            double minimumSalary, double maximumSalary, double medianSalary,
+            double ninetiethPercentileSalary,
+            double ninetyNinthPercentileSalary) {
+        this.group = group;
+        this.count = count;
+        this.totalSalary = totalSalary;
+        this.minimumSalary = minimumSalary;
+        this.maximumSalary = maximumSalary;
+        this.medianSalary = medianSalary;
+        this.ninetiethPercentileSalary = ninetiethPercentileSalary;
+        this.ninetyNinthPercentileSalary = ninetyNinthPercentileSalary;
+    }
+
+    /**
+     * Gets the name of the group.
+     *
+     * @return the name of the group.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Gets the number of employees in the group.
+     *
+     * @return the headcount of the group.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the salaries of the group.
+     *
+     * @return the total salary.
+     */
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    /**
+     * Gets the average salary of the group.
+     *
+     * @return the average salary.
+     */
+    public double getAverageSalary() {
+        return totalSalary / count;
+    }
+
+    /**
+     * Gets the lowest salary of the group.
+     *
+     * @return the lowest salary.
+     */
+    public double getMinimumSalary() {
+        return minimumSalary;
+    }
+
+    /**
+     * Gets the highest salary of the group.
+     *
+     * @return the highest salary.
+     */
+    public double getMaximumSalary() {
+        return maximumSalary;
+    }
+
+    /**
+     * Gets the median salary of the group.
+     *
+     * @return the estimated 50th percentile salary.
+     */
+    public double getMedianSalary() {
+        return medianSalary;
+    }
+
+    /**
+     * Gets the salary 90 percent of the group earn at most.
+     *
+     * @return the estimated 90th percentile salary.
+     */
+    public double getNinetiethPercentileSalary() {
+        return ninetiethPercentileSalary;
+    }
+
+    /**
+     * Gets the salary 99 percent of the group earn at most.
+     *
+     * @return the estimated 99th percentile salary.
+     */
+    public double getNinetyNinthPercentileSalary() {
+        return ninetyNinthPercentileSalary;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(300).append("\n\t\t Group             : ")
+                .append(group)
+                .append("\n\n\t\t Headcount         : ").append(count)
+                .append("\n\n\t\t Total Salary      : ")
+                .append(String.format("%.2f", totalSalary))
+                .append("\n\n\t\t Average Salary    : ")
+                .append(String.format("%.2f", getAverageSalary()))
+                .append("\n\n\t\t Minimum Salary    : ")
+                .append(String.format("%.2f", minimumSalary))
+                .append("\n\n\t\t Median Salary     : ")
+                .append(String.format("%.2f", medianSalary))
+                .append("\n\n\t\t 90th Percentile   : ")
+                .append(String.format("%.2f", ninetiethPercentileSalary))
+                .append("\n\n\t\t 99th Percentile   : ")
+                .append(String.format("%.2f", ninetyNinthPercentileSalary))
+                .append("\n\n\t\t Maximum Salary    : ")
+                .append(String.format("%.2f", maximumSalary))
+                .append("\n")
+                .toString();
+    }
+}
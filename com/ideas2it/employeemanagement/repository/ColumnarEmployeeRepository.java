@@ -0,0 +1,857 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.Gender;
+import com.ideas2it.employeemanagement.util.LongIntHashMap;
+
+/**
+ * The ColumnarEmployeeRepository class stores employees column by column in
+ * primitive arrays instead of one object per employee. Salaries are kept in
+ * paise, dates as epoch days and genders as one byte codes. Names and emails
+ * are kept as UTF-8 in one shared byte array, which is compacted when half of
+ * it is no longer used. A deleted employee's row is marked free and reused by
+ * the next insert, so rows never move and iterators see every row once.
+ *
+ * <p>Employee objects are created only when an employee is retrieved, as a
+ * view of its row. Such a view is a copy, later writes do not change it.
+ * Reads share a lock and writes hold it exclusively. Registered change
+ * listeners are notified of every write while the lock is held, with the
+ * employee as stored, so a salary is given rounded to paise.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class ColumnarEmployeeRepository implements EmployeeRepository {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int NO_ROW = -1;
+    private static final int EMPTY_SLOT = 0;
+    private static final byte FREE_ROW = -1;
+    private static final int ITERATOR_CHUNK_SIZE = 256;
+    private static final int MINIMUM_COMPACTED_LENGTH = 1 << 16;
+    private final StampedLock lock = new StampedLock();
+    private final List<EmployeeChangeListener> changeListeners
+            = new CopyOnWriteArrayList<>();
+    private final LongIntHashMap rowIndex = new LongIntHashMap();
+    private final LongIntHashMap mobileNumberIndex = new LongIntHashMap();
+    private int size;
+    private int rowCount;
+    private int freeRowCount;
+    private int[] freeRows = new int[DEFAULT_CAPACITY];
+    private int[] ids = new int[DEFAULT_CAPACITY];
+    private int[] datesOfBirth = new int[DEFAULT_CAPACITY];
+    private int[] datesOfJoining = new int[DEFAULT_CAPACITY];
+    private byte[] genders = new byte[DEFAULT_CAPACITY];
+    private long[] mobileNumbers = new long[DEFAULT_CAPACITY];
+    private long[] salariesInPaise = new long[DEFAULT_CAPACITY];
+    private long[] versions = new long[DEFAULT_CAPACITY];
+    private int[] nameOffsets = new int[DEFAULT_CAPACITY];
+    private short[] nameLengths = new short[DEFAULT_CAPACITY];
+    private int[] emailOffsets = new int[DEFAULT_CAPACITY];
+    private short[] emailLengths = new short[DEFAULT_CAPACITY];
+    private byte[] strings = new byte[DEFAULT_CAPACITY * 32];
+    private int stringsLength;
+    private int unusedStringsLength;
+
+    /* Open addressing table of row + 1, probed by the hash of the email. */
+    private int[] emailSlots = new int[DEFAULT_CAPACITY * 2];
+
+    @Override
+    public void addChangeListener(EmployeeChangeListener changeListener) {
+        long stamp = lock.writeLock();
+
+        try {
+            changeListeners.add(changeListener);
+            for (int row = 0; row < rowCount; row++) {
+                if (FREE_ROW != genders[row]) {
+                    changeListener.onEmployeeInserted(viewOf(row));
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of an email.
+     *
+     * @param bytes the array holding the email.
+     * @param offset the start of the email in the array.
+     * @param length the length of the email in bytes.
+     * @return the hash of the email.
+     */
+    private static int hashOf(byte[] bytes, int offset, int length) {
+        int hash = 0;
+
+        for (int index = offset; index < offset + length; index++) {
+            hash = (31 * hash) + bytes[index];
+        }
+        return (hash * 0x9E3779B9) ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the email slot where probing starts for the email of a row.
+     *
+     * @param row the row whose email is hashed.
+     * @return the home slot of the email.
+     */
+    private int homeSlotOf(int row) {
+        return hashOf(strings, emailOffsets[row], emailLengths[row])
+               & (emailSlots.length - 1);
+    }
+
+    /**
+     * Finds the row holding the specified email.
+     *
+     * @param email the UTF-8 bytes of the email to be searched.
+     * @return the row if email found, otherwise NO_ROW.
+     */
+    private int findEmailRow(byte[] email) {
+        int mask = emailSlots.length - 1;
+
+        for (int slot = hashOf(email, 0, email.length) & mask;
+                EMPTY_SLOT != emailSlots[slot]; slot = (slot + 1) & mask) {
+            int row = emailSlots[slot] - 1;
+            int offset = emailOffsets[row];
+
+            if (Arrays.equals(strings, offset, offset + emailLengths[row],
+                              email, 0, email.length)) {
+                return row;
+            }
+        }
+        return NO_ROW;
+    }
+
+    /**
+     * Finds the email slot referring to the specified row.
+     *
+     * @param row the row whose slot is searched.
+     * @return the slot of the row.
+     */
+    private int findEmailSlot(int row) {
+        int mask = emailSlots.length - 1;
+        int slot = homeSlotOf(row);
+
+        while ((row + 1) != emailSlots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Adds the email of the specified row to the email slots, doubling the
+     * slots when they become half full.
+     *
+     * @param row the row whose email is indexed.
+     */
+    private void indexEmail(int row) {
+        int mask;
+        int slot;
+
+        if ((2 * size) > emailSlots.length) {
+            int[] oldSlots = emailSlots;
+
+            emailSlots = new int[oldSlots.length * 2];
+            for (int oldSlot : oldSlots) {
+                if (EMPTY_SLOT != oldSlot) {
+                    indexEmail(oldSlot - 1);
+                }
+            }
+        }
+        mask = emailSlots.length - 1;
+        slot = homeSlotOf(row);
+
+        while (EMPTY_SLOT != emailSlots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        emailSlots[slot] = row + 1;
+    }
+
+    /**
+     * Removes the email of the specified row from the email slots, shifting
+     * back the following slots of the probe sequence.
+     *
+     * @param row the row whose email is no longer indexed.
+     */
+    private void unindexEmail(int row) {
+        int mask = emailSlots.length - 1;
+        int emptiedSlot = findEmailSlot(row);
+        int slot = emptiedSlot;
+
+        emailSlots[emptiedSlot] = EMPTY_SLOT;
+        while (EMPTY_SLOT != emailSlots[slot = (slot + 1) & mask]) {
+            int homeSlot = homeSlotOf(emailSlots[slot] - 1);
+
+            if (((slot - homeSlot) & mask) >= ((slot - emptiedSlot) & mask)) {
+                emailSlots[emptiedSlot] = emailSlots[slot];
+                emailSlots[slot] = EMPTY_SLOT;
+                emptiedSlot = slot;
+            }
+        }
+    }
+
+    /**
+     * Creates the employee view of the specified row.
+     *
+     * @param row the row to be viewed.
+     * @return a new employee holding the details of the row.
+     */
+    private Employee viewOf(int row) {
+        Employee employee = new Employee(ids[row],
+                new String(strings, nameOffsets[row], nameLengths[row],
+                           StandardCharsets.UTF_8),
+                datesOfBirth[row], Gender.fromCode(genders[row]),
+                mobileNumbers[row],
+                new String(strings, emailOffsets[row], emailLengths[row],
+                           StandardCharsets.UTF_8),
+                salariesInPaise[row], datesOfJoining[row]);
+
+        employee.setVersion(versions[row]);
+        return employee;
+    }
+
+    /**
+     * Appends the specified bytes to the string area, growing it if needed.
+     *
+     * @param bytes the bytes to be appended.
+     * @return the offset of the appended bytes.
+     */
+    private int appendString(byte[] bytes) {
+        int offset = stringsLength;
+
+        if (strings.length < stringsLength + bytes.length) {
+            strings = Arrays.copyOf(strings, Math.max(
+                    stringsLength + bytes.length, strings.length * 2));
+        }
+        System.arraycopy(bytes, 0, strings, offset, bytes.length);
+        stringsLength += bytes.length;
+        return offset;
+    }
+
+    /**
+     * Rewrites the string area without the strings of replaced and deleted
+     * employees, once they fill half of it.
+     */
+    private void compactStringsIfSparse() {
+        byte[] compactedStrings;
+        int compactedLength = 0;
+
+        if ((MINIMUM_COMPACTED_LENGTH > unusedStringsLength)
+                || ((2 * unusedStringsLength) < stringsLength)) {
+            return;
+        }
+        compactedStrings = new byte[Math.max(DEFAULT_CAPACITY,
+                (stringsLength - unusedStringsLength) * 2)];
+
+        for (int row = 0; row < rowCount; row++) {
+            if (FREE_ROW == genders[row]) {
+                continue;
+            }
+            System.arraycopy(strings, nameOffsets[row], compactedStrings,
+                             compactedLength, nameLengths[row]);
+            nameOffsets[row] = compactedLength;
+            compactedLength += nameLengths[row];
+            System.arraycopy(strings, emailOffsets[row], compactedStrings,
+                             compactedLength, emailLengths[row]);
+            emailOffsets[row] = compactedLength;
+            compactedLength += emailLengths[row];
+        }
+        strings = compactedStrings;
+        stringsLength = compactedLength;
+        unusedStringsLength = 0;
+    }
+
+    /**
+     * Takes a free row, or a new row after the used rows, doubling the
+     * capacity of the columns when all rows are used.
+     *
+     * @return the row to store an employee in.
+     */
+    private int allocateRow() {
+        int capacity = ids.length * 2;
+
+        if (0 < freeRowCount) {
+            return freeRows[--freeRowCount];
+        }
+
+        if (rowCount == ids.length) {
+            ids = Arrays.copyOf(ids, capacity);
+            datesOfBirth = Arrays.copyOf(datesOfBirth, capacity);
+            datesOfJoining = Arrays.copyOf(datesOfJoining, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            mobileNumbers = Arrays.copyOf(mobileNumbers, capacity);
+            salariesInPaise = Arrays.copyOf(salariesInPaise, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            emailOffsets = Arrays.copyOf(emailOffsets, capacity);
+            emailLengths = Arrays.copyOf(emailLengths, capacity);
+        }
+        return rowCount++;
+    }
+
+    /**
+     * Marks the specified row free to be reused by a later insert.
+     *
+     * @param row the row no longer used.
+     */
+    private void freeRow(int row) {
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        genders[row] = FREE_ROW;
+        freeRows[freeRowCount++] = row;
+    }
+
+    /**
+     * Writes the fixed size details of the specified employee into a row.
+     *
+     * @param row the row to be written.
+     * @param employee the employee whose details are written.
+     * @param gender the code of the employee's gender.
+     */
+    private void writeDetails(int row, Employee employee, byte gender) {
+        ids[row] = employee.getId();
+        datesOfBirth[row] = employee.getDateOfBirthEpochDay();
+        datesOfJoining[row] = employee.getDateOfJoiningEpochDay();
+        genders[row] = gender;
+        mobileNumbers[row] = employee.getMobileNumber();
+        salariesInPaise[row] = employee.getSalaryInPaise();
+    }
+
+    /**
+     * Writes the name of the specified employee into a row.
+     *
+     * @param row the row to be written.
+     * @param name the UTF-8 bytes of the name.
+     */
+    private void writeName(int row, byte[] name) {
+        nameOffsets[row] = appendString(name);
+        nameLengths[row] = (short) name.length;
+    }
+
+    /**
+     * Writes the email of the specified employee into a row.
+     *
+     * @param row the row to be written.
+     * @param email the UTF-8 bytes of the email.
+     */
+    private void writeEmail(int row, byte[] email) {
+        emailOffsets[row] = appendString(email);
+        emailLengths[row] = (short) email.length;
+    }
+
+    /**
+     * Creates the views of the used rows in the specified range. A read or
+     * write lock must be held.
+     *
+     * @param fromRow the first row of the range.
+     * @param toRow the row after the last row of the range.
+     * @return the employees of the used rows in row order.
+     */
+    private List<Employee> getRows(int fromRow, int toRow) {
+        List<Employee> employees = new ArrayList<>(toRow - fromRow);
+
+        for (int row = fromRow; row < Math.min(toRow, rowCount); row++) {
+            if (FREE_ROW != genders[row]) {
+                employees.add(viewOf(row));
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Reads the employees in the order of their rows, taking the read lock
+     * for each chunk of rows only. Rows never move, so an employee stored
+     * during the whole iteration is returned exactly once, with the details
+     * stored when its chunk was read.
+     */
+    @Override
+    public Iterator<Employee> employeeIterator() {
+        return new Iterator<Employee>() {
+            private int nextRow;
+            private Iterator<Employee> chunk = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!chunk.hasNext()) {
+                    long stamp = lock.readLock();
+
+                    try {
+                        if (nextRow >= rowCount) {
+                            return false;
+                        }
+                        chunk = getRows(nextRow, nextRow + ITERATOR_CHUNK_SIZE)
+                                .iterator();
+                        nextRow += ITERATOR_CHUNK_SIZE;
+                    } finally {
+                        lock.unlockRead(stamp);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Employee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+    }
+
+    /**
+     * Reads the employees of the rows used when it is created, in row
+     * order. A spliterator splits its remaining rows in halves, and each
+     * part takes the read lock for each chunk of rows only, like the
+     * iterator.
+     */
+    @Override
+    public Spliterator<Employee> employeeSpliterator() {
+        long stamp = lock.readLock();
+
+        try {
+            return new RowSpliterator(0, rowCount);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** A spliterator over a range of rows, read one chunk at a time. */
+    private class RowSpliterator implements Spliterator<Employee> {
+        private int nextRow;
+        private final int endRow;
+        private Iterator<Employee> chunk = Collections.emptyIterator();
+
+        private RowSpliterator(int fromRow, int toRow) {
+            this.nextRow = fromRow;
+            this.endRow = toRow;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Employee> action) {
+            while (!chunk.hasNext()) {
+                long stamp;
+
+                if (nextRow >= endRow) {
+                    return false;
+                }
+                stamp = lock.readLock();
+
+                try {
+                    chunk = getRows(nextRow, Math.min(endRow,
+                            nextRow + ITERATOR_CHUNK_SIZE)).iterator();
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+                nextRow += ITERATOR_CHUNK_SIZE;
+            }
+            action.accept(chunk.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Employee> trySplit() {
+            int fromRow = nextRow;
+            int middleRow = (nextRow + endRow) >>> 1;
+
+            if (ITERATOR_CHUNK_SIZE > (endRow - nextRow)) {
+                return null;
+            }
+            nextRow = middleRow;
+            return new RowSpliterator(fromRow, middleRow);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(0, endRow - nextRow);
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | CONCURRENT;
+        }
+    }
+
+    @Override
+    public boolean isEmployeeExist(int id) {
+        long stamp = lock.readLock();
+
+        try {
+            return rowIndex.containsKey(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isMobileNumberExist(long mobileNumber) {
+        long stamp = lock.readLock();
+
+        try {
+            return mobileNumberIndex.containsKey(mobileNumber);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmailExist(String email) {
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        long stamp = lock.readLock();
+
+        try {
+            return NO_ROW != findEmailRow(emailBytes);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long stamp = lock.readLock();
+
+        try {
+            return 0 == size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Employee getEmployee(int id) {
+        long stamp = lock.readLock();
+
+        try {
+            int row = rowIndex.get(id, NO_ROW);
+
+            return (NO_ROW == row) ? null : viewOf(row);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Reads as getEmployee, whose read lock waits for changes stored. */
+    @Override
+    public Employee getEmployeeAfterChange(int id) {
+        return getEmployee(id);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        long stamp = lock.readLock();
+
+        try {
+            return getRows(0, rowCount);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Stores the specified employee in a new row. The write lock must be
+     * held.
+     *
+     * @param employee the employee to be stored.
+     * @param name the UTF-8 bytes of the employee's name.
+     * @param email the UTF-8 bytes of the employee's email.
+     * @return true if stored, false if the id, mobile number or email is
+     *         already used.
+     */
+    private boolean insertRow(Employee employee, byte[] name, byte[] email) {
+        byte gender = employee.getGenderType().getCode();
+        int row;
+        Employee storedEmployee;
+
+        if (rowIndex.containsKey(employee.getId())
+                || mobileNumberIndex.containsKey(employee.getMobileNumber())
+                || (NO_ROW != findEmailRow(email))) {
+            return false;
+        }
+
+        row = allocateRow();
+        writeDetails(row, employee, gender);
+        versions[row] = employee.getVersion();
+        writeName(row, name);
+        writeEmail(row, email);
+
+        storedEmployee = viewOf(row);
+
+        for (EmployeeChangeListener changeListener : changeListeners) {
+            changeListener.onEmployeeInserted(storedEmployee);
+        }
+        size++;
+        rowIndex.put(employee.getId(), row);
+        mobileNumberIndex.put(employee.getMobileNumber(), employee.getId());
+        indexEmail(row);
+        return true;
+    }
+
+    @Override
+    public boolean insertEmployee(Employee employee) {
+        byte[] name = employee.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = employee.getEmail().getBytes(StandardCharsets.UTF_8);
+        long stamp = lock.writeLock();
+
+        try {
+            return insertRow(employee, name, email);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores the specified employees holding the write lock once for the
+     * whole batch.
+     */
+    @Override
+    public List<Employee> insertEmployees(List<Employee> employees) {
+        List<Employee> rejectedEmployees = new ArrayList<>();
+        long stamp = lock.writeLock();
+
+        try {
+            for (Employee employee : employees) {
+                if (!insertRow(employee,
+                        employee.getName().getBytes(StandardCharsets.UTF_8),
+                        employee.getEmail().getBytes(StandardCharsets.UTF_8))) {
+                    rejectedEmployees.add(employee);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return rejectedEmployees;
+    }
+
+    @Override
+    public Employee updateEmployee(int id, UnaryOperator<Employee> updater) {
+        long stamp = lock.writeLock();
+
+        try {
+            Employee updatedEmployee = updateRow(id, updater);
+
+            compactStringsIfSparse();
+            return updatedEmployee;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates the employees one after another under one write lock, so the
+     * lock is taken once per batch. Rows are written by one thread at a
+     * time, so the batch is not split across threads.
+     */
+    @Override
+    public List<Integer> updateEmployees(
+            Map<Integer, UnaryOperator<Employee>> updaters) {
+        List<Integer> skippedIds = new ArrayList<>();
+        long stamp = lock.writeLock();
+
+        try {
+            updaters.forEach((id, updater) -> {
+                if (null == updateRow(id, updater)) {
+                    skippedIds.add(id);
+                }
+            });
+            compactStringsIfSparse();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Scans the rows and updates the matching employees under one write
+     * lock, so the lock is taken once per batch.
+     */
+    @Override
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            UnaryOperator<Employee> updater) {
+        int updatedCount = 0;
+        long stamp = lock.writeLock();
+
+        try {
+            for (int row = 0; row < rowCount; row++) {
+                if ((FREE_ROW != genders[row]) && filter.test(viewOf(row))
+                        && (null != updateRow(ids[row], updater))) {
+                    updatedCount++;
+                }
+            }
+            compactStringsIfSparse();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return updatedCount;
+    }
+
+    /**
+     * Replaces the specified employee with the result of the updater. The
+     * write lock must be held.
+     *
+     * @param id the id of the employee to be updated.
+     * @param updater the function computing the updated employee.
+     * @return the updated employee, or null if the employee is not found,
+     *         left unchanged or the update would duplicate a mobile number
+     *         or email.
+     */
+    private Employee updateRow(int id, UnaryOperator<Employee> updater) {
+        int row = rowIndex.get(id, NO_ROW);
+        Employee employee;
+        Employee updatedEmployee;
+        boolean isMobileNumberChanged;
+        boolean isEmailChanged;
+        byte[] email;
+        byte gender;
+
+        if (NO_ROW == row) {
+            return null;
+        }
+        employee = viewOf(row);
+        updatedEmployee = updater.apply(employee);
+
+        if (employee == updatedEmployee) {
+            return null;
+        }
+        isMobileNumberChanged = employee.getMobileNumber()
+                                != updatedEmployee.getMobileNumber();
+        isEmailChanged = !employee.getEmail()
+                                  .equals(updatedEmployee.getEmail());
+        email = updatedEmployee.getEmail()
+                               .getBytes(StandardCharsets.UTF_8);
+        gender = updatedEmployee.getGenderType().getCode();
+
+        if ((isMobileNumberChanged && mobileNumberIndex.containsKey(
+                updatedEmployee.getMobileNumber()))
+                || (isEmailChanged && (NO_ROW != findEmailRow(email)))) {
+            return null;
+        }
+
+        if (isMobileNumberChanged) {
+            mobileNumberIndex.remove(employee.getMobileNumber(), id);
+            mobileNumberIndex.put(updatedEmployee.getMobileNumber(), id);
+        }
+
+        if (!employee.getName().equals(updatedEmployee.getName())) {
+            unusedStringsLength += nameLengths[row];
+            writeName(row, updatedEmployee.getName().getBytes(
+                    StandardCharsets.UTF_8));
+        }
+
+        if (isEmailChanged) {
+            unindexEmail(row);
+            unusedStringsLength += emailLengths[row];
+            writeEmail(row, email);
+            indexEmail(row);
+        }
+        writeDetails(row, updatedEmployee, gender);
+        versions[row]++;
+        updatedEmployee = viewOf(row);
+
+        for (EmployeeChangeListener changeListener : changeListeners) {
+            changeListener.onEmployeeUpdated(employee, updatedEmployee);
+        }
+        return updatedEmployee;
+    }
+
+    @Override
+    public boolean deleteEmployee(int id) {
+        long stamp = lock.writeLock();
+
+        try {
+            int row = rowIndex.get(id, NO_ROW);
+
+            if (NO_ROW == row) {
+                return false;
+            }
+            deleteRow(row);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int id, long version) {
+        long stamp = lock.writeLock();
+
+        try {
+            int row = rowIndex.get(id, NO_ROW);
+
+            if ((NO_ROW == row) || (version != versions[row])) {
+                return false;
+            }
+            deleteRow(row);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Deletes the employee of the specified row. The write lock must be
+     * held.
+     *
+     * @param row the row of the employee to be deleted.
+     */
+    private void deleteRow(int row) {
+        if (!changeListeners.isEmpty()) {
+            Employee employee = viewOf(row);
+
+            for (EmployeeChangeListener changeListener : changeListeners) {
+                changeListener.onEmployeeDeleted(employee);
+            }
+        }
+        rowIndex.remove(ids[row], row);
+        mobileNumberIndex.remove(mobileNumbers[row], ids[row]);
+        unindexEmail(row);
+        unusedStringsLength += nameLengths[row] + emailLengths[row];
+        freeRow(row);
+        size--;
+        compactStringsIfSparse();
+    }
+
+    @Override
+    public void deleteAllEmployees() {
+        long stamp = lock.writeLock();
+
+        try {
+            if (!changeListeners.isEmpty()) {
+                for (Employee employee : getRows(0, rowCount)) {
+                    for (EmployeeChangeListener changeListener
+                            : changeListeners) {
+                        changeListener.onEmployeeDeleted(employee);
+                    }
+                }
+            }
+            rowIndex.clear();
+            mobileNumberIndex.clear();
+            Arrays.fill(emailSlots, EMPTY_SLOT);
+            size = 0;
+            rowCount = 0;
+            freeRowCount = 0;
+            stringsLength = 0;
+            unusedStringsLength = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,911 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.Gender;
+
+/**
+ * The DurableEmployeeRepository class keeps employees in an in-memory
+ * repository and records every change in a write ahead log, so that no data
+ * is lost on exit. Each record is a compact binary form of one change. A
+ * write returns once its record is group committed, unless awaiting the
+ * commit is turned off. An update is logged as a patch of only the changed
+ * details, so changing one detail does not log the whole employee. Every
+ * update is logged, even one changing no detail, so replaying the log
+ * gives each employee the version it had. Salaries are logged as exact
+ * paise. Insert and patch records of the earlier format, which logged
+ * salaries as floats, are still replayed.
+ *
+ * <p>A checkpoint saves all employees into a memory mapped snapshot and
+ * empties the log. On startup the snapshot is mapped and the log written
+ * after it is read, then the repository is loaded in the background.
+ * Employee lookups are served right away from the snapshot, other
+ * operations wait until loading completes. Without a snapshot the whole log
+ * is replayed before the constructor returns.
+ *
+ * @author  Sivanantham
+ * @version 1.1
+ */
+public class DurableEmployeeRepository implements EmployeeRepository,
+        EmployeeChangeListener, Closeable {
+    public static final String LOG_FILE_NAME = "employees.wal";
+    public static final String SNAPSHOT_FILE_NAME = "employees.snapshot";
+    private static final byte FLOAT_SALARY_INSERT_RECORD = 1;
+    private static final byte UPDATE_RECORD = 2;
+    private static final byte DELETE_RECORD = 3;
+    private static final byte DELETE_ALL_RECORD = 4;
+    private static final byte CHECKPOINT_RECORD = 5;
+    private static final byte FLOAT_SALARY_PATCH_RECORD = 6;
+    private static final byte INSERT_RECORD = 7;
+    private static final byte PATCH_RECORD = 8;
+    private final InMemoryEmployeeRepository employees
+            = new InMemoryEmployeeRepository();
+    private final ReadWriteLock exclusiveLock = new ReentrantReadWriteLock();
+    private final CountDownLatch loadLatch = new CountDownLatch(1);
+    private final Map<Integer, Employee> startupChanges = new HashMap<>();
+    private final Path dataDirectory;
+    private final WriteAheadLog writeAheadLog;
+    private final EmployeeSnapshot startupSnapshot;
+    private final boolean isCommitAwaited;
+    private boolean isStartupSnapshotCleared;
+    private boolean isLoggingSuspended;
+    private volatile boolean isLoaded;
+    private volatile RuntimeException loadFailure;
+
+    /**
+     * Opens the repository stored in the specified directory. If there is a
+     * snapshot, it is loaded in the background, otherwise the log is
+     * replayed before returning.
+     *
+     * @param dataDirectory the directory holding the log and snapshot files.
+     * @param commitIntervalMillis the time to gather records before each
+     *        fsync.
+     * @param isCommitAwaited true if writes must wait until their record is
+     *        synced to the disk, false to return right after appending.
+     * @throws IOException if the log or snapshot cannot be opened or read.
+     */
+    public DurableEmployeeRepository(Path dataDirectory,
+            long commitIntervalMillis, boolean isCommitAwaited)
+            throws IOException {
+        Path snapshotPath = dataDirectory.resolve(SNAPSHOT_FILE_NAME);
+        List<ByteBuffer> logRecords = new ArrayList<>();
+        Thread loader;
+
+        Files.createDirectories(dataDirectory);
+        this.dataDirectory = dataDirectory;
+        this.isCommitAwaited = isCommitAwaited;
+        startupSnapshot = Files.exists(snapshotPath)
+                          ? EmployeeSnapshot.open(snapshotPath) : null;
+        writeAheadLog = new WriteAheadLog(dataDirectory.resolve(LOG_FILE_NAME),
+                                          commitIntervalMillis);
+        writeAheadLog.replay(logRecords::add);
+        logRecords = selectRecordsAfterSnapshot(logRecords);
+
+        if (null == startupSnapshot) {
+            loadEmployees(logRecords);
+            return;
+        }
+
+        for (ByteBuffer logRecord : logRecords) {
+            collectStartupChange(logRecord.duplicate());
+        }
+        List<ByteBuffer> recordsToApply = logRecords;
+        loader = new Thread(() -> loadEmployees(recordsToApply),
+                            "employee-snapshot-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Drops the log records which are already part of the snapshot. A log
+     * written after a checkpoint starts with a checkpoint record holding the
+     * id of the snapshot. A log not starting so was written before the
+     * snapshot, which happens if the application stopped during a
+     * checkpoint.
+     *
+     * @param logRecords all intact records of the log.
+     * @return the records to be applied over the snapshot.
+     */
+    private List<ByteBuffer> selectRecordsAfterSnapshot(
+            List<ByteBuffer> logRecords) {
+        ByteBuffer firstRecord = logRecords.isEmpty() ? null
+                                                      : logRecords.get(0);
+        boolean isCheckpointLog = (null != firstRecord)
+                && (CHECKPOINT_RECORD == firstRecord.get(0));
+
+        if (null == startupSnapshot) {
+            return isCheckpointLog ? logRecords.subList(1, logRecords.size())
+                                   : logRecords;
+        }
+
+        if (isCheckpointLog && (startupSnapshot.getCheckpointId()
+                                == firstRecord.getLong(1))) {
+            return logRecords.subList(1, logRecords.size());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Records the effect of a log record so that employees changed after
+     * the snapshot are looked up correctly while loading.
+     *
+     * @param record the payload of the log record.
+     */
+    private void collectStartupChange(ByteBuffer record) {
+        byte recordType = record.get();
+        Employee employee;
+        Employee updatedEmployee;
+        int id;
+
+        switch (recordType) {
+            case INSERT_RECORD:
+            case FLOAT_SALARY_INSERT_RECORD:
+                employee = readEmployee(record,
+                                        INSERT_RECORD == recordType);
+                startupChanges.put(employee.getId(), employee);
+                break;
+            case UPDATE_RECORD:
+                updatedEmployee = readEmployee(record, false);
+                putStartupUpdate(updatedEmployee.getId(),
+                                 storedEmployee -> updatedEmployee);
+                break;
+            case PATCH_RECORD:
+            case FLOAT_SALARY_PATCH_RECORD:
+                id = record.getInt();
+                putStartupUpdate(id, readPatch(record,
+                        PATCH_RECORD == recordType)::applyTo);
+                break;
+            case DELETE_RECORD:
+                startupChanges.put(record.getInt(), null);
+                break;
+            case DELETE_ALL_RECORD:
+                startupChanges.clear();
+                isStartupSnapshotCleared = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Records an update of a log record for the lookups while loading,
+     * stamped with the next version like the repository stamps it.
+     *
+     * @param id the id of the updated employee.
+     * @param updater the function computing the updated employee.
+     */
+    private void putStartupUpdate(int id, UnaryOperator<Employee> updater) {
+        Employee employee = getStartupEmployee(id);
+        Employee updatedEmployee;
+
+        if (null != employee) {
+            updatedEmployee = new Employee(updater.apply(employee));
+            updatedEmployee.setVersion(employee.getVersion() + 1);
+            startupChanges.put(id, updatedEmployee);
+        }
+    }
+
+    /**
+     * Loads the snapshot and applies the log records over it, then starts
+     * logging changes.
+     *
+     * @param logRecords the log records written after the snapshot.
+     */
+    private void loadEmployees(List<ByteBuffer> logRecords) {
+        try {
+            if (null != startupSnapshot) {
+                for (int index = 0; index < startupSnapshot.size(); index++) {
+                    employees.insertEmployee(
+                            startupSnapshot.getEmployeeAt(index));
+                }
+            }
+
+            for (ByteBuffer logRecord : logRecords) {
+                applyRecord(logRecord);
+            }
+            employees.addChangeListenerOfNewChanges(this);
+        } catch (RuntimeException exception) {
+            loadFailure = exception;
+        } finally {
+            isLoaded = true;
+            loadLatch.countDown();
+        }
+    }
+
+    /**
+     * Waits until the stored employees are loaded.
+     *
+     * @throws IllegalStateException if loading failed.
+     */
+    private void awaitLoaded() {
+        boolean isInterrupted = false;
+
+        while (!isLoaded) {
+            try {
+                loadLatch.await();
+            } catch (InterruptedException exception) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (null != loadFailure) {
+            throw new IllegalStateException("Stored employees cannot be "
+                                            + "loaded", loadFailure);
+        }
+    }
+
+    /**
+     * Looks up an employee while loading, from the log records written after
+     * the snapshot or else from the snapshot.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if found, otherwise null.
+     */
+    private Employee getStartupEmployee(int id) {
+        if (startupChanges.containsKey(id)) {
+            return startupChanges.get(id);
+        }
+        return isStartupSnapshotCleared ? null
+                                        : startupSnapshot.getEmployee(id);
+    }
+
+    /**
+     * Encodes the specified employee details into the record.
+     *
+     * @param output the stream of the record.
+     * @param employee the employee to be encoded.
+     * @throws IOException never, the record is written into memory.
+     */
+    private void writeEmployee(DataOutputStream output, Employee employee)
+            throws IOException {
+        byte[] name = employee.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = employee.getEmail().getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(employee.getId());
+        output.writeShort(name.length);
+        output.write(name);
+        output.writeInt(employee.getDateOfBirthEpochDay());
+        output.writeByte(employee.getGenderType().getCode());
+        output.writeLong(employee.getMobileNumber());
+        output.writeShort(email.length);
+        output.write(email);
+        output.writeLong(employee.getSalaryInPaise());
+        output.writeInt(employee.getDateOfJoiningEpochDay());
+    }
+
+    /**
+     * Decodes employee details written by writeEmployee, or by the earlier
+     * format logging the salary as a float.
+     *
+     * @param record the record positioned at the employee details.
+     * @param isSalaryInPaise true if the salary is logged in paise, false
+     *        if it is logged as a float.
+     * @return the decoded employee.
+     */
+    private Employee readEmployee(ByteBuffer record,
+            boolean isSalaryInPaise) {
+        int id = record.getInt();
+        String name = readString(record);
+        int dateOfBirth = record.getInt();
+        Gender gender = Gender.fromCode(record.get());
+        long mobileNumber = record.getLong();
+        String email = readString(record);
+        long salaryInPaise = isSalaryInPaise
+                             ? record.getLong()
+                             : Employee.toPaise(record.getFloat());
+        int dateOfJoining = record.getInt();
+
+        return new Employee(id, name, dateOfBirth, gender, mobileNumber, email,
+                            salaryInPaise, dateOfJoining);
+    }
+
+    /**
+     * Encodes the specified patch into the record as a mask of the changed
+     * fields, one bit per field, followed by the new values in field order.
+     *
+     * @param output the stream of the record.
+     * @param patch the patch to be encoded.
+     * @throws IOException never, the record is written into memory.
+     */
+    private void writePatch(DataOutputStream output, EmployeePatch patch)
+            throws IOException {
+        int fieldMask = 0;
+
+        for (EmployeeField field : patch.getChangedFields()) {
+            fieldMask |= 1 << field.ordinal();
+        }
+        output.writeByte(fieldMask);
+
+        if (null != patch.getName()) {
+            writeString(output, patch.getName());
+        }
+
+        if (null != patch.getDateOfBirth()) {
+            output.writeInt((int) patch.getDateOfBirth().toEpochDay());
+        }
+
+        if (null != patch.getGender()) {
+            output.writeByte(Gender.fromLabel(patch.getGender()).getCode());
+        }
+
+        if (null != patch.getMobileNumber()) {
+            output.writeLong(patch.getMobileNumber());
+        }
+
+        if (null != patch.getEmail()) {
+            writeString(output, patch.getEmail());
+        }
+
+        if (null != patch.getSalaryInPaise()) {
+            output.writeLong(patch.getSalaryInPaise());
+        }
+
+        if (null != patch.getDateOfJoining()) {
+            output.writeInt((int) patch.getDateOfJoining().toEpochDay());
+        }
+    }
+
+    /**
+     * Decodes a patch written by writePatch, or by the earlier format
+     * logging the salary as a float.
+     *
+     * @param record the record positioned at the field mask.
+     * @param isSalaryInPaise true if the salary is logged in paise, false
+     *        if it is logged as a float.
+     * @return the decoded patch.
+     */
+    private EmployeePatch readPatch(ByteBuffer record,
+            boolean isSalaryInPaise) {
+        EmployeePatch patch = new EmployeePatch();
+        int fieldMask = record.get() & 0xFF;
+
+        if (isFieldSet(fieldMask, EmployeeField.NAME)) {
+            patch.setName(readString(record));
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.DATE_OF_BIRTH)) {
+            patch.setDateOfBirth(LocalDate.ofEpochDay(record.getInt()));
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.GENDER)) {
+            patch.setGender(Gender.fromCode(record.get()).getLabel());
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.MOBILE_NUMBER)) {
+            patch.setMobileNumber(record.getLong());
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.EMAIL)) {
+            patch.setEmail(readString(record));
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.SALARY)) {
+            patch.setSalaryInPaise(isSalaryInPaise
+                                   ? record.getLong()
+                                   : Employee.toPaise(record.getFloat()));
+        }
+
+        if (isFieldSet(fieldMask, EmployeeField.DATE_OF_JOINING)) {
+            patch.setDateOfJoining(LocalDate.ofEpochDay(record.getInt()));
+        }
+        return patch;
+    }
+
+    /**
+     * Checks if the specified field is set in a field mask.
+     *
+     * @param fieldMask the mask of the changed fields.
+     * @param field the field to be checked.
+     * @return true if the field is set, otherwise false.
+     */
+    private static boolean isFieldSet(int fieldMask, EmployeeField field) {
+        return 0 != (fieldMask & (1 << field.ordinal()));
+    }
+
+    /**
+     * Creates a patch of the details which differ between the specified
+     * employees.
+     *
+     * @param employee the employee before the change.
+     * @param updatedEmployee the employee after the change.
+     * @return the patch turning employee into updatedEmployee.
+     */
+    private static EmployeePatch createPatch(Employee employee,
+            Employee updatedEmployee) {
+        EmployeePatch patch = new EmployeePatch();
+
+        if (!employee.getName().equals(updatedEmployee.getName())) {
+            patch.setName(updatedEmployee.getName());
+        }
+
+        if (employee.getDateOfBirthEpochDay()
+                != updatedEmployee.getDateOfBirthEpochDay()) {
+            patch.setDateOfBirth(updatedEmployee.getDateOfBirth());
+        }
+
+        if (employee.getGenderType() != updatedEmployee.getGenderType()) {
+            patch.setGender(updatedEmployee.getGender());
+        }
+
+        if (employee.getMobileNumber() != updatedEmployee.getMobileNumber()) {
+            patch.setMobileNumber(updatedEmployee.getMobileNumber());
+        }
+
+        if (!employee.getEmail().equals(updatedEmployee.getEmail())) {
+            patch.setEmail(updatedEmployee.getEmail());
+        }
+
+        if (employee.getSalaryInPaise()
+                != updatedEmployee.getSalaryInPaise()) {
+            patch.setSalaryInPaise(updatedEmployee.getSalaryInPaise());
+        }
+
+        if (employee.getDateOfJoiningEpochDay()
+                != updatedEmployee.getDateOfJoiningEpochDay()) {
+            patch.setDateOfJoining(updatedEmployee.getDateOfJoining());
+        }
+        return patch;
+    }
+
+    /**
+     * Encodes a string prefixed with its length in bytes.
+     *
+     * @param output the stream of the record.
+     * @param string the string to be encoded.
+     * @throws IOException never, the record is written into memory.
+     */
+    private void writeString(DataOutputStream output, String string)
+            throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Decodes a string prefixed with its length in bytes.
+     *
+     * @param record the record positioned at the string.
+     * @return the decoded string.
+     */
+    private String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xFFFF];
+
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Applies a logged change to the in-memory repository.
+     *
+     * @param record the payload of the log record.
+     */
+    private void applyRecord(ByteBuffer record) {
+        byte recordType = record.get();
+        Employee employee;
+        EmployeePatch patch;
+        int id;
+
+        switch (recordType) {
+            case INSERT_RECORD:
+            case FLOAT_SALARY_INSERT_RECORD:
+                employees.insertEmployee(readEmployee(record,
+                        INSERT_RECORD == recordType));
+                break;
+            case UPDATE_RECORD:
+                employee = readEmployee(record, false);
+                employees.updateEmployee(employee.getId(),
+                                         storedEmployee -> employee);
+                break;
+            case PATCH_RECORD:
+            case FLOAT_SALARY_PATCH_RECORD:
+                id = record.getInt();
+                patch = readPatch(record, PATCH_RECORD == recordType);
+                employees.updateEmployee(id, storedEmployee
+                        -> new Employee(patch.applyTo(storedEmployee)));
+                break;
+            case DELETE_RECORD:
+                employees.deleteEmployee(record.getInt());
+                break;
+            case DELETE_ALL_RECORD:
+                employees.deleteAllEmployees();
+                break;
+            case CHECKPOINT_RECORD:
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record type");
+        }
+    }
+
+    /**
+     * Appends a record of the specified type to the log.
+     *
+     * @param recordType the type of the change.
+     * @param employee the employee details to be logged, or null if the
+     *        change has no details.
+     * @param id the employee id logged when there are no details.
+     * @return the sequence number of the record.
+     */
+    private long appendRecord(byte recordType, Employee employee, long id) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+        DataOutputStream output = new DataOutputStream(record);
+
+        try {
+            output.writeByte(recordType);
+
+            if (null != employee) {
+                writeEmployee(output, employee);
+            } else if (DELETE_RECORD == recordType) {
+                output.writeInt((int) id);
+            } else if (CHECKPOINT_RECORD == recordType) {
+                output.writeLong(id);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return writeAheadLog.append(record.toByteArray());
+    }
+
+    /**
+     * Appends a record of the specified patch of an employee to the log.
+     *
+     * @param id the id of the patched employee.
+     * @param patch the changed details to be logged.
+     * @return the sequence number of the record.
+     */
+    private long appendPatchRecord(int id, EmployeePatch patch) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(32);
+        DataOutputStream output = new DataOutputStream(record);
+
+        try {
+            output.writeByte(PATCH_RECORD);
+            output.writeInt(id);
+            writePatch(output, patch);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return writeAheadLog.append(record.toByteArray());
+    }
+
+    /**
+     * Waits for the records appended so far to be committed, if writes are
+     * configured to await the commit.
+     */
+    private void awaitCommit() {
+        if (isCommitAwaited) {
+            writeAheadLog.awaitDurable(writeAheadLog.getAppendedSequence());
+        }
+    }
+
+    @Override
+    public void onEmployeeInserted(Employee employee) {
+        if (!isLoggingSuspended) {
+            appendRecord(INSERT_RECORD, employee, employee.getId());
+        }
+    }
+
+    @Override
+    public void onEmployeeUpdated(Employee employee, Employee updatedEmployee) {
+        if (!isLoggingSuspended) {
+            appendPatchRecord(employee.getId(),
+                              createPatch(employee, updatedEmployee));
+        }
+    }
+
+    @Override
+    public void onEmployeeDeleted(Employee employee) {
+        if (!isLoggingSuspended) {
+            appendRecord(DELETE_RECORD, null, employee.getId());
+        }
+    }
+
+    /**
+     * Checks if an employee with the specified id is stored. Answered from
+     * the snapshot while loading.
+     *
+     * @param id the employee id to be searched.
+     * @return true if employee found, otherwise false.
+     */
+    @Override
+    public boolean isEmployeeExist(int id) {
+        return isLoaded ? employees.isEmployeeExist(id)
+                        : (null != getStartupEmployee(id));
+    }
+
+    @Override
+    public boolean isMobileNumberExist(long mobileNumber) {
+        awaitLoaded();
+        return employees.isMobileNumberExist(mobileNumber);
+    }
+
+    @Override
+    public boolean isEmailExist(String email) {
+        awaitLoaded();
+        return employees.isEmailExist(email);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        awaitLoaded();
+        return employees.isEmpty();
+    }
+
+    /**
+     * Retrieves the specified employee. Answered from the snapshot while
+     * loading.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if found, otherwise null.
+     */
+    @Override
+    public Employee getEmployee(int id) {
+        return isLoaded ? employees.getEmployee(id) : getStartupEmployee(id);
+    }
+
+    @Override
+    public Employee getEmployeeAfterChange(int id) {
+        return isLoaded ? employees.getEmployeeAfterChange(id)
+                        : getStartupEmployee(id);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        awaitLoaded();
+        return employees.getAllEmployees();
+    }
+
+    @Override
+    public Iterator<Employee> employeeIterator() {
+        awaitLoaded();
+        return employees.employeeIterator();
+    }
+
+    @Override
+    public Spliterator<Employee> employeeSpliterator() {
+        awaitLoaded();
+        return employees.employeeSpliterator();
+    }
+
+    @Override
+    public boolean insertEmployee(Employee employee) {
+        boolean isInserted;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            isInserted = employees.insertEmployee(employee);
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (isInserted) {
+            awaitCommit();
+        }
+        return isInserted;
+    }
+
+    /**
+     * Stores the specified employees and waits for the commit of the whole
+     * batch once, instead of once per employee.
+     */
+    @Override
+    public List<Employee> insertEmployees(List<Employee> employees) {
+        List<Employee> rejectedEmployees;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            rejectedEmployees = this.employees.insertEmployees(employees);
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (rejectedEmployees.size() < employees.size()) {
+            awaitCommit();
+        }
+        return rejectedEmployees;
+    }
+
+    @Override
+    public Employee updateEmployee(int id, UnaryOperator<Employee> updater) {
+        Employee updatedEmployee;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            updatedEmployee = employees.updateEmployee(id, updater);
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (null != updatedEmployee) {
+            awaitCommit();
+        }
+        return updatedEmployee;
+    }
+
+    /**
+     * Updates the specified employees and waits for the commit of the whole
+     * batch once, instead of once per employee.
+     */
+    @Override
+    public List<Integer> updateEmployees(
+            Map<Integer, UnaryOperator<Employee>> updaters) {
+        List<Integer> skippedIds;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            skippedIds = employees.updateEmployees(updaters);
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (skippedIds.size() < updaters.size()) {
+            awaitCommit();
+        }
+        return skippedIds;
+    }
+
+    /**
+     * Updates the matching employees and waits for the commit of the whole
+     * batch once, instead of once per employee.
+     */
+    @Override
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            UnaryOperator<Employee> updater) {
+        int updatedCount;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            updatedCount = employees.updateMatchingEmployees(filter, updater);
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (0 < updatedCount) {
+            awaitCommit();
+        }
+        return updatedCount;
+    }
+
+    @Override
+    public boolean deleteEmployee(int id) {
+        return deleteEmployee(() -> employees.deleteEmployee(id));
+    }
+
+    @Override
+    public boolean deleteEmployee(int id, long version) {
+        return deleteEmployee(() -> employees.deleteEmployee(id, version));
+    }
+
+    /**
+     * Runs the specified deletion on the in-memory repository and waits for
+     * its record to be committed if an employee is deleted.
+     *
+     * @param deletion the deletion to be run.
+     * @return true if employee deleted, otherwise false.
+     */
+    private boolean deleteEmployee(BooleanSupplier deletion) {
+        boolean isDeleted;
+
+        awaitLoaded();
+        exclusiveLock.readLock().lock();
+        try {
+            isDeleted = deletion.getAsBoolean();
+        } finally {
+            exclusiveLock.readLock().unlock();
+        }
+
+        if (isDeleted) {
+            awaitCommit();
+        }
+        return isDeleted;
+    }
+
+    /**
+     * Deletes all employees and logs it as a single record. Other writes
+     * wait while it runs, so the log matches the in-memory repository.
+     */
+    @Override
+    public void deleteAllEmployees() {
+        awaitLoaded();
+        exclusiveLock.writeLock().lock();
+        try {
+            appendRecord(DELETE_ALL_RECORD, null, 0);
+            isLoggingSuspended = true;
+            employees.deleteAllEmployees();
+        } finally {
+            isLoggingSuspended = false;
+            exclusiveLock.writeLock().unlock();
+        }
+        awaitCommit();
+    }
+
+    /**
+     * Registers the specified listener to be notified of every change. While
+     * the repository is loading, the employees loaded later are notified as
+     * they are loaded.
+     *
+     * @param changeListener the listener to be registered.
+     */
+    @Override
+    public void addChangeListener(EmployeeChangeListener changeListener) {
+        employees.addChangeListener(changeListener);
+    }
+
+    /**
+     * Saves all employees into a new snapshot and empties the log, so that
+     * the next startup does not replay the changes made so far. Writes wait
+     * while the snapshot is written. The snapshot is written to a temporary
+     * file and renamed, so a failure leaves the previous snapshot and log
+     * intact.
+     *
+     * @throws IOException if the snapshot or log cannot be written.
+     */
+    public void checkpoint() throws IOException {
+        long checkpointId = ThreadLocalRandom.current().nextLong();
+        Path temporaryPath = dataDirectory.resolve(SNAPSHOT_FILE_NAME
+                                                   + ".tmp");
+
+        awaitLoaded();
+        exclusiveLock.writeLock().lock();
+        try {
+            writeAheadLog.awaitDurable(writeAheadLog.getAppendedSequence());
+            EmployeeSnapshot.write(temporaryPath, employees.getAllEmployees(),
+                                   checkpointId);
+            Files.move(temporaryPath, dataDirectory.resolve(SNAPSHOT_FILE_NAME),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            writeAheadLog.reset();
+            writeAheadLog.awaitDurable(appendRecord(CHECKPOINT_RECORD, null,
+                                                    checkpointId));
+        } finally {
+            exclusiveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Commits all pending records and closes the log.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        writeAheadLog.close();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeChangeListener interface is notified of every change stored by
+ * a repository. Notifications of an employee are delivered while the
+ * repository holds the write lock of that employee, in the order the changes
+ * are applied, so listeners must be fast and must not call back into the
+ * repository. A repeated insert notification of an employee with the same
+ * details must have no effect.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public interface EmployeeChangeListener {
+
+    /**
+     * Called when a new employee is stored.
+     *
+     * @param employee the stored employee.
+     */
+    void onEmployeeInserted(Employee employee);
+
+    /**
+     * Called when an employee is replaced with updated details.
+     *
+     * @param employee the employee details before the update.
+     * @param updatedEmployee the employee details after the update.
+     */
+    void onEmployeeUpdated(Employee employee, Employee updatedEmployee);
+
+    /**
+     * Called when an employee is deleted.
+     *
+     * @param employee the deleted employee.
+     */
+    void onEmployeeDeleted(Employee employee);
+}
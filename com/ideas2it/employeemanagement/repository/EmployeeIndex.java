@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToIntFunction;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeIndex class keeps the ids of the stored employees sorted by an
+ * int key computed from each employee. Each entry packs the key in the high
+ * 32 bits and the id in the low 32 bits of a long, so employees with the same
+ * key are sorted by id and every entry is unique. Entries are kept in a
+ * concurrent skip list, so lookups and changes take logarithmic time and
+ * readers never lock.
+ *
+ * <p>An index is registered as a change listener of a repository, which keeps
+ * it in sync with every insert, update and delete. An employee found in the
+ * index may have been changed or deleted by the time it is retrieved.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeIndex implements EmployeeChangeListener {
+    private static final long ID_MASK = 0xFFFFFFFFL;
+    private final NavigableSet<Long> entries = new ConcurrentSkipListSet<>();
+    private final ToIntFunction<Employee> keyFunction;
+
+    /**
+     * Initializes an empty index sorted by the specified key.
+     *
+     * @param keyFunction the function computing the key of an employee.
+     */
+    public EmployeeIndex(ToIntFunction<Employee> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Packs the key and id of the specified employee into an entry.
+     *
+     * @param employee the employee to be indexed.
+     * @return the entry of the employee.
+     */
+    private long entryOf(Employee employee) {
+        return ((long) keyFunction.applyAsInt(employee) << 32)
+               | (employee.getId() & ID_MASK);
+    }
+
+    @Override
+    public void onEmployeeInserted(Employee employee) {
+        entries.add(entryOf(employee));
+    }
+
+    @Override
+    public void onEmployeeUpdated(Employee employee, Employee updatedEmployee) {
+        long entry = entryOf(employee);
+        long updatedEntry = entryOf(updatedEmployee);
+
+        if (entry != updatedEntry) {
+            entries.remove(entry);
+            entries.add(updatedEntry);
+        }
+    }
+
+    @Override
+    public void onEmployeeDeleted(Employee employee) {
+        entries.remove(entryOf(employee));
+    }
+
+    /**
+     * Gets the ids of the employees whose key is within the specified range,
+     * in ascending order of key and then id.
+     *
+     * @param fromKey the lowest key of the range, inclusive.
+     * @param toKey the highest key of the range, inclusive.
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsInRange(int fromKey, int toKey, int limit) {
+        if (fromKey > toKey) {
+            return new ArrayList<>();
+        }
+        return collectIds(entries.subSet((long) fromKey << 32, true,
+                ((long) toKey << 32) | ID_MASK, true), limit);
+    }
+
+    /**
+     * Gets the ids of the employees with the lowest keys, in ascending order
+     * of key and then id.
+     *
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsWithLowestKeys(int limit) {
+        return collectIds(entries, limit);
+    }
+
+    /**
+     * Gets the ids of the employees with the highest keys, in descending
+     * order of key and then id.
+     *
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsWithHighestKeys(int limit) {
+        return collectIds(entries.descendingSet(), limit);
+    }
+
+    /**
+     * Collects the ids of the first entries of the specified view.
+     *
+     * @param view the sorted entries to be read.
+     * @param limit the maximum number of ids to be collected.
+     * @return a List of at most limit ids.
+     */
+    private List<Integer> collectIds(Iterable<Long> view, int limit) {
+        List<Integer> ids = new ArrayList<>(Math.min(limit, 1024));
+
+        for (long entry : view) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add((int) entry);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToLongFunction;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeLongKeyIndex class keeps the ids of the stored employees
+ * sorted by a long key computed from each employee, such as the salary in
+ * paise. It works like EmployeeIndex, but a long key and an id do not fit
+ * in one long, so each entry is a small object holding both. Entries are
+ * kept in a concurrent skip list, so lookups and changes take logarithmic
+ * time and readers never lock.
+ *
+ * <p>An index is registered as a change listener of a repository, which keeps
+ * it in sync with every insert, update and delete. An employee found in the
+ * index may have been changed or deleted by the time it is retrieved.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeLongKeyIndex implements EmployeeChangeListener {
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final ToLongFunction<Employee> keyFunction;
+
+    /**
+     * Initializes an empty index sorted by the specified key.
+     *
+     * @param keyFunction the function computing the key of an employee.
+     */
+    public EmployeeLongKeyIndex(ToLongFunction<Employee> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Creates the entry of the specified employee.
+     *
+     * @param employee the employee to be indexed.
+     * @return the entry of the employee.
+     */
+    private Entry entryOf(Employee employee) {
+        return new Entry(keyFunction.applyAsLong(employee), employee.getId());
+    }
+
+    @Override
+    public void onEmployeeInserted(Employee employee) {
+        entries.add(entryOf(employee));
+    }
+
+    @Override
+    public void onEmployeeUpdated(Employee employee, Employee updatedEmployee) {
+        Entry entry = entryOf(employee);
+        Entry updatedEntry = entryOf(updatedEmployee);
+
+        if (0 != entry.compareTo(updatedEntry)) {
+            entries.remove(entry);
+            entries.add(updatedEntry);
+        }
+    }
+
+    @Override
+    public void onEmployeeDeleted(Employee employee) {
+        entries.remove(entryOf(employee));
+    }
+
+    /**
+     * Gets the ids of the employees whose key is within the specified range,
+     * in ascending order of key and then id.
+     *
+     * @param fromKey the lowest key of the range, inclusive.
+     * @param toKey the highest key of the range, inclusive.
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsInRange(long fromKey, long toKey, int limit) {
+        if (fromKey > toKey) {
+            return new ArrayList<>();
+        }
+        return collectIds(entries.subSet(new Entry(fromKey, Integer.MIN_VALUE),
+                true, new Entry(toKey, Integer.MAX_VALUE), true), limit);
+    }
+
+    /**
+     * Gets the ids of the employees with the lowest keys, in ascending order
+     * of key and then id.
+     *
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsWithLowestKeys(int limit) {
+        return collectIds(entries, limit);
+    }
+
+    /**
+     * Gets the ids of the employees with the highest keys, in descending
+     * order of key and then id.
+     *
+     * @param limit the maximum number of ids to be returned.
+     * @return a List of at most limit ids.
+     */
+    public List<Integer> getIdsWithHighestKeys(int limit) {
+        return collectIds(entries.descendingSet(), limit);
+    }
+
+    /**
+     * Collects the ids of the first entries of the specified view.
+     *
+     * @param view the sorted entries to be read.
+     * @param limit the maximum number of ids to be collected.
+     * @return a List of at most limit ids.
+     */
+    private List<Integer> collectIds(Iterable<Entry> view, int limit) {
+        List<Integer> ids = new ArrayList<>(Math.min(limit, 1024));
+
+        for (Entry entry : view) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Holds the key and id of an indexed employee, ordered by key and then
+     * id.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final long key;
+        private final int id;
+
+        /**
+         * Initializes the entry of the specified key and id.
+         *
+         * @param key the key of the employee.
+         * @param id the id of the employee.
+         */
+        private Entry(long key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry entry) {
+            int order = Long.compare(key, entry.key);
+
+            return (0 != order) ? order : Integer.compare(id, entry.id);
+        }
+    }
+}
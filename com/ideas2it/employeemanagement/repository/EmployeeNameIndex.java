@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeNameIndex class finds employees by the words of their names.
+ * Names are stored in lowercase with single spaces by validation, so words
+ * are indexed as they are. Every distinct word has a posting list, the ids
+ * of the employees whose name has that word, sorted by id.
+ *
+ * <p>The words are kept in a prefix trie, so the words starting with a prefix
+ * are found by walking down to the prefix and collecting the subtree. Each
+ * word is also indexed by its trigrams, so the words containing a text are
+ * found among the words sharing its rarest trigram. The matching
+ * words' posting lists are merged by id from a cursor, so a page of results
+ * costs the same at any position and the index holds one entry per word of
+ * an employee name. Words are never removed, a word no longer used has an
+ * empty posting list.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeNameIndex implements EmployeeChangeListener {
+    private static final int GRAM_LENGTH = 3;
+    private final TrieNode root = new TrieNode();
+    private final Map<String, TrieNode> wordNodes = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> wordsByTrigram
+            = new ConcurrentHashMap<>();
+
+    /** A node of the word trie with the posting list of its word. */
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children
+                = new ConcurrentHashMap<>();
+        private final NavigableSet<Integer> ids = new ConcurrentSkipListSet<>();
+    }
+
+    /** An iterator over a posting list, holding the next id to be merged. */
+    private static class PostingCursor implements Comparable<PostingCursor> {
+        private final Iterator<Integer> ids;
+        private int nextId;
+
+        private PostingCursor(Iterator<Integer> ids) {
+            this.ids = ids;
+            this.nextId = ids.next();
+        }
+
+        @Override
+        public int compareTo(PostingCursor cursor) {
+            return Integer.compare(nextId, cursor.nextId);
+        }
+    }
+
+    /**
+     * Splits the specified name into its distinct words.
+     *
+     * @param name the name to be split.
+     * @return the distinct words of the name.
+     */
+    private static List<String> wordsOf(String name) {
+        List<String> words = new ArrayList<>(3);
+
+        for (String word : name.split(" ")) {
+            if (!word.isEmpty() && !words.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the trie node of the specified word, adding the word to the trie
+     * and the trigram index if it is new.
+     *
+     * @param word the word to be found.
+     * @return the node of the word.
+     */
+    private TrieNode addWord(String word) {
+        TrieNode node = wordNodes.get(word);
+
+        if (null != node) {
+            return node;
+        }
+        node = root;
+
+        for (int index = 0; index < word.length(); index++) {
+            node = node.children.computeIfAbsent(word.charAt(index),
+                                                 character -> new TrieNode());
+        }
+
+        for (int index = 0; index + GRAM_LENGTH <= word.length(); index++) {
+            wordsByTrigram.computeIfAbsent(
+                    word.substring(index, index + GRAM_LENGTH),
+                    trigram -> ConcurrentHashMap.newKeySet()).add(word);
+        }
+        wordNodes.put(word, node);
+        return node;
+    }
+
+    /**
+     * Adds the specified employee to the posting lists of its name words.
+     *
+     * @param id the id of the employee.
+     * @param name the name of the employee.
+     */
+    private void addName(int id, String name) {
+        for (String word : wordsOf(name)) {
+            addWord(word).ids.add(id);
+        }
+    }
+
+    /**
+     * Removes the specified employee from the posting lists of its name
+     * words.
+     *
+     * @param id the id of the employee.
+     * @param name the name of the employee.
+     */
+    private void removeName(int id, String name) {
+        for (String word : wordsOf(name)) {
+            TrieNode node = wordNodes.get(word);
+
+            if (null != node) {
+                node.ids.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public void onEmployeeInserted(Employee employee) {
+        addName(employee.getId(), employee.getName());
+    }
+
+    @Override
+    public void onEmployeeUpdated(Employee employee, Employee updatedEmployee) {
+        if (!employee.getName().equals(updatedEmployee.getName())) {
+            removeName(employee.getId(), employee.getName());
+            addName(updatedEmployee.getId(), updatedEmployee.getName());
+        }
+    }
+
+    @Override
+    public void onEmployeeDeleted(Employee employee) {
+        removeName(employee.getId(), employee.getName());
+    }
+
+    /**
+     * Finds the ids of the employees having a name word that starts with the
+     * specified prefix.
+     *
+     * @param prefix the lowercase prefix of a word.
+     * @param afterId the id after which ids are returned.
+     * @return an iterator over the distinct ids in ascending order.
+     */
+    public Iterator<Integer> findIdsByWordPrefix(String prefix, int afterId) {
+        List<NavigableSet<Integer>> postingLists = new ArrayList<>();
+        List<TrieNode> pendingNodes = new ArrayList<>();
+        TrieNode node = root;
+
+        for (int index = 0; (null != node) && (index < prefix.length());
+                index++) {
+            node = node.children.get(prefix.charAt(index));
+        }
+
+        if (null != node) {
+            pendingNodes.add(node);
+        }
+
+        while (!pendingNodes.isEmpty()) {
+            node = pendingNodes.remove(pendingNodes.size() - 1);
+            postingLists.add(node.ids);
+            pendingNodes.addAll(node.children.values());
+        }
+        return mergeIds(postingLists, afterId);
+    }
+
+    /**
+     * Finds the ids of the employees having a name word that contains the
+     * specified text. Texts of three or more letters are matched against
+     * the words having their rarest trigram, shorter texts against every
+     * word.
+     *
+     * @param text the lowercase text without spaces.
+     * @param afterId the id after which ids are returned.
+     * @return an iterator over the distinct ids in ascending order.
+     */
+    public Iterator<Integer> findIdsByWordSubstring(String text, int afterId) {
+        List<NavigableSet<Integer>> postingLists = new ArrayList<>();
+        Set<String> candidateWords = wordNodes.keySet();
+
+        for (int index = 0; index + GRAM_LENGTH <= text.length(); index++) {
+            Set<String> words = wordsByTrigram.getOrDefault(
+                    text.substring(index, index + GRAM_LENGTH),
+                    Collections.emptySet());
+
+            if (words.size() < candidateWords.size()) {
+                candidateWords = words;
+            }
+        }
+
+        for (String word : candidateWords) {
+            if (word.contains(text)) {
+                postingLists.add(wordNodes.get(word).ids);
+            }
+        }
+        return mergeIds(postingLists, afterId);
+    }
+
+    /**
+     * Merges the specified posting lists into one ascending sequence of
+     * distinct ids, reading each list from the specified id onwards.
+     *
+     * @param postingLists the posting lists to be merged.
+     * @param afterId the id after which ids are returned.
+     * @return an iterator over the merged ids.
+     */
+    private Iterator<Integer> mergeIds(List<NavigableSet<Integer>> postingLists,
+            int afterId) {
+        PriorityQueue<PostingCursor> cursors = new PriorityQueue<>();
+
+        for (NavigableSet<Integer> postingList : postingLists) {
+            Iterator<Integer> ids = postingList.tailSet(afterId, false)
+                                               .iterator();
+
+            if (ids.hasNext()) {
+                cursors.add(new PostingCursor(ids));
+            }
+        }
+
+        return new Iterator<Integer>() {
+            private int lastId = afterId;
+
+            @Override
+            public boolean hasNext() {
+                while (!cursors.isEmpty()
+                        && (lastId >= cursors.peek().nextId)) {
+                    advance(cursors.poll());
+                }
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Integer next() {
+                PostingCursor cursor;
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                cursor = cursors.poll();
+                lastId = cursor.nextId;
+                advance(cursor);
+                return lastId;
+            }
+
+            /**
+             * Moves the specified cursor to its next id and puts it back, or
+             * drops it if its posting list is exhausted.
+             *
+             * @param cursor the cursor taken out of the queue.
+             */
+            private void advance(PostingCursor cursor) {
+                if (cursor.ids.hasNext()) {
+                    cursor.nextId = cursor.ids.next();
+                    cursors.add(cursor);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.Iterator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeReadSnapshot class is a consistent read only view of the
+ * employees as they were when it was opened. Employees created, updated or
+ * deleted afterwards are seen as they were, however long the snapshot is
+ * read, and reading it neither copies the employees nor blocks writers.
+ * A snapshot must be closed once read, so that the versions kept for it
+ * can be reclaimed.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeReadSnapshot implements AutoCloseable {
+    private final EmployeeVersionStore versionStore;
+    private final long sequence;
+    private volatile boolean isClosed;
+
+    /**
+     * Initializes a snapshot of the specified store at the specified
+     * sequence.
+     *
+     * @param versionStore the store keeping the versions of the employees.
+     * @param sequence the commit sequence the snapshot reads at.
+     */
+    EmployeeReadSnapshot(EmployeeVersionStore versionStore, long sequence) {
+        this.versionStore = versionStore;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Gets the commit sequence the snapshot reads at. A snapshot with a
+     * greater sequence was opened later.
+     *
+     * @return the commit sequence of the snapshot.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retrieves the specified employee as it was when the snapshot was
+     * opened.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if it was stored, otherwise null.
+     * @throws IllegalStateException if the snapshot is closed.
+     */
+    public Employee getEmployee(int id) {
+        checkOpen();
+        return versionStore.getEmployee(id, sequence);
+    }
+
+    /**
+     * Returns an iterator over the employees stored when the snapshot was
+     * opened, in ascending order of id. The iterator must not be used after
+     * the snapshot is closed.
+     *
+     * @return an iterator over the employees of the snapshot.
+     * @throws IllegalStateException if the snapshot is closed.
+     */
+    public Iterator<Employee> employeeIterator() {
+        checkOpen();
+        return versionStore.employeeIterator(sequence);
+    }
+
+    /**
+     * Closes the snapshot. Closing it again has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (!isClosed) {
+            isClosed = true;
+            versionStore.closeSnapshot(sequence);
+        }
+    }
+
+    /**
+     * Checks that the snapshot is still open.
+     *
+     * @throws IllegalStateException if the snapshot is closed.
+     */
+    private void checkOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeRepository interface is the storage contract of the employee
+ * management system. It contains the create, retrieve, update, delete and
+ * existence operations used by the service layer. Implementations must be
+ * safe to be used by multiple threads and must keep employee id, mobile
+ * number and email unique.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public interface EmployeeRepository {
+
+    /**
+     * Checks if an employee with the specified id is stored.
+     *
+     * @param id the employee id to be searched.
+     * @return true if employee found, otherwise false.
+     */
+    boolean isEmployeeExist(int id);
+
+    /**
+     * Checks if the specified mobile number is used by a stored employee.
+     *
+     * @param mobileNumber the mobile number to be searched.
+     * @return true if mobile number found, otherwise false.
+     */
+    boolean isMobileNumberExist(long mobileNumber);
+
+    /**
+     * Checks if the specified email is used by a stored employee.
+     *
+     * @param email the email to be searched.
+     * @return true if email found, otherwise false.
+     */
+    boolean isEmailExist(String email);
+
+    /**
+     * Checks if no employee is stored.
+     *
+     * @return true if repository is empty, otherwise false.
+     */
+    boolean isEmpty();
+
+    /**
+     * Retrieves the specified employee. The returned object must not be
+     * modified, use updateEmployee instead.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if found, otherwise null.
+     */
+    Employee getEmployee(int id);
+
+    /**
+     * Retrieves the specified employee once any change of it already
+     * notified to the change listeners is stored. The returned object must
+     * not be modified, use updateEmployee instead.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if found, otherwise null.
+     */
+    Employee getEmployeeAfterChange(int id);
+
+    /**
+     * Retrieves all stored employees.
+     *
+     * @return a List containing all employees.
+     */
+    List<Employee> getAllEmployees();
+
+    /**
+     * Gets a weakly consistent iterator over the stored employees. It does
+     * not copy the employees up front and never fails because of concurrent
+     * writes. Every employee stored during the whole iteration is returned
+     * exactly once, employees written during the iteration may or may not
+     * be returned.
+     *
+     * @return an iterator over the stored employees.
+     */
+    Iterator<Employee> employeeIterator();
+
+    /**
+     * Gets a weakly consistent spliterator over the stored employees, which
+     * splits into parts of the store that can be traversed in parallel. It
+     * gives the same guarantees as the iterator.
+     *
+     * @return a spliterator over the stored employees.
+     */
+    Spliterator<Employee> employeeSpliterator();
+
+    /**
+     * Stores the specified employee with the version it has, which is 0 for
+     * a new employee.
+     *
+     * @param employee the employee to be stored.
+     * @return true if stored, false if the id, mobile number or email is
+     *         already used.
+     */
+    boolean insertEmployee(Employee employee);
+
+    /**
+     * Stores the specified employees as one batch. Each employee is stored
+     * or rejected on its own, a rejected employee does not stop the others.
+     *
+     * @param employees the employees to be stored.
+     * @return the employees not stored because their id, mobile number or
+     *         email is already used.
+     */
+    List<Employee> insertEmployees(List<Employee> employees);
+
+    /**
+     * Atomically replaces the specified employee with the result of the
+     * specified updater. The updater receives the stored employee and must
+     * return a new Employee object without modifying the one it receives,
+     * or the one it receives to leave the employee unchanged. The new
+     * object is stored with the version of the stored employee plus one.
+     *
+     * @param id the id of the employee to be updated.
+     * @param updater the function computing the updated employee.
+     * @return the updated employee, or null if the employee is not found,
+     *         left unchanged or the update would duplicate a mobile number
+     *         or email.
+     */
+    Employee updateEmployee(int id, UnaryOperator<Employee> updater);
+
+    /**
+     * Updates the specified employees as one batch. Each employee is
+     * updated atomically with its own updater, as by updateEmployee, and an
+     * employee not updated does not stop the others.
+     *
+     * @param updaters the updater of each employee id.
+     * @return the ids of the employees not updated.
+     */
+    List<Integer> updateEmployees(
+            Map<Integer, UnaryOperator<Employee>> updaters);
+
+    /**
+     * Updates every stored employee matching the specified filter as one
+     * batch. Each employee is updated atomically, as by updateEmployee, and
+     * the filter is checked again on the stored employee as part of the
+     * update, so an employee changed meanwhile to no longer match is left
+     * unchanged. Employees written during the batch may or may not be
+     * checked.
+     *
+     * @param filter the test an employee must pass to be updated.
+     * @param updater the function computing each updated employee.
+     * @return the number of employees updated.
+     */
+    int updateMatchingEmployees(Predicate<Employee> filter,
+            UnaryOperator<Employee> updater);
+
+    /**
+     * Deletes the specified employee.
+     *
+     * @param id the id of the employee to be deleted.
+     * @return true if employee deleted, otherwise false.
+     */
+    boolean deleteEmployee(int id);
+
+    /**
+     * Deletes the specified employee only if it is stored with the
+     * specified version, so a deletion based on a stale read fails instead
+     * of removing an employee changed meanwhile.
+     *
+     * @param id the id of the employee to be deleted.
+     * @param version the version the employee was read with.
+     * @return true if employee deleted, false if it is not found or its
+     *         version differs.
+     */
+    boolean deleteEmployee(int id, long version);
+
+    /** Deletes all employees. */
+    void deleteAllEmployees();
+
+    /**
+     * Registers the specified listener to be notified of every change. The
+     * listener is first notified of an insert of every employee already
+     * stored, so it can build its state from scratch. An employee inserted
+     * while the listener is registered may be notified as inserted twice.
+     *
+     * @param changeListener the listener to be registered.
+     */
+    void addChangeListener(EmployeeChangeListener changeListener);
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * The EmployeeRepositoryFactory class creates the employee repositories. The
+ * storage used by the application is selected with the system property
+ * "employeemanagement.storage". "memory" keeps employees only in memory and
+ * is the default. "columnar" keeps employees in memory in primitive arrays,
+ * taking a fraction of the heap for large data sets. "durable" also records
+ * every change in a write ahead log inside the directory given by
+ * "employeemanagement.dataDirectory". The system properties
+ * "employeemanagement.commitIntervalMillis" and
+ * "employeemanagement.awaitCommit" tune its group commit. A durable
+ * repository takes a snapshot when the application exits, so that the next
+ * startup does not replay the log.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeRepositoryFactory {
+    public static final String STORAGE_PROPERTY = "employeemanagement.storage";
+    public static final String DATA_DIRECTORY_PROPERTY
+            = "employeemanagement.dataDirectory";
+    public static final String COMMIT_INTERVAL_PROPERTY
+            = "employeemanagement.commitIntervalMillis";
+    public static final String AWAIT_COMMIT_PROPERTY
+            = "employeemanagement.awaitCommit";
+    public static final String MEMORY_STORAGE = "memory";
+    public static final String DURABLE_STORAGE = "durable";
+    public static final String COLUMNAR_STORAGE = "columnar";
+
+    /** Holds the shared repository, created on first use. */
+    private static class DefaultRepositoryHolder {
+        private static final EmployeeRepository REPOSITORY = createRepository(
+                System.getProperty(STORAGE_PROPERTY, MEMORY_STORAGE));
+    }
+
+    private EmployeeRepositoryFactory() {
+
+    }
+
+    /**
+     * Gets the repository shared by the application, selected by the storage
+     * system property.
+     *
+     * @return the shared employee repository.
+     */
+    public static EmployeeRepository getDefaultRepository() {
+        return DefaultRepositoryHolder.REPOSITORY;
+    }
+
+    /**
+     * Creates a new repository of the specified storage type.
+     *
+     * @param storage the storage type of the repository.
+     * @return a new employee repository.
+     * @throws IllegalArgumentException if the storage type is unknown.
+     * @throws UncheckedIOException if the stored data cannot be loaded.
+     */
+    public static EmployeeRepository createRepository(String storage) {
+        switch (storage.strip().toLowerCase()) {
+            case MEMORY_STORAGE:
+                return new InMemoryEmployeeRepository();
+            case COLUMNAR_STORAGE:
+                return new ColumnarEmployeeRepository();
+            case DURABLE_STORAGE:
+                return createDurableRepository();
+            default:
+                throw new IllegalArgumentException("Unknown storage : "
+                                                   + storage);
+        }
+    }
+
+    /**
+     * Opens the durable repository configured by the system properties and
+     * makes it take a snapshot when the application exits.
+     *
+     * @return the durable employee repository.
+     * @throws UncheckedIOException if the log cannot be opened or replayed.
+     */
+    private static EmployeeRepository createDurableRepository() {
+        DurableEmployeeRepository repository;
+
+        try {
+            repository = new DurableEmployeeRepository(
+                    Paths.get(System.getProperty(DATA_DIRECTORY_PROPERTY,
+                                                 "data")),
+                    Long.getLong(COMMIT_INTERVAL_PROPERTY, 2),
+                    Boolean.parseBoolean(System.getProperty(
+                            AWAIT_COMMIT_PROPERTY, "true")));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                repository.checkpoint();
+                repository.close();
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }));
+        return repository;
+    }
+}
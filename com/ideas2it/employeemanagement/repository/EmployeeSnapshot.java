@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.Gender;
+
+/**
+ * The EmployeeSnapshot class writes and reads a fixed layout binary image of
+ * the stored employees. A snapshot is memory mapped when opened, and records
+ * are decoded only when they are looked up, so opening takes the same time
+ * for any number of employees.
+ *
+ * <p>The file starts with a 32 byte header (magic number, format version,
+ * employee count, record size, checkpoint id and the offset of the string
+ * area). It is followed by one 56 byte record per employee, sorted by id, so
+ * an id is found with a binary search. Names and emails are kept as UTF-8 in
+ * the string area at the end, referenced by offset and length. Salaries are
+ * kept as exact paise. A snapshot is limited to 2 GB. Snapshots of the
+ * earlier formats, which kept salaries as floats, are still read. The first
+ * format, with 40 byte records, has no employee versions, so every version
+ * is read as 0. The second format has 48 byte records.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeSnapshot {
+    private static final int MAGIC_NUMBER = 0x454D5053;
+    private static final int FORMAT_VERSION = 3;
+    private static final int FIRST_FORMAT_VERSION = 1;
+    private static final int SECOND_FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 56;
+    private static final int FIRST_FORMAT_RECORD_SIZE = 40;
+    private static final int SECOND_FORMAT_RECORD_SIZE = 48;
+    private static final int ID_OFFSET = 0;
+    private static final int DATE_OF_BIRTH_OFFSET = 4;
+    private static final int DATE_OF_JOINING_OFFSET = 8;
+    private static final int GENDER_OFFSET = 12;
+    private static final int MOBILE_NUMBER_OFFSET = 16;
+    private static final int FLOAT_SALARY_OFFSET = 24;
+    private static final int NAME_OFFSET = 28;
+    private static final int NAME_LENGTH_OFFSET = 32;
+    private static final int EMAIL_LENGTH_OFFSET = 34;
+    private static final int EMAIL_OFFSET = 36;
+    private static final int VERSION_OFFSET = 40;
+    private static final int SALARY_OFFSET = 48;
+    private final ByteBuffer buffer;
+    private final int recordSize;
+    private final int size;
+    private final int stringAreaOffset;
+    private final long checkpointId;
+
+    /**
+     * Initializes the snapshot over the specified mapped file.
+     *
+     * @param buffer the mapped snapshot file.
+     * @throws IOException if the file is not a snapshot.
+     */
+    private EmployeeSnapshot(ByteBuffer buffer) throws IOException {
+        if ((HEADER_SIZE > buffer.limit())
+                || (MAGIC_NUMBER != buffer.getInt(0))
+                || (getRecordSize(buffer.getInt(4)) != buffer.getInt(12))) {
+            throw new IOException("Not an employee snapshot");
+        }
+        this.buffer = buffer;
+        recordSize = buffer.getInt(12);
+        size = buffer.getInt(8);
+        checkpointId = buffer.getLong(16);
+        stringAreaOffset = (int) buffer.getLong(24);
+    }
+
+    /**
+     * Gets the record size of the specified snapshot format.
+     *
+     * @param formatVersion the format version of a snapshot file.
+     * @return the size of a record in bytes, or 0 if the format is unknown.
+     */
+    private static int getRecordSize(int formatVersion) {
+        switch (formatVersion) {
+            case FORMAT_VERSION:
+                return RECORD_SIZE;
+            case SECOND_FORMAT_VERSION:
+                return SECOND_FORMAT_RECORD_SIZE;
+            case FIRST_FORMAT_VERSION:
+                return FIRST_FORMAT_RECORD_SIZE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Writes the specified employees into a new snapshot file and syncs it
+     * to the disk.
+     *
+     * @param path the path of the snapshot file, replaced if it exists.
+     * @param employees the employees to be saved.
+     * @param checkpointId the id linking the snapshot with its log.
+     * @throws IOException if the file cannot be written or exceeds 2 GB.
+     */
+    public static void write(Path path, Collection<Employee> employees,
+            long checkpointId) throws IOException {
+        Employee[] sortedEmployees = employees.toArray(new Employee[0]);
+        byte[][] names = new byte[sortedEmployees.length][];
+        byte[][] emails = new byte[sortedEmployees.length][];
+        long stringAreaOffset = HEADER_SIZE
+                                + ((long) RECORD_SIZE * sortedEmployees.length);
+        long fileSize = stringAreaOffset;
+        int stringOffset = 0;
+
+        Arrays.sort(sortedEmployees, Comparator.comparingInt(Employee::getId));
+
+        for (int index = 0; index < sortedEmployees.length; index++) {
+            names[index] = sortedEmployees[index].getName()
+                                                 .getBytes(StandardCharsets.UTF_8);
+            emails[index] = sortedEmployees[index].getEmail()
+                                                  .getBytes(StandardCharsets.UTF_8);
+            fileSize += names[index].length + emails[index].length;
+        }
+
+        if (Integer.MAX_VALUE < fileSize) {
+            throw new IOException("Snapshot cannot exceed 2 GB");
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer output = channel.map(
+                    FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+            output.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION)
+                  .putInt(sortedEmployees.length).putInt(RECORD_SIZE)
+                  .putLong(checkpointId).putLong(stringAreaOffset);
+
+            for (int index = 0; index < sortedEmployees.length; index++) {
+                Employee employee = sortedEmployees[index];
+                int record = HEADER_SIZE + (index * RECORD_SIZE);
+
+                output.putInt(record + ID_OFFSET, employee.getId())
+                      .putInt(record + DATE_OF_BIRTH_OFFSET,
+                              employee.getDateOfBirthEpochDay())
+                      .putInt(record + DATE_OF_JOINING_OFFSET,
+                              employee.getDateOfJoiningEpochDay())
+                      .put(record + GENDER_OFFSET,
+                           employee.getGenderType().getCode())
+                      .putLong(record + MOBILE_NUMBER_OFFSET,
+                               employee.getMobileNumber())
+                      .putInt(record + NAME_OFFSET, stringOffset)
+                      .putShort(record + NAME_LENGTH_OFFSET,
+                                (short) names[index].length)
+                      .putShort(record + EMAIL_LENGTH_OFFSET,
+                                (short) emails[index].length)
+                      .putInt(record + EMAIL_OFFSET,
+                              stringOffset + names[index].length)
+                      .putLong(record + VERSION_OFFSET, employee.getVersion())
+                      .putLong(record + SALARY_OFFSET,
+                               employee.getSalaryInPaise());
+                output.put((int) stringAreaOffset + stringOffset, names[index]);
+                stringOffset += names[index].length;
+                output.put((int) stringAreaOffset + stringOffset,
+                           emails[index]);
+                stringOffset += emails[index].length;
+            }
+            output.force();
+        }
+    }
+
+    /**
+     * Memory maps the specified snapshot file. No record is read.
+     *
+     * @param path the path of the snapshot file.
+     * @return the opened snapshot.
+     * @throws IOException if the file cannot be mapped or is not a snapshot.
+     */
+    public static EmployeeSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            return new EmployeeSnapshot(channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the number of employees in the snapshot.
+     *
+     * @return the number of employees.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the checkpoint id written with the snapshot.
+     *
+     * @return the checkpoint id.
+     */
+    public long getCheckpointId() {
+        return checkpointId;
+    }
+
+    /**
+     * Finds the specified employee with a binary search over the records and
+     * decodes it.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @return the employee if found, otherwise null.
+     */
+    public Employee getEmployee(int id) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = buffer.getInt(HEADER_SIZE + (middle * recordSize)
+                                         + ID_OFFSET);
+
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return getEmployeeAt(middle);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes the employee at the specified position in id order.
+     *
+     * @param index the position of the employee, from 0 to size - 1.
+     * @return the decoded employee.
+     */
+    public Employee getEmployeeAt(int index) {
+        int record = HEADER_SIZE + (index * recordSize);
+        Employee employee = new Employee(buffer.getInt(record + ID_OFFSET),
+                readString(buffer.getInt(record + NAME_OFFSET),
+                           buffer.getShort(record + NAME_LENGTH_OFFSET)),
+                buffer.getInt(record + DATE_OF_BIRTH_OFFSET),
+                Gender.fromCode(buffer.get(record + GENDER_OFFSET)),
+                buffer.getLong(record + MOBILE_NUMBER_OFFSET),
+                readString(buffer.getInt(record + EMAIL_OFFSET),
+                           buffer.getShort(record + EMAIL_LENGTH_OFFSET)),
+                (RECORD_SIZE == recordSize)
+                ? buffer.getLong(record + SALARY_OFFSET)
+                : Employee.toPaise(buffer.getFloat(record
+                                                   + FLOAT_SALARY_OFFSET)),
+                buffer.getInt(record + DATE_OF_JOINING_OFFSET));
+
+        if (FIRST_FORMAT_RECORD_SIZE != recordSize) {
+            employee.setVersion(buffer.getLong(record + VERSION_OFFSET));
+        }
+        return employee;
+    }
+
+    /**
+     * Decodes a string of the string area.
+     *
+     * @param offset the offset of the string within the string area.
+     * @param length the length of the string in bytes.
+     * @return the decoded string.
+     */
+    private String readString(int offset, short length) {
+        byte[] bytes = new byte[length & 0xFFFF];
+
+        buffer.get(stringAreaOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
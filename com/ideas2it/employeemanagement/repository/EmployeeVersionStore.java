@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeVersionStore class keeps the versions of the employees changed
+ * since the oldest open snapshot, so that reads can see all employees as
+ * they were at one point in time while writes go on. It is fed by the
+ * change notifications of a repository, like an index, and reads the
+ * employees it keeps no versions of from the repository itself.
+ *
+ * <p>Each change of an employee is numbered with the next commit sequence.
+ * A snapshot takes the current commit sequence when opened and reads, for
+ * each employee, the newest version numbered at most that sequence from the
+ * employee's chain of versions, or the stored employee if the employee has
+ * no chain. The stored employee is read once any change of it in progress
+ * is stored, so a snapshot never sees a change half made.
+ *
+ * <p>A chain is kept only for an employee changed after an open snapshot
+ * was taken. A change numbered after the reclaim horizon, the sequence of
+ * the oldest open snapshot, starts a chain from the employee as it was
+ * before, visible to every snapshot, with the changed employee in front, a
+ * deletion as a version without an employee. A change of an employee with
+ * a chain is always added in front of it, and is linked before it is
+ * numbered, so a snapshot never misses a change numbered within its
+ * sequence. A reader finding a version not numbered yet waits for the
+ * writer to number it, which follows at once. Writers never wait for
+ * readers. While no snapshot is open no chain is started at all.
+ *
+ * <p>Versions no open snapshot can read are reclaimed. Only the newest
+ * version numbered within the horizon and the newer ones are kept, and a
+ * chain left with its newest version only is dropped, as every snapshot
+ * then reads the same employee from the repository. A change drops the
+ * chain it settles at once, and closing a snapshot drops the chains it
+ * kept alive.
+ *
+ * <p>The store keeps the index of employee ids it is given, which must not
+ * be registered with the repository itself. Iterating a snapshot walks the
+ * ids of that index and of the chains in ascending order. An inserted id
+ * enters the index before the insert is numbered and a deleted id leaves
+ * it after the deletion is numbered and linked into a chain if a snapshot
+ * needs it, so no employee of the snapshot is missed.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeVersionStore implements EmployeeChangeListener {
+    private static final long UNNUMBERED = Long.MAX_VALUE;
+    private static final long BASE_SEQUENCE = 0;
+    private static final int ITERATOR_BATCH_SIZE = 256;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeIndex idIndex;
+    private final ConcurrentNavigableMap<Integer, Version> versions
+            = new ConcurrentSkipListMap<>();
+    private final Set<Integer> idsWithHistory = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commitSequence = new AtomicLong();
+    private final TreeMap<Long, Integer> openSnapshots = new TreeMap<>();
+    private volatile long reclaimHorizon = UNNUMBERED;
+
+    /**
+     * The Version class is one version of an employee in a chain, newest
+     * first.
+     */
+    private static final class Version {
+        private final int id;
+        private final Employee employee;
+        private volatile Version previous;
+        private volatile long sequence = UNNUMBERED;
+
+        /**
+         * Initializes an unnumbered version in front of the specified one.
+         *
+         * @param id the id of the employee.
+         * @param employee the employee, or null for a deletion.
+         * @param previous the previous version, or null if none.
+         */
+        private Version(int id, Employee employee, Version previous) {
+            this.id = id;
+            this.employee = employee;
+            this.previous = previous;
+        }
+
+        /**
+         * Gets the commit sequence of the version, waiting for the writer
+         * to number it if needed.
+         *
+         * @return the commit sequence of the version.
+         */
+        private long awaitSequence() {
+            long versionSequence;
+
+            while (UNNUMBERED == (versionSequence = sequence)) {
+                Thread.onSpinWait();
+            }
+            return versionSequence;
+        }
+    }
+
+    /**
+     * Initializes an empty store reading the employees without versions
+     * from the specified repository.
+     *
+     * @param employeeRepository the repository the store is registered with.
+     * @param idIndex the index of employee ids kept by the store.
+     */
+    public EmployeeVersionStore(EmployeeRepository employeeRepository,
+            EmployeeIndex idIndex) {
+        this.employeeRepository = employeeRepository;
+        this.idIndex = idIndex;
+    }
+
+    /**
+     * Opens a snapshot of the employees as they are now. The snapshot must
+     * be closed, or the versions it can read are never reclaimed.
+     *
+     * @return the opened snapshot.
+     */
+    public EmployeeReadSnapshot openSnapshot() {
+        long sequence;
+
+        synchronized (openSnapshots) {
+            reclaimHorizon = Math.min(reclaimHorizon, commitSequence.get());
+            sequence = commitSequence.get();
+            openSnapshots.merge(sequence, 1, Integer::sum);
+        }
+        return new EmployeeReadSnapshot(this, sequence);
+    }
+
+    /**
+     * Closes the snapshot of the specified sequence and reclaims the
+     * versions no open snapshot can read any more.
+     *
+     * @param sequence the commit sequence of the snapshot.
+     */
+    void closeSnapshot(long sequence) {
+        List<Integer> keptIds = new ArrayList<>();
+
+        synchronized (openSnapshots) {
+            openSnapshots.computeIfPresent(sequence,
+                    (key, count) -> (1 == count) ? null : count - 1);
+            reclaimHorizon = openSnapshots.isEmpty() ? UNNUMBERED
+                                                     : openSnapshots.firstKey();
+        }
+
+        for (Integer id : idsWithHistory) {
+            idsWithHistory.remove(id);
+
+            if (!reclaimVersions(id)) {
+                keptIds.add(id);
+            }
+        }
+        idsWithHistory.addAll(keptIds);
+    }
+
+    /**
+     * Trims the chain of the specified employee and drops it if only its
+     * newest version is left.
+     *
+     * @param id the id of the employee.
+     * @return true if the employee has no chain left, otherwise false.
+     */
+    private boolean reclaimVersions(int id) {
+        Version newestVersion = versions.get(id);
+
+        return (null == newestVersion) || (trimVersions(newestVersion)
+                && versions.remove(id, newestVersion));
+    }
+
+    /**
+     * Retrieves the specified employee as it was at the specified sequence.
+     * The stored employee is read before the chain is looked up again, so
+     * an employee stored by a change numbered after the sequence is never
+     * returned, as its chain is linked before the change is stored.
+     *
+     * @param id the id of the employee to be retrieved.
+     * @param sequence the commit sequence of the snapshot.
+     * @return the employee if it was stored, otherwise null.
+     */
+    Employee getEmployee(int id, long sequence) {
+        Version version = versions.get(id);
+        Employee employee;
+
+        if (null == version) {
+            employee = employeeRepository.getEmployeeAfterChange(id);
+            version = versions.get(id);
+
+            if (null == version) {
+                return employee;
+            }
+        }
+        return getVisibleEmployee(version, sequence);
+    }
+
+    /**
+     * Returns an iterator over the employees as they were at the specified
+     * sequence, in ascending order of id.
+     *
+     * <p>Ids are read in batches from the chains, then from the id index,
+     * then from the chains again. An id of the snapshot missing from the
+     * chains at first is in the index, and if it leaves the index meanwhile
+     * it is deleted after the snapshot was opened, so its chain is kept and
+     * found at the second look.
+     *
+     * @param sequence the commit sequence of the snapshot.
+     * @return an iterator over the employees stored at that sequence.
+     */
+    Iterator<Employee> employeeIterator(long sequence) {
+        return new Iterator<Employee>() {
+            private long nextId = Integer.MIN_VALUE;
+            private Iterator<Integer> ids = Collections.emptyIterator();
+            private Employee nextEmployee = findNext();
+
+            /**
+             * Reads the ids of the next batch, at least one unless no id is
+             * left.
+             *
+             * @return true if the batch has ids, otherwise false.
+             */
+            private boolean readIds() {
+                NavigableSet<Integer> batch = new TreeSet<>();
+                List<Integer> indexedIds;
+                int fromId;
+                int toId = Integer.MAX_VALUE;
+
+                if (Integer.MAX_VALUE < nextId) {
+                    return false;
+                }
+                fromId = (int) nextId;
+
+                for (Integer id : versions.tailMap(fromId).keySet()) {
+                    if (ITERATOR_BATCH_SIZE == batch.size()) {
+                        toId = batch.last();
+                        break;
+                    }
+                    batch.add(id);
+                }
+                indexedIds = idIndex.getIdsInRange(fromId, toId,
+                                                   ITERATOR_BATCH_SIZE);
+
+                if (ITERATOR_BATCH_SIZE == indexedIds.size()) {
+                    toId = Math.min(toId,
+                            indexedIds.get(ITERATOR_BATCH_SIZE - 1));
+                }
+                batch.addAll(indexedIds);
+                batch.addAll(versions.subMap(fromId, true, toId, true)
+                                     .keySet());
+                nextId = toId + 1L;
+                ids = batch.headSet(toId, true).iterator();
+                return ids.hasNext();
+            }
+
+            /**
+             * Finds the next id with an employee visible at the sequence.
+             *
+             * @return the next visible employee, or null if none is left.
+             */
+            private Employee findNext() {
+                while (ids.hasNext() || readIds()) {
+                    Employee employee = getEmployee(ids.next(), sequence);
+
+                    if (null != employee) {
+                        return employee;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return null != nextEmployee;
+            }
+
+            @Override
+            public Employee next() {
+                Employee employee = nextEmployee;
+
+                if (null == employee) {
+                    throw new NoSuchElementException();
+                }
+                nextEmployee = findNext();
+                return employee;
+            }
+        };
+    }
+
+    /**
+     * Finds the newest version of a chain numbered at most the specified
+     * sequence.
+     *
+     * @param version the newest version of the chain, or null.
+     * @param sequence the commit sequence of the snapshot.
+     * @return the employee of that version, or null if there is none or it
+     *         is a deletion.
+     */
+    private static Employee getVisibleEmployee(Version version,
+            long sequence) {
+        while ((null != version) && (version.awaitSequence() > sequence)) {
+            version = version.previous;
+        }
+        return (null == version) ? null : version.employee;
+    }
+
+    /**
+     * Numbers a change of the specified employee and adds it in front of
+     * the employee's chain. Without a chain, one is started from the
+     * employee as it was only if an open snapshot may need it. The chain is
+     * trimmed and dropped if only the new version is left. Called while
+     * the repository holds the write lock of the employee, before it stores
+     * the change.
+     *
+     * @param id the id of the changed employee.
+     * @param previousEmployee the employee before the change, or null if
+     *        inserted.
+     * @param employee the employee after the change, or null if deleted.
+     */
+    private void addVersion(int id, Employee previousEmployee,
+            Employee employee) {
+        Version version = versions.computeIfPresent(id,
+                (key, newestVersion) -> new Version(id, employee,
+                                                    newestVersion));
+        long sequence = commitSequence.incrementAndGet();
+
+        if (null != version) {
+            version.sequence = sequence;
+        } else if (sequence > reclaimHorizon) {
+            Version baseVersion = new Version(id, previousEmployee, null);
+
+            baseVersion.sequence = BASE_SEQUENCE;
+            version = new Version(id, employee, baseVersion);
+            version.sequence = sequence;
+            versions.put(id, version);
+        } else {
+            return;
+        }
+
+        if (trimVersions(version)) {
+            versions.remove(id, version);
+        } else {
+            idsWithHistory.add(id);
+        }
+    }
+
+    /**
+     * Unlinks the versions of a chain older than the newest one within the
+     * reclaim horizon.
+     *
+     * <p>The horizon is capped by the commit sequence read before it. A
+     * snapshot opened after the horizon is read then has a sequence of at
+     * least that cap, so it never needs a version older than the one kept.
+     *
+     * @param newestVersion the newest version of the chain.
+     * @return true if only the newest version is left, otherwise false.
+     */
+    private boolean trimVersions(Version newestVersion) {
+        long sequence = commitSequence.get();
+        long horizon = Math.min(sequence, reclaimHorizon);
+        Version version = newestVersion;
+
+        while ((null != version) && (version.sequence > horizon)) {
+            version = version.previous;
+        }
+
+        if (null != version) {
+            version.previous = null;
+        }
+        return newestVersion == version;
+    }
+
+    /**
+     * Adds the inserted employee, unless it is already the newest version
+     * of its chain, as on a repeated notification. Its id enters the index
+     * first.
+     */
+    @Override
+    public void onEmployeeInserted(Employee employee) {
+        Version version = versions.get(employee.getId());
+
+        idIndex.onEmployeeInserted(employee);
+
+        if ((null == version) || (null == version.employee)) {
+            addVersion(employee.getId(), null, employee);
+        }
+    }
+
+    @Override
+    public void onEmployeeUpdated(Employee employee, Employee updatedEmployee) {
+        addVersion(employee.getId(), employee, updatedEmployee);
+        idIndex.onEmployeeUpdated(employee, updatedEmployee);
+    }
+
+    /** Adds the deletion, then removes the employee's id from the index. */
+    @Override
+    public void onEmployeeDeleted(Employee employee) {
+        addVersion(employee.getId(), employee, null);
+        idIndex.onEmployeeDeleted(employee);
+    }
+}
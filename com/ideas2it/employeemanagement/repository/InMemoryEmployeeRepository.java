@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.util.ConcurrentLongIntHashMap;
+
+/**
+ * The InMemoryEmployeeRepository class stores employees in a concurrent hash
+ * map keyed by employee id, with secondary indexes on mobile number and email
+ * for constant time uniqueness checks. Reads never lock and writes only lock
+ * the employee being written. Stored employee objects are never modified, an
+ * update replaces the employee with a new object. Registered change listeners
+ * are notified of every write while the employee's write lock is held.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private static final int NO_EMPLOYEE = 0;
+    private static final int NEWLY_CLAIMED = 1;
+    private static final int ALREADY_CLAIMED = 2;
+    private static final int CLAIM_FAILED = 3;
+    private final Map<Integer, Employee> employees = new ConcurrentHashMap<>();
+    private final ConcurrentLongIntHashMap mobileNumberIndex
+            = new ConcurrentLongIntHashMap();
+    private final Map<String, Integer> emailIndex = new ConcurrentHashMap<>();
+    private final List<EmployeeChangeListener> changeListeners
+            = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void addChangeListener(EmployeeChangeListener changeListener) {
+        changeListeners.add(changeListener);
+
+        for (Integer id : employees.keySet()) {
+            employees.computeIfPresent(id, (key, employee) -> {
+                changeListener.onEmployeeInserted(employee);
+                return employee;
+            });
+        }
+    }
+
+    /**
+     * Registers the specified listener to be notified of the changes made
+     * from now on only, without notifying it of the stored employees.
+     *
+     * @param changeListener the listener to be registered.
+     */
+    void addChangeListenerOfNewChanges(EmployeeChangeListener changeListener) {
+        changeListeners.add(changeListener);
+    }
+
+    /**
+     * Reserves the specified mobile number for the specified employee in the
+     * mobile number index.
+     *
+     * @param mobileNumber the mobile number to be reserved.
+     * @param id the id of the employee reserving the mobile number.
+     * @return NEWLY_CLAIMED if reserved now, ALREADY_CLAIMED if the employee
+     *         already owns it or CLAIM_FAILED if another employee owns it.
+     */
+    private int claimMobileNumber(long mobileNumber, int id) {
+        int owner = mobileNumberIndex.putIfAbsent(mobileNumber, id,
+                                                  NO_EMPLOYEE);
+
+        return (NO_EMPLOYEE == owner) ? NEWLY_CLAIMED
+               : ((id == owner) ? ALREADY_CLAIMED : CLAIM_FAILED);
+    }
+
+    /**
+     * Reserves the specified email for the specified employee in the email
+     * index.
+     *
+     * @param email the email to be reserved.
+     * @param id the id of the employee reserving the email.
+     * @return NEWLY_CLAIMED if reserved now, ALREADY_CLAIMED if the employee
+     *         already owns it or CLAIM_FAILED if another employee owns it.
+     */
+    private int claimEmail(String email, int id) {
+        Integer owner = emailIndex.putIfAbsent(email, id);
+
+        return (null == owner) ? NEWLY_CLAIMED
+               : ((id == owner) ? ALREADY_CLAIMED : CLAIM_FAILED);
+    }
+
+    /**
+     * Gives up a reservation made by claimMobileNumber if it was made by that
+     * call, used when the write it was made for did not happen.
+     *
+     * @param mobileNumber the reserved mobile number.
+     * @param id the id of the employee who reserved the mobile number.
+     * @param claim the result of the claim.
+     */
+    private void releaseMobileNumber(long mobileNumber, int id, int claim) {
+        if (NEWLY_CLAIMED == claim) {
+            mobileNumberIndex.remove(mobileNumber, id);
+        }
+    }
+
+    /**
+     * Gives up a reservation made by claimEmail if it was made by that call,
+     * used when the write it was made for did not happen.
+     *
+     * @param email the reserved email.
+     * @param id the id of the employee who reserved the email.
+     * @param claim the result of the claim.
+     */
+    private void releaseEmail(String email, int id, int claim) {
+        if (NEWLY_CLAIMED == claim) {
+            emailIndex.remove(email, id);
+        }
+    }
+
+    /**
+     * Reserves the mobile number and email of the updated employee details
+     * which differ from the stored details.
+     *
+     * @param employee the stored employee details.
+     * @param updatedEmployee the employee details to be stored.
+     * @return true if both reserved, false if another employee owns either.
+     */
+    private boolean claimChangedKeys(Employee employee,
+            Employee updatedEmployee) {
+        int id = employee.getId();
+        int mobileNumberClaim = ALREADY_CLAIMED;
+
+        if (employee.getMobileNumber() != updatedEmployee.getMobileNumber()) {
+            mobileNumberClaim = claimMobileNumber(
+                    updatedEmployee.getMobileNumber(), id);
+
+            if (CLAIM_FAILED == mobileNumberClaim) {
+                return false;
+            }
+        }
+
+        if (!employee.getEmail().equals(updatedEmployee.getEmail())
+                && (CLAIM_FAILED == claimEmail(updatedEmployee.getEmail(),
+                                               id))) {
+            releaseMobileNumber(updatedEmployee.getMobileNumber(), id,
+                                mobileNumberClaim);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the index entries of the old employee details which are no
+     * longer used by the new details.
+     *
+     * @param employee the employee details before the write.
+     * @param updatedEmployee the employee details after the write, or null if
+     *        the employee is deleted.
+     */
+    private void releaseReplacedKeys(Employee employee,
+            Employee updatedEmployee) {
+        if ((null == updatedEmployee)
+                || (employee.getMobileNumber()
+                    != updatedEmployee.getMobileNumber())) {
+            mobileNumberIndex.remove(employee.getMobileNumber(),
+                                     employee.getId());
+        }
+
+        if ((null == updatedEmployee)
+                || !employee.getEmail().equals(updatedEmployee.getEmail())) {
+            emailIndex.remove(employee.getEmail(), employee.getId());
+        }
+    }
+
+    @Override
+    public boolean isEmployeeExist(int id) {
+        return employees.containsKey(id);
+    }
+
+    @Override
+    public boolean isMobileNumberExist(long mobileNumber) {
+        return mobileNumberIndex.containsKey(mobileNumber);
+    }
+
+    @Override
+    public boolean isEmailExist(String email) {
+        return emailIndex.containsKey(email);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return employees.isEmpty();
+    }
+
+    @Override
+    public Employee getEmployee(int id) {
+        return employees.get(id);
+    }
+
+    /**
+     * Reads the employee under the lock of its bin, which a change holds
+     * while the listeners are notified and until it is stored.
+     */
+    @Override
+    public Employee getEmployeeAfterChange(int id) {
+        Employee[] storedEmployee = new Employee[1];
+
+        employees.computeIfPresent(id, (key, employee) -> {
+            storedEmployee[0] = employee;
+            return employee;
+        });
+        return storedEmployee[0];
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return new ArrayList<Employee>(employees.values());
+    }
+
+    @Override
+    public Iterator<Employee> employeeIterator() {
+        return Collections.unmodifiableCollection(employees.values())
+                          .iterator();
+    }
+
+    @Override
+    public Spliterator<Employee> employeeSpliterator() {
+        return employees.values().spliterator();
+    }
+
+    /**
+     * Reserves the mobile number and email of the employee while holding
+     * the lock of its id, like updates and deletions do, so a concurrent
+     * insert of the same id never gives up a reservation the stored
+     * employee relies on.
+     */
+    @Override
+    public boolean insertEmployee(Employee employee) {
+        int id = employee.getId();
+
+        return employee == employees.computeIfAbsent(id, key -> {
+            int mobileNumberClaim = claimMobileNumber(
+                    employee.getMobileNumber(), id);
+
+            if (CLAIM_FAILED == mobileNumberClaim) {
+                return null;
+            }
+
+            if (CLAIM_FAILED == claimEmail(employee.getEmail(), id)) {
+                releaseMobileNumber(employee.getMobileNumber(), id,
+                                    mobileNumberClaim);
+                return null;
+            }
+
+            for (EmployeeChangeListener changeListener : changeListeners) {
+                changeListener.onEmployeeInserted(employee);
+            }
+            return employee;
+        });
+    }
+
+    @Override
+    public List<Employee> insertEmployees(List<Employee> employees) {
+        List<Employee> rejectedEmployees = new ArrayList<>();
+
+        for (Employee employee : employees) {
+            if (!insertEmployee(employee)) {
+                rejectedEmployees.add(employee);
+            }
+        }
+        return rejectedEmployees;
+    }
+
+    @Override
+    public Employee updateEmployee(int id, UnaryOperator<Employee> updater) {
+        Employee[] updatedEmployee = new Employee[1];
+
+        employees.computeIfPresent(id, (key, employee) -> {
+            Employee candidate = updater.apply(employee);
+
+            if ((employee == candidate)
+                    || !claimChangedKeys(employee, candidate)) {
+                return employee;
+            }
+
+            candidate.setVersion(employee.getVersion() + 1);
+
+            for (EmployeeChangeListener changeListener : changeListeners) {
+                changeListener.onEmployeeUpdated(employee, candidate);
+            }
+            releaseReplacedKeys(employee, candidate);
+            updatedEmployee[0] = candidate;
+            return candidate;
+        });
+        return updatedEmployee[0];
+    }
+
+    /**
+     * Updates the employees in parallel partitions of the batch on the
+     * common fork-join pool. Each update locks its own employee only.
+     */
+    @Override
+    public List<Integer> updateEmployees(
+            Map<Integer, UnaryOperator<Employee>> updaters) {
+        return updaters.entrySet().parallelStream()
+                .filter(update -> null == updateEmployee(update.getKey(),
+                                                         update.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scans the employees in parallel partitions of the map on the common
+     * fork-join pool and updates the matching ones where they are found.
+     */
+    @Override
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            UnaryOperator<Employee> updater) {
+        return (int) employees.values().parallelStream()
+                .filter(filter)
+                .filter(employee -> null != updateEmployee(employee.getId(),
+                        storedEmployee -> filter.test(storedEmployee)
+                                          ? updater.apply(storedEmployee)
+                                          : storedEmployee))
+                .count();
+    }
+
+    @Override
+    public boolean deleteEmployee(int id) {
+        return deleteEmployee(id, employee -> true);
+    }
+
+    @Override
+    public boolean deleteEmployee(int id, long version) {
+        return deleteEmployee(id, employee -> version == employee.getVersion());
+    }
+
+    /**
+     * Atomically deletes the specified employee if it passes the specified
+     * condition.
+     *
+     * @param id the id of the employee to be deleted.
+     * @param condition the test the stored employee must pass.
+     * @return true if employee deleted, otherwise false.
+     */
+    private boolean deleteEmployee(int id, Predicate<Employee> condition) {
+        boolean[] isDeleted = new boolean[1];
+
+        employees.computeIfPresent(id, (key, employee) -> {
+            if (!condition.test(employee)) {
+                return employee;
+            }
+
+            for (EmployeeChangeListener changeListener : changeListeners) {
+                changeListener.onEmployeeDeleted(employee);
+            }
+            releaseReplacedKeys(employee, null);
+            isDeleted[0] = true;
+            return null;
+        });
+        return isDeleted[0];
+    }
+
+    /**
+     * Deletes all employees, one at a time. Employees created while the
+     * deletion is in progress may be kept.
+     */
+    @Override
+    public void deleteAllEmployees() {
+        for (Integer id : employees.keySet()) {
+            deleteEmployee(id);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.repository;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The WriteAheadLog class is an append only file of binary records with group
+ * commit. Appended records are collected in memory and a background thread
+ * writes and fsyncs them in batches. The commit interval decides the trade
+ * off, a longer interval gathers more records per fsync at the cost of
+ * higher write latency. Every record is framed with its length and a CRC32
+ * checksum, so a record torn by a crash is detected and dropped on replay.
+ *
+ * <p>Appending a record wakes only the background thread, and only if it
+ * waits for records. Threads waiting for durability are woken when a batch
+ * is synced or writing fails.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class WriteAheadLog implements Closeable {
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private final FileChannel channel;
+    private final long commitIntervalNanos;
+    private final Thread flusher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsAppended = lock.newCondition();
+    private final Condition recordsDurable = lock.newCondition();
+    private ByteBuffer pendingBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer flushingBuffer
+            = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean isClosed;
+
+    /**
+     * Opens the specified log file, creating it if it does not exist. Call
+     * replay before appending records.
+     *
+     * @param path the path of the log file.
+     * @param commitIntervalMillis the time to gather records before each
+     *        fsync, 0 to fsync as soon as the previous fsync completes.
+     * @throws IOException if the file cannot be opened.
+     */
+    public WriteAheadLog(Path path, long commitIntervalMillis)
+            throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                   StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                commitIntervalMillis);
+        flusher = new Thread(this::runFlusher, "write-ahead-log-flusher");
+        flusher.setDaemon(true);
+    }
+
+    /**
+     * Passes every intact record of the log to the specified consumer in the
+     * order they were appended. A torn or corrupt tail left by a crash is cut
+     * off. Starts the group commit thread afterwards.
+     *
+     * @param consumer the consumer of the record payloads.
+     * @return the number of records replayed.
+     * @throws IOException if the file cannot be read.
+     */
+    public long replay(Consumer<ByteBuffer> consumer) throws IOException {
+        CRC32 checksum = new CRC32();
+        long recordCount = 0;
+        long validLength = 0;
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(0)), 1 << 16));
+
+        try {
+            while (true) {
+                int length = input.readInt();
+                int expectedChecksum = input.readInt();
+                byte[] payload;
+
+                if ((0 > length) || (length > channel.size() - validLength)) {
+                    break;
+                }
+                payload = new byte[length];
+                input.readFully(payload);
+                checksum.reset();
+                checksum.update(payload);
+
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    break;
+                }
+                consumer.accept(ByteBuffer.wrap(payload));
+                validLength += HEADER_SIZE + length;
+                recordCount++;
+            }
+        } catch (EOFException exception) {
+            // The last record is incomplete, it is cut off below.
+        }
+        channel.truncate(validLength);
+        channel.position(validLength);
+        flusher.start();
+        return recordCount;
+    }
+
+    /**
+     * Appends the specified record to the log. The record is not durable
+     * until awaitDurable returns for the returned sequence number.
+     *
+     * @param payload the record to be appended.
+     * @return the sequence number of the record.
+     */
+    public long append(byte[] payload) {
+        CRC32 checksum = new CRC32();
+
+        checksum.update(payload);
+        lock.lock();
+
+        try {
+            if (0 == pendingBuffer.position()) {
+                recordsAppended.signal();
+            }
+
+            if (pendingBuffer.remaining() < HEADER_SIZE + payload.length) {
+                ByteBuffer grownBuffer = ByteBuffer.allocate(Math.max(
+                        pendingBuffer.capacity() * 2,
+                        pendingBuffer.position() + HEADER_SIZE
+                        + payload.length));
+
+                pendingBuffer.flip();
+                pendingBuffer = grownBuffer.put(pendingBuffer);
+            }
+            pendingBuffer.putInt(payload.length)
+                         .putInt((int) checksum.getValue())
+                         .put(payload);
+            return ++appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the sequence number of the latest appended record.
+     *
+     * @return the latest sequence number.
+     */
+    public long getAppendedSequence() {
+        lock.lock();
+
+        try {
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all records up to the specified sequence number are
+     * written and synced to the disk.
+     *
+     * @param sequence the sequence number to wait for.
+     * @throws UncheckedIOException if writing the log failed.
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+
+        try {
+            while ((durableSequence < sequence) && (null == failure)) {
+                recordsDurable.awaitUninterruptibly();
+            }
+
+            if (null != failure) {
+                throw new UncheckedIOException("Write ahead log failed",
+                                               failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards all records of the log, used once they are saved elsewhere.
+     * The caller must make sure that all appended records are durable and no
+     * record is appended while the log is reset.
+     *
+     * @throws IOException if the file cannot be truncated.
+     */
+    public void reset() throws IOException {
+        lock.lock();
+
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the group commit loop. Waits for appended records, lets the
+     * commit interval pass so that concurrent writers can join the batch,
+     * then writes and fsyncs the whole batch at once.
+     */
+    private void runFlusher() {
+        while (true) {
+            long batchSequence;
+
+            lock.lock();
+
+            try {
+                while ((0 == pendingBuffer.position()) && !isClosed) {
+                    recordsAppended.await();
+                }
+
+                if ((0 == pendingBuffer.position()) && isClosed) {
+                    return;
+                }
+            } catch (InterruptedException exception) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (0 < commitIntervalNanos) {
+                LockSupport.parkNanos(commitIntervalNanos);
+            }
+
+            lock.lock();
+
+            try {
+                ByteBuffer batch = pendingBuffer;
+
+                pendingBuffer = flushingBuffer;
+                flushingBuffer = batch;
+                batchSequence = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                flushingBuffer.flip();
+
+                while (flushingBuffer.hasRemaining()) {
+                    channel.write(flushingBuffer);
+                }
+                channel.force(false);
+                flushingBuffer.clear();
+            } catch (IOException exception) {
+                lock.lock();
+
+                try {
+                    failure = exception;
+                    recordsDurable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            lock.lock();
+
+            try {
+                durableSequence = batchSequence;
+                recordsDurable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Makes all appended records durable, stops the group commit thread and
+     * closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+
+        try {
+            isClosed = true;
+            recordsAppended.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (flusher.isAlive()) {
+                flusher.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,910 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import com.ideas2it.employeemanagement.controller.EmployeeController;
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
+import com.ideas2it.employeemanagement.util.EmployeeFormat;
+import com.ideas2it.employeemanagement.util.JsonFormat;
+
+/**
+ * The EmployeeHttpServer class serves the operations of the employee
+ * controller as a JSON API over HTTP, using the HTTP server of the JDK.
+ * Each request is handled on its own virtual thread when the runtime has
+ * them, so thousands of concurrent clients blocked on slow reads or writes
+ * share a few carrier threads. Older runtimes fall back to a cached thread
+ * pool.
+ *
+ * <p>Employees are written as JSON objects with ISO-8601 dates and their
+ * version, which is also sent as the ETag of a single employee. Dates may
+ * be sent in ISO-8601 or DD-MM-YYYY format. An update or delete sending
+ * the ETag in an If-Match header is applied only if the employee was not
+ * changed since it was read. A page size, limit or count above 1000 is
+ * refused with status 400 and a request body over 64 KiB with status 413.
+ * The endpoints are :
+ *
+ * <pre>
+ * GET    /employees?cursor=&amp;pageSize=        a page in id order
+ * POST   /employees                            create an employee
+ * GET    /employees/{id}                       one employee
+ * PATCH  /employees/{id}                       update some details
+ * DELETE /employees/{id}                       delete an employee
+ * GET    /employees/search?name=|prefix=       search by name
+ * GET    /employees/salary-range?minimum=&amp;maximum=&amp;limit=
+ * GET    /employees/highest-paid?count=
+ * GET    /employees/lowest-paid?count=
+ * GET    /statistics/salary?groupBy=           gender, joining_year, age_band
+ * GET    /metrics                              operation metrics as text
+ * </pre>
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeHttpServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    private static final String NO_DELAY_PROPERTY
+            = "sun.net.httpserver.nodelay";
+    private static final int CONNECTION_BACKLOG = 4096;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAXIMUM_LIMIT = 1000;
+    private static final int MAXIMUM_BODY_LENGTH = 64 * 1024;
+    private static final String EMPLOYEES_PATH = "/employees";
+    private static final String JSON_CONTENT_TYPE
+            = "application/json; charset=utf-8";
+    private static final Pattern ISO_DATE
+            = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private final EmployeeController employeeController
+            = new EmployeeController();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    static {
+        // The JDK server writes the headers and the body of a response
+        // separately, so with Nagle's algorithm the body waits for the
+        // client's delayed acknowledgement, about 40 ms per response.
+        if (null == System.getProperty(NO_DELAY_PROPERTY)) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    /**
+     * The ExchangeHandler interface handles one request and sends its
+     * response.
+     */
+    private interface ExchangeHandler {
+
+        /**
+         * Handles the specified request.
+         *
+         * @param exchange the request and its response.
+         * @throws IOException if the request or response cannot be
+         *         transferred.
+         */
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * The HttpException class is a failed request, answered with its status
+     * and message.
+     */
+    private static class HttpException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        /**
+         * Initializes a failure with the specified status and message.
+         *
+         * @param status the HTTP status of the response.
+         * @param message the error message sent to the client.
+         */
+        private HttpException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Initializes a server bound to the specified port, not started yet.
+     *
+     * @param port the port to listen on, or 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public EmployeeHttpServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port),
+                                   CONNECTION_BACKLOG);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext(EMPLOYEES_PATH, exchange -> {
+            dispatch(exchange, this::handleEmployees);
+        });
+        server.createContext("/statistics/salary", exchange -> {
+            dispatch(exchange, this::handleSalaryStatistics);
+        });
+        server.createContext("/metrics", exchange -> {
+            dispatch(exchange, this::handleMetrics);
+        });
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread, or a
+     * cached thread pool if the runtime has no virtual threads. The factory
+     * method is looked up at run time, so that the class still runs on
+     * runtimes without it.
+     *
+     * @return the executor of the request handlers.
+     */
+    static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException
+                 exception) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Starts serving requests in the background.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, closing the connections of requests still being
+     * handled.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Handles a request with the specified handler, answering a failed
+     * request with its error, and closes the exchange.
+     *
+     * @param exchange the request and its response.
+     * @param handler the handler of the request.
+     */
+    private void dispatch(HttpExchange exchange, ExchangeHandler handler) {
+        try {
+            handler.handle(exchange);
+        } catch (HttpException exception) {
+            sendError(exchange, exception.status, exception.getMessage());
+        } catch (IllegalArgumentException exception) {
+            sendError(exchange, 400, exception.getMessage());
+        } catch (IOException exception) {
+            // The client went away, nothing can be sent.
+        } catch (RuntimeException exception) {
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Routes a request under the employees path.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the request or response cannot be transferred.
+     */
+    private void handleEmployees(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath()
+                              .substring(EMPLOYEES_PATH.length());
+        String method = exchange.getRequestMethod();
+
+        switch (path) {
+            case "":
+            case "/":
+                if ("GET".equals(method)) {
+                    handleGetEmployeePage(exchange);
+                } else if ("POST".equals(method)) {
+                    handleCreateEmployee(exchange);
+                } else {
+                    throw methodNotAllowed(exchange, "GET, POST");
+                }
+                break;
+            case "/search":
+                requireGet(exchange);
+                handleSearchEmployees(exchange);
+                break;
+            case "/salary-range":
+                requireGet(exchange);
+                handleGetSalaryRange(exchange);
+                break;
+            case "/highest-paid":
+            case "/lowest-paid":
+                requireGet(exchange);
+                handleGetTopPaid(exchange, "/highest-paid".equals(path));
+                break;
+            default:
+                handleEmployee(exchange, parseId(path.substring(1)));
+        }
+    }
+
+    /**
+     * Routes a request for one employee.
+     *
+     * @param exchange the request and its response.
+     * @param id the id of the employee.
+     * @throws IOException if the request or response cannot be transferred.
+     */
+    private void handleEmployee(HttpExchange exchange, int id)
+            throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                sendEmployee(exchange, 200, getStoredEmployee(id));
+                break;
+            case "PATCH":
+                handlePatchEmployee(exchange, id);
+                break;
+            case "DELETE":
+                handleDeleteEmployee(exchange, id);
+                break;
+            default:
+                throw methodNotAllowed(exchange, "GET, PATCH, DELETE");
+        }
+    }
+
+    /**
+     * Sends a page of employees in id order.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleGetEmployeePage(HttpExchange exchange)
+            throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+
+        sendPage(exchange, employeeController.getEmployeePage(
+                query.get("cursor"), getLimit(query, "pageSize",
+                                               DEFAULT_PAGE_SIZE)));
+    }
+
+    /**
+     * Sends a page of the employees whose name contains the specified text,
+     * or has a word starting with the specified prefix.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleSearchEmployees(HttpExchange exchange)
+            throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        String cursor = query.get("cursor");
+        int pageSize = getLimit(query, "pageSize", DEFAULT_PAGE_SIZE);
+
+        if (query.containsKey("prefix")) {
+            sendPage(exchange, employeeController.searchEmployeesByNamePrefix(
+                    query.get("prefix"), cursor, pageSize));
+        } else if (query.containsKey("name")) {
+            sendPage(exchange, employeeController.searchEmployeesByName(
+                    query.get("name"), cursor, pageSize));
+        } else {
+            throw new IllegalArgumentException("Either name or prefix is "
+                                               + "required");
+        }
+    }
+
+    /**
+     * Sends the employees whose salary is within the requested range.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleGetSalaryRange(HttpExchange exchange)
+            throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+
+        sendEmployees(exchange, employeeController.getEmployeesBySalaryRange(
+                getPaise(query, "minimum", 0L),
+                getPaise(query, "maximum", Long.MAX_VALUE),
+                getLimit(query, "limit", DEFAULT_LIMIT)));
+    }
+
+    /**
+     * Sends the highest or lowest paid employees.
+     *
+     * @param exchange the request and its response.
+     * @param isHighestPaid true for the highest paid, false for the lowest.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleGetTopPaid(HttpExchange exchange,
+            boolean isHighestPaid) throws IOException {
+        int count = getLimit(parseQuery(exchange), "count", DEFAULT_LIMIT);
+
+        sendEmployees(exchange, isHighestPaid
+                ? employeeController.getHighestPaidEmployees(count)
+                : employeeController.getLowestPaidEmployees(count));
+    }
+
+    /**
+     * Validates the employee in the request body and creates it.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the request or response cannot be transferred.
+     */
+    private void handleCreateEmployee(HttpExchange exchange)
+            throws IOException {
+        Map<String, String> details = toFieldValues(readBody(exchange));
+        Map<EmployeeField, String> errors = employeeController
+                .validateEmployee(details.get("id"), details.get("name"),
+                        details.get("dateOfBirth"), details.get("gender"),
+                        details.get("mobileNumber"), details.get("email"),
+                        details.get("salary"), details.get("dateOfJoining"));
+        int id;
+
+        if (!errors.isEmpty()) {
+            sendValidationErrors(exchange, errors);
+            return;
+        }
+        id = employeeController.validateId(details.get("id"));
+
+        if (!employeeController.createEmployee(id,
+                employeeController.validateName(details.get("name")),
+                employeeController.validateDateOfBirth(
+                        details.get("dateOfBirth")),
+                employeeController.validateGender(details.get("gender")),
+                employeeController.validateMobileNumber(
+                        details.get("mobileNumber")),
+                employeeController.validateEmail(details.get("email")),
+                employeeController.validateSalaryInPaise(
+                        details.get("salary")),
+                employeeController.validateDateOfJoining(
+                        details.get("dateOfJoining")))) {
+            throw new HttpException(409, "Id, mobile number or email already "
+                                    + "exists");
+        }
+        exchange.getResponseHeaders().set("Location",
+                                          EMPLOYEES_PATH + "/" + id);
+        sendEmployee(exchange, 201, getStoredEmployee(id));
+    }
+
+    /**
+     * Validates the changes in the request body and applies them to the
+     * specified employee, only if it still has the version of the If-Match
+     * header when one is sent.
+     *
+     * @param exchange the request and its response.
+     * @param id the id of the employee to be updated.
+     * @throws IOException if the request or response cannot be transferred.
+     */
+    private void handlePatchEmployee(HttpExchange exchange, int id)
+            throws IOException {
+        Map<EmployeeField, String> changes
+                = new EnumMap<>(EmployeeField.class);
+        long expectedVersion = getExpectedVersion(exchange);
+        EmployeePatch patch;
+        boolean isPatched;
+
+        for (Map.Entry<String, String> detail
+                : toFieldValues(readBody(exchange)).entrySet()) {
+            EmployeeField field = EmployeeField.fromPropertyName(
+                    detail.getKey());
+
+            if ((null == field) || (EmployeeField.ID == field)) {
+                throw new IllegalArgumentException(detail.getKey()
+                                                   + " cannot be updated");
+            }
+            changes.put(field, detail.getValue());
+        }
+        patch = employeeController.validatePatch(changes);
+
+        if (null == patch) {
+            throw new IllegalArgumentException("Invalid changes");
+        }
+        isPatched = (0 > expectedVersion)
+                ? employeeController.patchEmployee(id, patch)
+                : employeeController.patchEmployeeIfVersion(id,
+                        expectedVersion, patch);
+
+        if (!isPatched) {
+            Employee employee = getStoredEmployee(id);
+
+            if ((0 <= expectedVersion)
+                    && (expectedVersion != employee.getVersion())) {
+                throw new HttpException(412, "Employee was changed since it "
+                                        + "was read");
+            }
+            throw new HttpException(409, "Mobile number or email already "
+                                    + "exists");
+        }
+        sendEmployee(exchange, 200, getStoredEmployee(id));
+    }
+
+    /**
+     * Deletes the specified employee, only if it still has the version of
+     * the If-Match header when one is sent.
+     *
+     * @param exchange the request and its response.
+     * @param id the id of the employee to be deleted.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleDeleteEmployee(HttpExchange exchange, int id)
+            throws IOException {
+        long expectedVersion = getExpectedVersion(exchange);
+        boolean isDeleted = (0 > expectedVersion)
+                ? employeeController.deleteEmployee(id)
+                : employeeController.deleteEmployeeIfVersion(id,
+                                                             expectedVersion);
+
+        if (!isDeleted) {
+            getStoredEmployee(id);
+            throw new HttpException(412, "Employee was changed since it was "
+                                    + "read");
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    /**
+     * Sends the salary statistics of the employees grouped by the requested
+     * detail.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleSalaryStatistics(HttpExchange exchange)
+            throws IOException {
+        EmployeeGrouping grouping;
+        StringBuilder body = new StringBuilder("{");
+
+        requireGet(exchange);
+        grouping = parseGrouping(parseQuery(exchange).getOrDefault("groupBy",
+                                                                   "gender"));
+        for (SalaryStatistics statistics : employeeController
+                .getSalaryStatistics(grouping).values()) {
+            if (1 < body.length()) {
+                body.append(',');
+            }
+            JsonFormat.appendString(body, statistics.getGroup());
+            body.append(":{\"count\":").append(statistics.getCount())
+                .append(",\"totalSalary\":");
+            EmployeeFormat.appendSalary(body, statistics.getTotalSalary());
+            body.append(",\"averageSalary\":");
+            EmployeeFormat.appendSalary(body, statistics.getAverageSalary());
+            body.append(",\"minimumSalary\":");
+            EmployeeFormat.appendSalary(body, statistics.getMinimumSalary());
+            body.append(",\"maximumSalary\":");
+            EmployeeFormat.appendSalary(body, statistics.getMaximumSalary());
+            body.append(",\"medianSalary\":");
+            EmployeeFormat.appendSalary(body, statistics.getMedianSalary());
+            body.append(",\"ninetiethPercentileSalary\":");
+            EmployeeFormat.appendSalary(body,
+                    statistics.getNinetiethPercentileSalary());
+            body.append(",\"ninetyNinthPercentileSalary\":");
+            EmployeeFormat.appendSalary(body,
+                    statistics.getNinetyNinthPercentileSalary());
+            body.append('}');
+        }
+        send(exchange, 200, JSON_CONTENT_TYPE, body.append('}'));
+    }
+
+    /**
+     * Parses the detail to group employees by, ignoring case and accepting
+     * hyphens for underscores.
+     *
+     * @param groupBy the name of the grouping.
+     * @return the grouping.
+     * @throws IllegalArgumentException if there is no such grouping.
+     */
+    private static EmployeeGrouping parseGrouping(String groupBy) {
+        try {
+            return EmployeeGrouping.valueOf(groupBy.toUpperCase(Locale.ROOT)
+                                                   .replace('-', '_'));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("groupBy must be gender, "
+                                               + "joining_year or age_band");
+        }
+    }
+
+    /**
+     * Sends the call count and latency of every operation as text.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        requireGet(exchange);
+        send(exchange, 200, "text/plain; charset=utf-8",
+             employeeController.getOperationMetricsReport());
+    }
+
+    /**
+     * Retrieves the specified employee.
+     *
+     * @param id the id of the employee.
+     * @return the stored employee.
+     * @throws HttpException with status 404 if the employee is not found.
+     */
+    private Employee getStoredEmployee(int id) {
+        Employee employee = (Employee) employeeController.getEmployee(id)
+                                                          .get(0);
+
+        if (null == employee) {
+            throw new HttpException(404, "Employee not found");
+        }
+        return employee;
+    }
+
+    /**
+     * Checks that the request method is GET.
+     *
+     * @param exchange the request and its response.
+     * @throws HttpException with status 405 if it is not.
+     */
+    private static void requireGet(HttpExchange exchange) {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            throw methodNotAllowed(exchange, "GET");
+        }
+    }
+
+    /**
+     * Creates the failure of a request with a method the path does not
+     * allow.
+     *
+     * @param exchange the request and its response.
+     * @param allowedMethods the methods the path allows.
+     * @return the failure to be thrown.
+     */
+    private static HttpException methodNotAllowed(HttpExchange exchange,
+            String allowedMethods) {
+        exchange.getResponseHeaders().set("Allow", allowedMethods);
+        return new HttpException(405, "Method not allowed");
+    }
+
+    /**
+     * Parses the id in a path.
+     *
+     * @param id the id as written in the path.
+     * @return the id.
+     * @throws HttpException with status 404 if it is not an id.
+     */
+    private int parseId(String id) {
+        Integer parsedId = employeeController.validateId(id);
+
+        if (null == parsedId) {
+            throw new HttpException(404, "Not found");
+        }
+        return parsedId;
+    }
+
+    /**
+     * Gets the version of the If-Match header of the request. Weak and
+     * quoted tags are accepted.
+     *
+     * @param exchange the request and its response.
+     * @return the expected version, or -1 if the header is absent or *.
+     * @throws IllegalArgumentException if the header is not a version.
+     */
+    private static long getExpectedVersion(HttpExchange exchange) {
+        String tag = exchange.getRequestHeaders().getFirst("If-Match");
+
+        if ((null == tag) || "*".equals(tag.strip())) {
+            return -1;
+        }
+        tag = tag.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+
+        if ((2 <= tag.length()) && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+
+        try {
+            long version = Long.parseLong(tag);
+
+            if (0 > version) {
+                throw new NumberFormatException();
+            }
+            return version;
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("If-Match must be an employee "
+                                               + "version");
+        }
+    }
+
+    /**
+     * Converts the details of a JSON body to the text the validator reads,
+     * rewriting ISO-8601 dates to DD-MM-YYYY.
+     *
+     * @param body the JSON object in the request body.
+     * @return a Map of each detail name to its value.
+     * @throws IllegalArgumentException if the body is not a JSON object.
+     */
+    private static Map<String, String> toFieldValues(String body) {
+        Map<String, String> details = JsonFormat.parseObject(body);
+
+        details.replaceAll((name, value) -> {
+            if ((null != value) && ISO_DATE.matcher(value).matches()) {
+                return value.substring(8) + value.substring(4, 8)
+                       + value.substring(0, 4);
+            }
+            return value;
+        });
+        return details;
+    }
+
+    /**
+     * Reads the body of the request, refusing one too large to be an
+     * employee's details.
+     *
+     * @param exchange the request and its response.
+     * @return the body decoded as UTF-8.
+     * @throws IOException if the body cannot be read.
+     * @throws HttpException if the body is longer than the maximum.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAXIMUM_BODY_LENGTH + 1);
+
+            if (MAXIMUM_BODY_LENGTH < bytes.length) {
+                throw new HttpException(413, "Request body is too large");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses the query string of the request.
+     *
+     * @param exchange the request and its response.
+     * @return a Map of each decoded parameter name to its decoded value.
+     */
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+
+        if (null == query) {
+            return parameters;
+        }
+
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+
+            if (0 < separator) {
+                parameters.put(URLDecoder.decode(parameter.substring(0,
+                        separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1),
+                                          StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Gets an integer parameter.
+     *
+     * @param query the parameters of the request.
+     * @param name the name of the parameter.
+     * @param defaultValue the value if the parameter is absent.
+     * @return the value of the parameter.
+     * @throws NumberFormatException if it is not an integer.
+     */
+    private static int getInt(Map<String, String> query, String name,
+            int defaultValue) {
+        String value = query.get(name);
+
+        return (null == value) ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Gets a parameter limiting the number of employees in a response.
+     *
+     * @param query the parameters of the request.
+     * @param name the name of the parameter.
+     * @param defaultValue the value if the parameter is absent.
+     * @return the value of the parameter.
+     * @throws IllegalArgumentException if it is not an integer or it is
+     *         above the maximum.
+     */
+    private static int getLimit(Map<String, String> query, String name,
+            int defaultValue) {
+        int limit = getInt(query, name, defaultValue);
+
+        if (MAXIMUM_LIMIT < limit) {
+            throw new IllegalArgumentException(name + " must be at most "
+                                               + MAXIMUM_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Gets an amount parameter in rupees as paise.
+     *
+     * @param query the parameters of the request.
+     * @param name the name of the parameter.
+     * @param defaultValue the value in paise if the parameter is absent.
+     * @return the value of the parameter in paise.
+     * @throws NumberFormatException if it is not a number of rupees with at
+     *         most 2 decimal places.
+     */
+    private static long getPaise(Map<String, String> query, String name,
+            long defaultValue) {
+        String value = query.get(name);
+
+        if (null == value) {
+            return defaultValue;
+        }
+
+        try {
+            return new BigDecimal(value).movePointRight(2).longValueExact();
+        } catch (ArithmeticException exception) {
+            throw new NumberFormatException(name + " must have at most 2 "
+                                            + "decimal places");
+        }
+    }
+
+    /**
+     * Sends the specified employee with its version as the ETag.
+     *
+     * @param exchange the request and its response.
+     * @param status the HTTP status of the response.
+     * @param employee the employee to be sent.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendEmployee(HttpExchange exchange, int status,
+            Employee employee) throws IOException {
+        StringBuilder body = new StringBuilder(256);
+
+        JsonFormat.appendEmployee(body, employee, true);
+        exchange.getResponseHeaders().set("ETag",
+                                          "\"" + employee.getVersion() + "\"");
+        send(exchange, status, JSON_CONTENT_TYPE, body);
+    }
+
+    /**
+     * Sends the specified employees as a JSON array.
+     *
+     * @param exchange the request and its response.
+     * @param employees the employees to be sent.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendEmployees(HttpExchange exchange,
+            List<Employee> employees) throws IOException {
+        StringBuilder body = new StringBuilder(256 * employees.size() + 2);
+
+        appendEmployees(body, employees);
+        send(exchange, 200, JSON_CONTENT_TYPE, body);
+    }
+
+    /**
+     * Sends the specified page with the cursor of the next page.
+     *
+     * @param exchange the request and its response.
+     * @param page the page to be sent.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendPage(HttpExchange exchange, EmployeePage page)
+            throws IOException {
+        StringBuilder body = new StringBuilder(
+                256 * page.getEmployees().size() + 64);
+
+        body.append("{\"employees\":");
+        appendEmployees(body, page.getEmployees());
+        body.append(",\"nextCursor\":");
+        if (page.hasNextPage()) {
+            JsonFormat.appendString(body, page.getNextCursor());
+        } else {
+            body.append("null");
+        }
+        send(exchange, 200, JSON_CONTENT_TYPE, body.append('}'));
+    }
+
+    /**
+     * Appends the specified employees as a JSON array.
+     *
+     * @param body the builder to append to.
+     * @param employees the employees to be appended.
+     */
+    private static void appendEmployees(StringBuilder body,
+            List<Employee> employees) {
+        body.append('[');
+        for (int index = 0; index < employees.size(); index++) {
+            if (0 < index) {
+                body.append(',');
+            }
+            JsonFormat.appendEmployee(body, employees.get(index), true);
+        }
+        body.append(']');
+    }
+
+    /**
+     * Sends the error message of every invalid detail with status 400.
+     *
+     * @param exchange the request and its response.
+     * @param errors the error message of each invalid field.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendValidationErrors(HttpExchange exchange,
+            Map<EmployeeField, String> errors) throws IOException {
+        StringBuilder body = new StringBuilder("{\"errors\":{");
+
+        for (Map.Entry<EmployeeField, String> error : errors.entrySet()) {
+            if ('{' != body.charAt(body.length() - 1)) {
+                body.append(',');
+            }
+            JsonFormat.appendString(body, error.getKey().getPropertyName());
+            body.append(':');
+            JsonFormat.appendString(body, error.getValue());
+        }
+        send(exchange, 400, JSON_CONTENT_TYPE, body.append("}}"));
+    }
+
+    /**
+     * Sends an error message with the specified status, unless the response
+     * is already started.
+     *
+     * @param exchange the request and its response.
+     * @param status the HTTP status of the response.
+     * @param message the error message.
+     */
+    private static void sendError(HttpExchange exchange, int status,
+            String message) {
+        StringBuilder body = new StringBuilder("{\"error\":");
+
+        JsonFormat.appendString(body, (null == message) ? "Bad request"
+                                                        : message);
+        try {
+            send(exchange, status, JSON_CONTENT_TYPE, body.append('}'));
+        } catch (IOException | IllegalStateException exception) {
+            // The response was started or the client went away.
+        }
+    }
+
+    /**
+     * Sends a response with the specified status and body.
+     *
+     * @param exchange the request and its response.
+     * @param status the HTTP status of the response.
+     * @param contentType the media type of the body.
+     * @param body the body of the response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status,
+            String contentType, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.ExportFormat;
+import com.ideas2it.employeemanagement.util.EmployeeFormat;
+import com.ideas2it.employeemanagement.util.JsonFormat;
+
+/**
+ * The EmployeeExporter class writes employees to a channel as CSV or JSON
+ * Lines while iterating over them. Each employee is formatted into one
+ * reused record builder and encoded into one reused buffer, which is written
+ * to the channel whenever it fills, so the memory used does not depend on
+ * the number of employees. CSV output has the same layout as the import
+ * file. JSON Lines output uses ISO-8601 dates.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder record = new StringBuilder(256);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ExportFormat format;
+    private final WritableByteChannel channel;
+
+    /**
+     * Initializes an exporter writing in the specified format to the
+     * specified channel. The channel is not closed by the exporter.
+     *
+     * @param format the format of the output.
+     * @param channel the channel to write to.
+     */
+    public EmployeeExporter(ExportFormat format, WritableByteChannel channel) {
+        this.format = format;
+        this.channel = channel;
+    }
+
+    /**
+     * Writes every employee returned by the specified iterator and flushes
+     * the buffer.
+     *
+     * @param employees the employees to be exported.
+     * @return the number of employees written.
+     * @throws IOException if the channel cannot be written.
+     */
+    public long export(Iterator<Employee> employees) throws IOException {
+        long count = 0;
+
+        if (ExportFormat.CSV == format) {
+            record.setLength(0);
+            writeRecord(record.append(EmployeeImporter.HEADER).append('\n'));
+        }
+
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+
+            record.setLength(0);
+            if (ExportFormat.CSV == format) {
+                appendCsv(employee);
+            } else {
+                JsonFormat.appendEmployee(record, employee, false);
+            }
+            writeRecord(record.append('\n'));
+            count++;
+        }
+        flushBuffer();
+        return count;
+    }
+
+    /**
+     * Formats the specified employee as a CSV line into the record builder.
+     *
+     * @param employee the employee to be formatted.
+     */
+    private void appendCsv(Employee employee) {
+        record.append(employee.getId()).append(',')
+              .append(employee.getName()).append(',');
+        EmployeeFormat.appendDate(record, employee.getDateOfBirthEpochDay(),
+                                  '-');
+        record.append(',').append(employee.getGender()).append(',')
+              .append(employee.getMobileNumber()).append(',')
+              .append(employee.getEmail()).append(',');
+        EmployeeFormat.appendSalaryInPaise(record,
+                                          employee.getSalaryInPaise());
+        record.append(',');
+        EmployeeFormat.appendDate(record,
+                                  employee.getDateOfJoiningEpochDay(), '-');
+    }
+
+    /**
+     * Encodes the specified record into the buffer, writing the buffer to
+     * the channel whenever it fills.
+     *
+     * @param characters the record to be written.
+     * @throws IOException if the channel cannot be written.
+     */
+    private void writeRecord(CharSequence characters) throws IOException {
+        CharBuffer input = CharBuffer.wrap(characters);
+
+        while (encoder.encode(input, buffer, true).isOverflow()) {
+            flushBuffer();
+        }
+        encoder.reset();
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @throws IOException if the channel cannot be written.
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
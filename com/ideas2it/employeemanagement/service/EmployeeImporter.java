@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.Gender;
+import com.ideas2it.employeemanagement.model.ImportSummary;
+import com.ideas2it.employeemanagement.repository.EmployeeRepository;
+import com.ideas2it.employeemanagement.util.LongIntHashMap;
+
+/**
+ * The EmployeeImporter class loads employees from a CSV file in bulk. Each
+ * line holds id, name, date of birth, gender, mobile number, email, salary
+ * and date of joining separated by commas, dates in dd-mm-yyyy format. A
+ * first line starting with "id" is taken as the header.
+ *
+ * <p>The file is read in batches. The rows of a batch are validated in
+ * parallel, then checked for ids, mobile numbers and emails used by an
+ * earlier row of the file or already stored, and the accepted rows are
+ * stored with one repository call. A row the repository still rejects
+ * frees its details for the later rows. Only one batch is held in memory
+ * at a time. Rejected rows are written to the error file with the reason
+ * appended as a last column.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeImporter {
+    public static final String HEADER = "id,name,dateOfBirth,gender,"
+                                        + "mobileNumber,email,salary,"
+                                        + "dateOfJoining";
+    private static final int BATCH_SIZE = 8192;
+    private static final int FIELD_COUNT = 8;
+    private static final int NOT_SEEN = 0;
+    private final EmployeeValidator employeeValidator;
+    private final EmployeeRepository employeeRepository;
+    private final LongIntHashMap idLines = new LongIntHashMap();
+    private final LongIntHashMap mobileNumberLines = new LongIntHashMap();
+    private final Map<String, Integer> emailLines = new HashMap<>();
+    private long acceptedCount;
+    private long rejectedCount;
+
+    /** A line of the file with its validation outcome. */
+    private static class ImportRow {
+        private final int lineNumber;
+        private final String line;
+        private Employee employee;
+        private String error;
+
+        private ImportRow(int lineNumber, String line) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Initializes an importer storing employees in the specified repository.
+     * An importer is used for one file only.
+     *
+     * @param employeeValidator the validator of the employee details.
+     * @param employeeRepository the repository to store employees in.
+     */
+    public EmployeeImporter(EmployeeValidator employeeValidator,
+            EmployeeRepository employeeRepository) {
+        this.employeeValidator = employeeValidator;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Imports all employees of the specified CSV file.
+     *
+     * @param csvFile the file holding the employees to be imported.
+     * @param errorFile the file to write the rejected rows to, replaced if it
+     *        exists.
+     * @return the number of accepted and rejected rows.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public ImportSummary importEmployees(Path csvFile, Path errorFile)
+            throws IOException {
+        long startTime = System.nanoTime();
+        List<String> lines = new ArrayList<>(BATCH_SIZE);
+        int[] lineNumbers = new int[BATCH_SIZE];
+        int lineNumber = 0;
+        String line;
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile);
+                BufferedWriter errorWriter
+                        = Files.newBufferedWriter(errorFile)) {
+            errorWriter.write(HEADER + ",error");
+            errorWriter.newLine();
+
+            while (null != (line = reader.readLine())) {
+                lineNumber++;
+
+                if (line.isBlank() || ((1 == lineNumber)
+                        && line.strip().toLowerCase().startsWith("id"))) {
+                    continue;
+                }
+                lineNumbers[lines.size()] = lineNumber;
+                lines.add(line);
+
+                if (BATCH_SIZE == lines.size()) {
+                    importBatch(lines, lineNumbers, errorWriter);
+                    lines.clear();
+                }
+            }
+            importBatch(lines, lineNumbers, errorWriter);
+        }
+        return new ImportSummary(acceptedCount, rejectedCount,
+                                 (System.nanoTime() - startTime) / 1000000);
+    }
+
+    /**
+     * Validates, checks and stores one batch of rows and writes its rejected
+     * rows in file order.
+     *
+     * @param lines the lines of the batch.
+     * @param lineNumbers the line number of each line.
+     * @param errorWriter the writer of the error file.
+     * @throws IOException if the error file cannot be written.
+     */
+    private void importBatch(List<String> lines, int[] lineNumbers,
+            BufferedWriter errorWriter) throws IOException {
+        ImportRow[] rows = IntStream.range(0, lines.size()).parallel()
+                .mapToObj(index -> validateRow(lineNumbers[index],
+                                               lines.get(index)))
+                .toArray(ImportRow[]::new);
+        List<Employee> acceptedEmployees = new ArrayList<>(rows.length);
+        Set<Employee> rejectedEmployees
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (ImportRow row : rows) {
+            if (null == row.error) {
+                row.error = claimKeys(row);
+            }
+
+            if (null == row.error) {
+                acceptedEmployees.add(row.employee);
+            }
+        }
+        rejectedEmployees.addAll(
+                employeeRepository.insertEmployees(acceptedEmployees));
+        acceptedCount += acceptedEmployees.size() - rejectedEmployees.size();
+
+        for (ImportRow row : rows) {
+            if ((null == row.error)
+                    && rejectedEmployees.contains(row.employee)) {
+                releaseKeys(row);
+                row.error = findStoredKeys(row.employee);
+            }
+
+            if (null != row.error) {
+                rejectedCount++;
+                errorWriter.write(row.line);
+                errorWriter.write(",\"Line ");
+                errorWriter.write(Integer.toString(row.lineNumber));
+                errorWriter.write(" : ");
+                errorWriter.write(row.error.replace("\"", "\"\""));
+                errorWriter.write('"');
+                errorWriter.newLine();
+            }
+        }
+    }
+
+    /**
+     * Splits and validates a line with the rules used for employees created
+     * one at a time.
+     *
+     * @param lineNumber the number of the line in the file.
+     * @param line the line to be validated.
+     * @return the row holding the parsed employee, or the validation errors.
+     */
+    private ImportRow validateRow(int lineNumber, String line) {
+        ImportRow row = new ImportRow(lineNumber, line);
+        String[] fields = line.split(",", -1);
+        Integer id;
+        String name;
+        LocalDate dateOfBirth;
+        String gender;
+        Long mobileNumber;
+        String email;
+        Long salaryInPaise;
+        LocalDate dateOfJoining;
+
+        if (FIELD_COUNT != fields.length) {
+            row.error = "Expected " + FIELD_COUNT + " fields but found "
+                        + fields.length;
+            return row;
+        }
+        id = employeeValidator.validateId(fields[0]);
+        name = employeeValidator.validateName(fields[1]);
+        dateOfBirth = employeeValidator.validateDateOfBirth(fields[2]);
+        gender = employeeValidator.validateGender(fields[3]);
+        mobileNumber = employeeValidator.validateMobileNumber(fields[4]);
+        email = employeeValidator.validateEmail(fields[5]);
+        salaryInPaise = employeeValidator.validateSalaryInPaise(fields[6]);
+        dateOfJoining = employeeValidator.validateDateOfJoining(fields[7]);
+
+        if ((null == id) || (null == name) || (null == dateOfBirth)
+                || (null == gender) || (null == mobileNumber)
+                || (null == email) || (null == salaryInPaise)
+                || (null == dateOfJoining)) {
+            row.error = String.join("; ", employeeValidator.validateEmployee(
+                    fields[0], fields[1], fields[2], fields[3], fields[4],
+                    fields[5], fields[6], fields[7]).values());
+        } else {
+            row.employee = new Employee(id, name,
+                    (int) dateOfBirth.toEpochDay(), Gender.fromLabel(gender),
+                    mobileNumber, email, salaryInPaise,
+                    (int) dateOfJoining.toEpochDay());
+        }
+        return row;
+    }
+
+    /**
+     * Records the id, mobile number and email of a valid row, unless an
+     * earlier row of the file already used one of them or one of them is
+     * already stored.
+     *
+     * @param row the valid row to be checked.
+     * @return the error if a detail is used by an earlier row or stored,
+     *         otherwise null.
+     */
+    private String claimKeys(ImportRow row) {
+        Employee employee = row.employee;
+        int idLine = idLines.get(employee.getId(), NOT_SEEN);
+        int mobileNumberLine = mobileNumberLines.get(
+                employee.getMobileNumber(), NOT_SEEN);
+        Integer emailLine = emailLines.get(employee.getEmail());
+        List<String> errors = new ArrayList<>(3);
+
+        if (NOT_SEEN != idLine) {
+            errors.add(EmployeeField.ID.getDisplayName()
+                       + " already used in line " + idLine);
+        }
+
+        if (NOT_SEEN != mobileNumberLine) {
+            errors.add(EmployeeField.MOBILE_NUMBER.getDisplayName()
+                       + " already used in line " + mobileNumberLine);
+        }
+
+        if (null != emailLine) {
+            errors.add(EmployeeField.EMAIL.getDisplayName()
+                       + " already used in line " + emailLine);
+        }
+
+        if (!errors.isEmpty()) {
+            return String.join("; ", errors);
+        }
+
+        if (employeeRepository.isEmployeeExist(employee.getId())
+                || employeeRepository.isMobileNumberExist(
+                        employee.getMobileNumber())
+                || employeeRepository.isEmailExist(employee.getEmail())) {
+            return findStoredKeys(employee);
+        }
+        idLines.put(employee.getId(), row.lineNumber);
+        mobileNumberLines.put(employee.getMobileNumber(), row.lineNumber);
+        emailLines.put(employee.getEmail(), row.lineNumber);
+        return null;
+    }
+
+    /**
+     * Releases the id, mobile number and email recorded for a row the
+     * repository rejected, so that a later row may use them.
+     *
+     * @param row the rejected row.
+     */
+    private void releaseKeys(ImportRow row) {
+        Employee employee = row.employee;
+
+        idLines.remove(employee.getId(), row.lineNumber);
+        mobileNumberLines.remove(employee.getMobileNumber(), row.lineNumber);
+        emailLines.remove(employee.getEmail(), row.lineNumber);
+    }
+
+    /**
+     * Describes which details of an employee rejected by the repository are
+     * already stored.
+     *
+     * @param employee the rejected employee.
+     * @return the error of the rejected employee.
+     */
+    private String findStoredKeys(Employee employee) {
+        List<String> errors = new ArrayList<>(3);
+
+        if (employeeRepository.isEmployeeExist(employee.getId())) {
+            errors.add(EmployeeField.ID.getDisplayName() + " already exists");
+        }
+
+        if (employeeRepository.isMobileNumberExist(
+                employee.getMobileNumber())) {
+            errors.add(EmployeeField.MOBILE_NUMBER.getDisplayName()
+                       + " already exists");
+        }
+
+        if (employeeRepository.isEmailExist(employee.getEmail())) {
+            errors.add(EmployeeField.EMAIL.getDisplayName()
+                       + " already exists");
+        }
+        return errors.isEmpty() ? "Already exists" : String.join("; ", errors);
+    }
+}
@@ -3,27 +3,106 @@
  */
 package com.ideas2it.employeemanagement.service;
 
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
 
 import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.ExportFormat;
+import com.ideas2it.employeemanagement.model.Gender;
+import com.ideas2it.employeemanagement.model.ImportSummary;
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
+import com.ideas2it.employeemanagement.repository.EmployeeIndex;
+import com.ideas2it.employeemanagement.repository.EmployeeLongKeyIndex;
+import com.ideas2it.employeemanagement.repository.EmployeeNameIndex;
+import com.ideas2it.employeemanagement.repository.EmployeeReadSnapshot;
+import com.ideas2it.employeemanagement.repository.EmployeeRepository;
+import com.ideas2it.employeemanagement.repository.EmployeeRepositoryFactory;
+import com.ideas2it.employeemanagement.repository.EmployeeVersionStore;
+import com.ideas2it.employeemanagement.util.DateClock;
 
 /**
  * The EmployeeService class contains validations and implementations for 
  * create, update, retrieve, delete operations for employee management system.
+ * Employees are stored in an EmployeeRepository, so the storage can be
+ * changed without changing the service. The service keeps the employee ids
+ * sorted in indexes for paging and for salary, age and experience queries,
+ * and indexes the words of names for name search. Salary statistics are
+ * computed in parallel over the whole store. Ages and experience are
+ * computed on the date told by the service's clock. It is safe to be used
+ * by multiple threads.
  *
  * @author  Sivanantham
  * @version 1.4
  */
 public class EmployeeService {
-    private static Map<Integer, Employee> employeesDatabase = new HashMap<>(); 
+    private final EmployeeValidator employeeValidator;
+    private final DateClock dateClock;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeIndex idIndex = new EmployeeIndex(Employee::getId);
+    private final EmployeeLongKeyIndex salaryIndex
+            = new EmployeeLongKeyIndex(Employee::getSalaryInPaise);
+    private final EmployeeNameIndex nameIndex = new EmployeeNameIndex();
+    private final EmployeeVersionStore versionStore;
+    private final EmployeeIndex dateOfBirthIndex = new EmployeeIndex(
+            Employee::getDateOfBirthEpochDay);
+    private final EmployeeIndex dateOfJoiningIndex = new EmployeeIndex(
+            Employee::getDateOfJoiningEpochDay);
+    
+    /** Initializes the service with the repository shared by the application. */
+    public EmployeeService() {
+        this(EmployeeRepositoryFactory.getDefaultRepository());
+    }
+    
+    /**
+     * Initializes the service with the specified repository and registers
+     * its indexes with the repository.
+     *
+     * @param employeeRepository the repository to store employees in.
+     */
+    public EmployeeService(EmployeeRepository employeeRepository) {
+        this(employeeRepository, DateClock.systemClock());
+    }
+    
+    /**
+     * Initializes the service with the specified repository and clock and
+     * registers its indexes with the repository.
+     *
+     * @param employeeRepository the repository to store employees in.
+     * @param dateClock the clock telling the date ages and experience are
+     *        computed on.
+     */
+    public EmployeeService(EmployeeRepository employeeRepository,
+            DateClock dateClock) {
+        this.employeeRepository = employeeRepository;
+        this.dateClock = dateClock;
+        this.employeeValidator = new EmployeeValidator(dateClock);
+        this.versionStore = new EmployeeVersionStore(employeeRepository,
+                                                     idIndex);
+        employeeRepository.addChangeListener(versionStore);
+        employeeRepository.addChangeListener(salaryIndex);
+        employeeRepository.addChangeListener(dateOfBirthIndex);
+        employeeRepository.addChangeListener(dateOfJoiningIndex);
+        employeeRepository.addChangeListener(nameIndex);
+    }
     
     /**
      * Searches for the specified employee id.
@@ -33,20 +112,7 @@ public class EmployeeService {
      * @return true if employee found, otherwise false.
      */
     public boolean isEmployeeExist(int id) {
-        return employeesDatabase.containsKey(id);
-    }
-    
-    /**
-     * Checks if the specified employee id is a non negative integer
-     * (0 excluded). Allows leading and trailing spaces. Leading zeros are not  
-     * allowed (e.g) 001. Signed integers are not considered valid (e.g) +1, -9. 
-     * It does not check for id duplication.
-     *
-     * @param the employee id to be validated as a string.
-     * @return true if specified employee id is valid, otherwise false. 
-     */
-    private boolean isValidId(String id) { 
-        return Pattern.matches("(^\\s*[1-9][0-9]*\\s*)$", id);
+        return employeeRepository.isEmployeeExist(id);
     }
     
     /**
@@ -56,30 +122,7 @@ public class EmployeeService {
      * @return employee id as a Integer if it is valid else null.
      */
     public Integer validateId(String id) {
-        Integer parsedId = null; 
-        
-        if (isValidId(id)) {  
-            try {
-                parsedId = Integer.parseInt(id.strip());            
-            } catch (NumberFormatException exception) {
-                parsedId = null;     
-            }
-        }
-        return parsedId;
-    }
-    
-    /**
-     * Checks if the specified name is valid. Middle name and last name are 
-     * optional. First name can have 3 to 20 letters, middle and last name
-     * can have 2 to 20 letters. Leading and trailing spaces are allowed. 
-     *
-     * @param name name of the employee to be validated as a string.
-     * @return true if specified name is valid, otherwise false.
-     */
-    private boolean isValidName(String name) {
-        return Pattern.matches("^(\\s*[a-zA-Z]{3,20}\\s*)$|^((\\s*[a-zA-Z]"
-                + "{3,20}) ([a-zA-Z]{2,20})\\s*)$|^((\\s*[a-zA-Z]{3,20}) "
-                + "([a-zA-Z]{2,20}) ([a-zA-Z]){2,20}\\s*)$", name);
+        return employeeValidator.validateId(id);
     }
     
     /**
@@ -89,20 +132,7 @@ public class EmployeeService {
      * @return employee name as a string if it is valid else null.
      */
     public String validateName(String name) {
-        return isValidName(name) ? name.strip().toLowerCase() : null;
-    }
-    
-    /**
-     * Checks if the employee's age is above 18 (inclusive) and below 
-     * 60 (inclusive).
-     * 
-     * @param dateOfBirth the employee's date of birth as a LocalDate.
-     * @return true if specified date of birth is valid otherwise false.
-     */
-    private boolean isValidDateOfBirth(LocalDate dateOfBirth) {
-        int age = dateOfBirth.until(LocalDate.now()).getYears();
-        
-        return ((18 <= age) && (60 >= age));
+        return employeeValidator.validateName(name);
     }
     
     /**
@@ -112,22 +142,7 @@ public class EmployeeService {
      * @return employee date of birth as a LocalDate if it is valid else null.
      */
     public LocalDate validateDateOfBirth(String dateOfBirth) {
-         LocalDate parsedDateOfBirth = parseDate(dateOfBirth.strip());
-
-         return ((null != parsedDateOfBirth) 
-                 && (isValidDateOfBirth(parsedDateOfBirth))) ? parsedDateOfBirth 
-                                                             : null;
-    }
-    
-    /**
-     * Checks if the specified gender is valid(male/female/others).
-     * 
-     * @param gender employee's gender as string value.
-     * @return true if specified gender is valid, otherwise false.
-     */ 
-    private boolean isValidGender(String gender) {
-        return ("male".equals(gender) || "female".equals(gender) 
-                || "others".equals(gender));
+        return employeeValidator.validateDateOfBirth(dateOfBirth);
     }
     
     /**
@@ -137,20 +152,7 @@ public class EmployeeService {
      * @return employee gender as a string if it is valid else null.
      */
     public String validateGender(String gender) {
-        gender = gender.strip().toLowerCase();
-        return isValidGender(gender) ? gender : null;
-    }
-    
-    /**
-     * Checks if the given mobile number is a 10 digit non negative integer
-     * Starting digit must be in range 6 to 9. 
-     *
-     * @param mobileNumber the employee mobile number as string value.
-     * @return true if specified mobile number is valid otherwise false.
-     * 
-     */
-    private boolean isValidMobileNumber(String mobileNumber) {
-        return Pattern.matches("^(\\s*[6-9][0-9]{9}\\s*)$", mobileNumber);
+        return employeeValidator.validateGender(gender);
     }
     
     /**
@@ -160,16 +162,7 @@ public class EmployeeService {
      * @return employee mobile number as a Long if it is valid else null.
      */
     public Long validateMobileNumber(String mobileNumber) {
-         Long parsedMobileNumber = null;
-         
-         if (isValidMobileNumber(mobileNumber)) {
-             try {
-                 parsedMobileNumber = Long.parseLong(mobileNumber.strip());
-             } catch (NumberFormatException exception) {
-                 parsedMobileNumber = null;
-             }
-         }
-         return parsedMobileNumber;
+        return employeeValidator.validateMobileNumber(mobileNumber);
     }
     
     /** 
@@ -179,33 +172,7 @@ public class EmployeeService {
      * @return true if mobile number already exist, otherwise false.
      */
     public boolean isMobileNumberExist(long mobileNumber) {
-        for (Employee employee : employeesDatabase.values()) {
-            if (mobileNumber == employee.getMobileNumber()) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
-    
-    /**
-     * Checks if the given email is valid. Capital letters are not allowed.
-     * '-', '_', '.' are allowed special characters. Same type of special
-     * characters cannot be consecutive (e.g) siva..3@gmail.com. Email address
-     * must start and end with a letter or number. There must be atleast 3 
-     * characters and maximum 53 characters. Leading and Trailing spaces are
-     * allowed. After '@' atleast 1 domain name and atmost 3 domain names 
-     * allowed.
-     * 
-     * @param email employee's email to be validated as string value.
-     * @return true if specified email is valid, otherwise false.
-     */
-    private boolean isValidEmail(String email) {
-        return Pattern.matches(new StringBuilder().append("^\\s*(([a-z0-9]")
-                .append("[\\.]?[\\-]?[_]?([a-z0-9][\\.]?[\\-]?[_]?){0,50}")
-                .append("[a-z0-9]@[a-z0-9][a-z0-9_\\-]{0,30}[a-z0-9]([\\.]")
-                .append("[a-z]{2,30}){1,3})\\s*$)") 
-                .toString(), email);
+        return employeeRepository.isMobileNumberExist(mobileNumber);
     }
     
     /**
@@ -215,7 +182,7 @@ public class EmployeeService {
      * @return employee email as a string if it is valid else null.
      */
     public String validateEmail(String email) {
-         return isValidEmail(email) ? email.strip() : null;
+        return employeeValidator.validateEmail(email);
     }
     
     /**
@@ -225,102 +192,181 @@ public class EmployeeService {
      * @return true if specified email is found, otherwise false.
      */ 
     public boolean isEmailExist(String email) {
-        for (Employee employee : employeesDatabase.values()) {
-            if (email.equals(employee.getEmail())) {
-                return true;
-            }
-        }
-        return false;
+        return employeeRepository.isEmailExist(email);
     }
     
     /**
-     * Checks if the specified salary is non negative and atleast 8,000.
-     * Commas are not allowed. Allows one or two decimal points. (e.g) 8000.50,
-     * 30000.6. Trailing and leading spaces are allowed.
-     *
-     * @param salary employee's salary to be validated, as string.
-     * @return true if specified salary is valid, otherwise false.
+     * Validates and parses given employee salary into paise.
+     * 
+     * @param salary the employee salary to be validated.
+     * @return employee salary in paise as a Long if it is valid else null.
      */
-    private boolean isValidSalary(String salary) {
-        return Pattern.matches("^\\s*(([8-9][0-9]{3}|[1-9][0-9]{4,})(\\.[0-9]"
-                               + "{1,2})?)\\s*$", salary);
+    public Long validateSalaryInPaise(String salary) {
+        return employeeValidator.validateSalaryInPaise(salary);
     }
     
     /**
-     * Validates and parses given employee salary.
+     * Validates and parses given employee date of joining.
      * 
+     * @param dateOfJoining the employee date of joining to be validated.
+     * @return employee date of joining as a LocalDate if it is valid else null.
+     */
+    public LocalDate validateDateOfJoining(String dateOfJoining) {
+        return employeeValidator.validateDateOfJoining(dateOfJoining);
+    }
+    
+    /**
+     * Validates all details of a candidate employee record in one call. It
+     * does not check for id, mobile number or email duplication.
+     *
+     * @param id the employee id to be validated.
+     * @param name the employee name to be validated.
+     * @param dateOfBirth the employee date of birth to be validated.
+     * @param gender the employee gender to be validated.
+     * @param mobileNumber the employee mobile number to be validated.
+     * @param email the employee email to be validated.
      * @param salary the employee salary to be validated.
-     * @return employee salary as a Float if it is valid else null.
+     * @param dateOfJoining the employee date of joining to be validated.
+     * @return a Map of every invalid field to its error message, empty if all
+     *         details are valid.
      */
-    public Float validateSalary(String salary) {
-         Float parsedSalary = null;
-         
-         if (isValidSalary(salary)) {
-             try {
-                 parsedSalary = Float.parseFloat(salary.strip());
-             } catch (NumberFormatException exception) {
-                 parsedSalary = null;
-             }
-         }
-         return parsedSalary;
+    public Map<EmployeeField, String> validateEmployee(String id, String name,
+            String dateOfBirth, String gender, String mobileNumber, 
+            String email, String salary, String dateOfJoining) {
+        return employeeValidator.validateEmployee(id, name, dateOfBirth, 
+                gender, mobileNumber, email, salary, dateOfJoining);
     }
     
     /**
-     * Checks if the specified date is in dd-mm-yyyy format and parses the date.
+     * Validates the specified changes of an employee's details and parses
+     * them into a patch, validating each change once.
      *
-     * @param date the date as a string to be parsed .
-     * @return the specified date as LocalDate if it is valid otherwise null.
+     * @param changes the new value of each changed field.
+     * @return the patch of the changes if all are valid, otherwise null.
      */
-    private LocalDate parseDate(String date) {
-        LocalDate parsedDate;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        
-        try {
-            parsedDate = LocalDate.parse(date, formatter);
-        } catch (DateTimeParseException exception) {
-            parsedDate = null;        
-        }
-        return parsedDate;
+    public EmployeePatch validatePatch(Map<EmployeeField, String> changes) {
+        return employeeValidator.validatePatch(changes);
     }
     
     /**
-     * Checks if the specified date of joining is valid. Future dates are
-     * not allowed. it does not accept dates that are older than 43 years 
-     * (excluded) from the present date.
-     * 
-     * @param dateOfJoining employee date of joining to be validated as a 
-     *        LocalDate.
-     * @return true if spcified date is valid else false.
+     * Atomically applies the specified patch to a copy of the specified
+     * employee and replaces the stored employee with the copy, in one
+     * repository operation however many details are changed. Stored
+     * employee objects are never modified, so readers never see a half
+     * applied update. Only the indexes of the changed details are updated
+     * and durable storage logs only the changed details. A patch which
+     * changes nothing leaves the stored employee as it is.
+     * Fails if the mobile number or email is used by another employee.
+     *
+     * @param id the id of the employee to be updated.
+     * @param patch the changed details.
+     * @return true if employee updated successfully else false.
      */
-    private boolean isValidDateOfJoining(LocalDate dateOfJoining) {
-        Period experience = calculateExperience(dateOfJoining);
+    public boolean patchEmployee(int id, EmployeePatch patch) {
+        return patchEmployee(id, employee -> true, patch);
+    }
+    
+    /**
+     * Atomically applies the specified patch to the specified employee only
+     * if it is still stored with the specified version, the one the client
+     * read it with. The version is checked within the same repository
+     * operation as the update, so no lock is held between reading and
+     * writing and concurrent writers never wait for each other. A client
+     * whose read is stale fails fast and can read the employee again and
+     * retry.
+     *
+     * @param id the id of the employee to be updated.
+     * @param version the version the employee was read with.
+     * @param patch the changed details.
+     * @return true if employee updated successfully, false if it is not
+     *         found, its version differs or the patch would duplicate a
+     *         mobile number or email.
+     */
+    public boolean patchEmployeeIfVersion(int id, long version,
+            EmployeePatch patch) {
+        return patchEmployee(id, employee -> version == employee.getVersion(),
+                             patch);
+    }
+    
+    /**
+     * Atomically applies the specified patch to the specified employee if
+     * the stored employee passes the specified condition.
+     *
+     * @param id the id of the employee to be updated.
+     * @param condition the test the stored employee must pass.
+     * @param patch the changed details.
+     * @return true if employee updated successfully or passes the condition
+     *         and the patch changes nothing, otherwise false.
+     */
+    private boolean patchEmployee(int id, Predicate<Employee> condition,
+            EmployeePatch patch) {
+        boolean[] isUnchanged = new boolean[1];
         
-        return ((43 > experience.getYears()) 
-                && (!dateOfJoining.isAfter(LocalDate.now())));
+        return (null != employeeRepository.updateEmployee(id, employee -> {
+                    Employee patchedEmployee;
+                    
+                    if (!condition.test(employee)) {
+                        return employee;
+                    }
+                    patchedEmployee = patch.applyTo(employee);
+                    isUnchanged[0] = (patchedEmployee == employee);
+                    return patchedEmployee;
+                })) || isUnchanged[0];
     }
     
     /**
-     * Validates and parses given employee date of joining.
-     * 
-     * @param dateOfJoining the employee date of joining to be validated.
-     * @return employee date of joining as a LocalDate if it is valid else null.
+     * Converts the specified changes into an updater which applies them to
+     * a copy of the stored employee.
+     *
+     * @param changes the changes to be applied.
+     * @return the updater returning the changed copy.
      */
-    public LocalDate validateDateOfJoining(String dateOfJoining) {
-        LocalDate parsedDateOfJoining = parseDate(dateOfJoining.strip());
+    private static UnaryOperator<Employee> toUpdater(
+            Consumer<Employee> changes) {
+        return employee -> {
+            Employee updatedEmployee = new Employee(employee);
+            
+            changes.accept(updatedEmployee);
+            return updatedEmployee;
+        };
+    }
+    
+    /**
+     * Applies the specified changes to many employees in one call. The
+     * batch is handed to the repository at once, which updates the
+     * employees in parallel where the storage allows it and, for durable
+     * storage, waits for one commit of the whole batch. Each employee is
+     * updated atomically on its own, like with the single field updates.
+     *
+     * @param changes the changes to be applied to each employee id.
+     * @return the ids of the employees not updated because they are not
+     *         found or the changes would duplicate a mobile number or email.
+     */
+    public List<Integer> updateEmployees(
+            Map<Integer, Consumer<Employee>> changes) {
+        Map<Integer, UnaryOperator<Employee>> updaters
+                = new HashMap<>(changes.size() * 2);
         
-        return ((null != parsedDateOfJoining) 
-                && (isValidDateOfJoining(parsedDateOfJoining))) 
-               ? parsedDateOfJoining : null;
+        changes.forEach((id, employeeChanges)
+                -> updaters.put(id, toUpdater(employeeChanges)));
+        return employeeRepository.updateEmployees(updaters);
     }
     
     /**
-     * Calculates experience of the employee from date of joining.
+     * Applies the specified changes to every employee matching the
+     * specified filter in one call, such as a raise for everyone who joined
+     * before a date. The employees are scanned and updated as one batch, in
+     * parallel where the storage allows it and, for durable storage, with
+     * one commit of the whole batch.
      *
-     * @param dateOfJoining employee's date of joining as LocalDate.
-     * @return employee's experience as Period.
+     * @param filter the test an employee must pass to be updated.
+     * @param changes the changes to be applied to each matching employee.
+     * @return the number of employees updated.
      */
-    private Period calculateExperience(LocalDate dateOfJoining) {
-        return dateOfJoining.until(LocalDate.now());
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            Consumer<Employee> changes) {
+        return employeeRepository.updateMatchingEmployees(filter,
+                                                          toUpdater(changes));
     }
     
     /**
@@ -330,7 +376,7 @@ public class EmployeeService {
      * @return true if employee database is empty else false.
      */
     public boolean isEmployeesDatabaseEmpty() {
-        return employeesDatabase.isEmpty();
+        return employeeRepository.isEmpty();
     }
     
     /**
@@ -342,7 +388,7 @@ public class EmployeeService {
     public List<Employee> getEmployee(int id) {
         List<Employee> employees = new ArrayList<Employee>();
         
-        employees.add(employeesDatabase.get(id));
+        employees.add(employeeRepository.getEmployee(id));
         return employees;
     }
     
@@ -352,21 +398,445 @@ public class EmployeeService {
      * @return a List containing all employees.
      */
     public List<Employee> getAllEmployees() {
-        return new ArrayList<Employee>(employeesDatabase.values());
+        return employeeRepository.getAllEmployees();
+    }
+    
+    /**
+     * Opens a snapshot of all employees as they are now. The snapshot reads
+     * a consistent point in time view while employees go on being created,
+     * updated and deleted, without copying them and without blocking the
+     * writers. It must be closed once read.
+     *
+     * @return the opened snapshot.
+     */
+    public EmployeeReadSnapshot openSnapshot() {
+        return versionStore.openSnapshot();
+    }
+    
+    /**
+     * Writes all employees to the specified channel in the specified format,
+     * streaming them from a snapshot without copying them first, so the
+     * export shows one point in time however long it takes.
+     *
+     * @param format the format of the output.
+     * @param channel the channel to write to, left open.
+     * @return the number of employees written.
+     * @throws IOException if the channel cannot be written.
+     */
+    public long exportEmployees(ExportFormat format,
+            WritableByteChannel channel) throws IOException {
+        try (EmployeeReadSnapshot snapshot = openSnapshot()) {
+            return new EmployeeExporter(format, channel)
+                    .export(snapshot.employeeIterator());
+        }
+    }
+   
+    /**
+     * Retrieves one page of employees in id order. The cursor is the id of
+     * the last employee of the previous page, so a page is found in
+     * logarithmic time and employees created or deleted meanwhile do not
+     * shift the following pages.
+     *
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of employees with the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is not valid or the
+     *         page size is not positive.
+     */
+    public EmployeePage getEmployeePage(String cursor, int pageSize) {
+        List<Employee> employees;
+        int lastId = parseCursor(cursor);
+
+        if (0 >= pageSize) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        employees = new ArrayList<>(Math.min(pageSize, 1024));
+
+        while ((employees.size() < pageSize) && (Integer.MAX_VALUE > lastId)) {
+            List<Integer> ids = idIndex.getIdsInRange(lastId + 1,
+                    Integer.MAX_VALUE, pageSize - employees.size());
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            for (Integer id : ids) {
+                Employee employee = employeeRepository.getEmployee(id);
+
+                if (null != employee) {
+                    employees.add(employee);
+                }
+                lastId = id;
+            }
+        }
+        return new EmployeePage(employees, ((Integer.MAX_VALUE > lastId)
+                && !idIndex.getIdsInRange(lastId + 1, Integer.MAX_VALUE, 1)
+                           .isEmpty()) ? Integer.toString(lastId) : null);
+    }
+    
+    /**
+     * Retrieves the employees whose salary is within the specified range, in
+     * ascending order of salary, using the salary index.
+     *
+     * @param minimumPaise the lowest salary of the range in paise,
+     *        inclusive.
+     * @param maximumPaise the highest salary of the range in paise,
+     *        inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesBySalaryRange(long minimumPaise,
+            long maximumPaise, int limit) {
+        List<Employee> employees = getEmployees(salaryIndex.getIdsInRange(
+                minimumPaise, maximumPaise, limit));
+
+        employees.removeIf(employee
+                -> (minimumPaise > employee.getSalaryInPaise())
+                   || (maximumPaise < employee.getSalaryInPaise()));
+        return employees;
+    }
+    
+    /**
+     * Retrieves the employees with the highest salaries, highest first.
+     *
+     * @param count the number of employees to be retrieved.
+     * @return a List of at most count employees.
+     */
+    public List<Employee> getHighestPaidEmployees(int count) {
+        return getEmployees(salaryIndex.getIdsWithHighestKeys(count));
+    }
+    
+    /**
+     * Retrieves the employees with the lowest salaries, lowest first.
+     *
+     * @param count the number of employees to be retrieved.
+     * @return a List of at most count employees.
+     */
+    public List<Employee> getLowestPaidEmployees(int count) {
+        return getEmployees(salaryIndex.getIdsWithLowestKeys(count));
+    }
+    
+    /**
+     * Retrieves the employees born within the specified dates, oldest first.
+     *
+     * @param fromDate the earliest date of birth, inclusive.
+     * @param toDate the latest date of birth, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByDateOfBirthRange(LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        return getEmployeesByDateRange(dateOfBirthIndex,
+                Employee::getDateOfBirth, fromDate, toDate, limit);
+    }
+    
+    /**
+     * Retrieves the employees who joined within the specified dates, earliest
+     * joined first.
+     *
+     * @param fromDate the earliest date of joining, inclusive.
+     * @param toDate the latest date of joining, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByDateOfJoiningRange(LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        return getEmployeesByDateRange(dateOfJoiningIndex,
+                Employee::getDateOfJoining, fromDate, toDate, limit);
+    }
+    
+    /**
+     * Retrieves the employees whose age in completed years is within the
+     * specified range, oldest first. The ages are turned into a date of
+     * birth range, so no age is computed per employee.
+     *
+     * @param minimumAge the lowest age, inclusive.
+     * @param maximumAge the highest age, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByAgeRange(int minimumAge,
+            int maximumAge, int limit) {
+        LocalDate today = dateClock.today();
+        
+        return getEmployeesByDateOfBirthRange(
+                today.minusYears(maximumAge + 1L).plusDays(1),
+                today.minusYears(minimumAge), limit);
+    }
+    
+    /**
+     * Retrieves the employees whose experience in completed years is within
+     * the specified range, most experienced first. The years are turned into
+     * a date of joining range, so no experience is computed per employee.
+     *
+     * @param minimumYears the lowest experience in years, inclusive.
+     * @param maximumYears the highest experience in years, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees.
+     */
+    public List<Employee> getEmployeesByExperienceRange(int minimumYears,
+            int maximumYears, int limit) {
+        LocalDate today = dateClock.today();
+        
+        return getEmployeesByDateOfJoiningRange(
+                today.minusYears(maximumYears + 1L).plusDays(1),
+                today.minusYears(minimumYears), limit);
+    }
+    
+    /**
+     * Retrieves the employees whose date is within the specified dates with
+     * a range scan of the specified date index. Employees whose date changed
+     * since their ids were found are left out.
+     *
+     * @param dateIndex the index of the date, keyed by epoch day.
+     * @param dateFunction the function getting the indexed date.
+     * @param fromDate the earliest date, inclusive.
+     * @param toDate the latest date, inclusive.
+     * @param limit the maximum number of employees to be retrieved.
+     * @return a List of at most limit employees in date order.
+     */
+    private List<Employee> getEmployeesByDateRange(EmployeeIndex dateIndex,
+            Function<Employee, LocalDate> dateFunction, LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        List<Employee> employees = getEmployees(dateIndex.getIdsInRange(
+                (int) fromDate.toEpochDay(), (int) toDate.toEpochDay(), limit));
+        
+        employees.removeIf(employee
+                -> fromDate.isAfter(dateFunction.apply(employee))
+                   || toDate.isBefore(dateFunction.apply(employee)));
+        return employees;
+    }
+    
+    /**
+     * Computes the headcount and salary statistics of the employees grouped
+     * by the specified detail. The store is split into parts which are
+     * reduced in parallel on the common fork-join pool, each into its own
+     * accumulators, and the accumulators of the parts are merged. Employees
+     * written meanwhile may or may not be counted.
+     *
+     * @param grouping the detail to group the employees by.
+     * @return a Map of each group name to its statistics, sorted by name.
+     */
+    public Map<String, SalaryStatistics> getSalaryStatistics(
+            EmployeeGrouping grouping) {
+        LocalDate today = dateClock.today();
+        Map<String, SalaryStatistics> statistics = new TreeMap<>();
+        Map<String, SalaryAccumulator> accumulators = StreamSupport.stream(
+                employeeRepository.employeeSpliterator(), true)
+                .collect(Collector.of(HashMap::new,
+                        (groupAccumulators, employee) -> groupAccumulators
+                                .computeIfAbsent(getGroup(grouping, employee,
+                                                          today),
+                                                 SalaryAccumulator::new)
+                                .add(employee.getSalaryInPaise()),
+                        (groupAccumulators, otherAccumulators) -> {
+                            otherAccumulators.forEach((group, accumulator)
+                                    -> groupAccumulators.merge(group,
+                                            accumulator,
+                                            SalaryAccumulator::merge));
+                            return groupAccumulators;
+                        },
+                        Collector.Characteristics.UNORDERED));
+        
+        accumulators.forEach((group, accumulator)
+                -> statistics.put(group, accumulator.toStatistics()));
+        return statistics;
+    }
+    
+    /**
+     * Gets the name of the group of the specified employee.
+     *
+     * @param grouping the detail to group the employees by.
+     * @param employee the employee to be grouped.
+     * @param today the date ages are computed on.
+     * @return the name of the group, such as male, 2019 or 20-29.
+     */
+    private String getGroup(EmployeeGrouping grouping, Employee employee,
+            LocalDate today) {
+        long ageBand;
+        
+        switch (grouping) {
+            case GENDER:
+                return employee.getGender();
+            case JOINING_YEAR:
+                return Integer.toString(employee.getDateOfJoining().getYear());
+            default:
+                ageBand = ChronoUnit.YEARS.between(employee.getDateOfBirth(),
+                                                   today) / 10 * 10;
+                return ageBand + "-" + (ageBand + 9);
+        }
+    }
+    
+    /**
+     * Searches the employees whose name has a word starting with the
+     * specified text, for autocompletion. A text of several words must
+     * match consecutive words of the name. Results are in id order.
+     *
+     * @param prefix the text the name words start with, in any case.
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of matching employees with the cursor of the next
+     *         page, which may turn out to be empty.
+     * @throws IllegalArgumentException if the prefix is blank, the cursor
+     *         is not valid or the page size is not positive.
+     */
+    public EmployeePage searchEmployeesByNamePrefix(String prefix,
+            String cursor, int pageSize) {
+        String text = normalizeSearchText(prefix);
+        
+        return searchEmployeesByName(nameIndex.findIdsByWordPrefix(
+                        text.split(" ")[0], parseCursor(cursor)),
+                name -> name.startsWith(text) || name.contains(" " + text),
+                pageSize);
+    }
+    
+    /**
+     * Searches the employees whose name contains the specified text.
+     * Results are in id order.
+     *
+     * @param text the text to be found in the names, in any case.
+     * @param cursor the cursor returned with the previous page, or null for
+     *        the first page.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of matching employees with the cursor of the next
+     *         page, which may turn out to be empty.
+     * @throws IllegalArgumentException if the text is blank, the cursor is
+     *         not valid or the page size is not positive.
+     */
+    public EmployeePage searchEmployeesByName(String text, String cursor,
+            int pageSize) {
+        String searchText = normalizeSearchText(text);
+        String longestWord = "";
+        
+        for (String word : searchText.split(" ")) {
+            if (word.length() > longestWord.length()) {
+                longestWord = word;
+            }
+        }
+        return searchEmployeesByName(nameIndex.findIdsByWordSubstring(
+                        longestWord, parseCursor(cursor)),
+                name -> name.contains(searchText), pageSize);
+    }
+    
+    /**
+     * Converts a search text to the form names are stored in, lowercase
+     * with single spaces.
+     *
+     * @param text the text to be converted.
+     * @return the converted text.
+     * @throws IllegalArgumentException if the text is blank.
+     */
+    private String normalizeSearchText(String text) {
+        if (text.isBlank()) {
+            throw new IllegalArgumentException("Search text must not be "
+                                               + "blank");
+        }
+        return text.strip().toLowerCase().replaceAll("\\s+", " ");
+    }
+    
+    /**
+     * Retrieves one page of the candidate employees whose name matches.
+     *
+     * @param candidateIds the ids of the candidates in ascending order.
+     * @param nameMatcher the test the name of a result must pass.
+     * @param pageSize the maximum number of employees in the page.
+     * @return the page of matching employees.
+     * @throws IllegalArgumentException if the page size is not positive.
+     */
+    private EmployeePage searchEmployeesByName(Iterator<Integer> candidateIds,
+            Predicate<String> nameMatcher, int pageSize) {
+        List<Employee> employees;
+        int lastId = 0;
+        
+        if (0 >= pageSize) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        employees = new ArrayList<>(Math.min(pageSize, 1024));
+        
+        while ((employees.size() < pageSize) && candidateIds.hasNext()) {
+            Employee employee = employeeRepository.getEmployee(
+                    lastId = candidateIds.next());
+            
+            if ((null != employee) && nameMatcher.test(employee.getName())) {
+                employees.add(employee);
+            }
+        }
+        return new EmployeePage(employees, candidateIds.hasNext()
+                                           ? Integer.toString(lastId) : null);
+    }
+    
+    /**
+     * Retrieves the specified employees, skipping the ones deleted since
+     * their ids were found.
+     *
+     * @param ids the ids of the employees to be retrieved.
+     * @return a List of the employees in the order of the ids.
+     */
+    private List<Employee> getEmployees(List<Integer> ids) {
+        List<Employee> employees = new ArrayList<>(ids.size());
+        
+        for (Integer id : ids) {
+            Employee employee = employeeRepository.getEmployee(id);
+            
+            if (null != employee) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+    
+    /**
+     * Parses a page cursor.
+     *
+     * @param cursor the cursor to be parsed, or null for the first page.
+     * @return the id after which the page starts.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    private int parseCursor(String cursor) {
+        if (null == cursor) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(cursor);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor);
+        }
     }
    
     /**
      * Creates a new employee with specified details and stores in the database.
+     * Fails if the id, mobile number or email is already used.
      * 
+     * @param salaryInPaise the salary of the employee in paise.
      * @return true if employee created successfully else false.
      */
     public boolean createEmployee (int id,String name,LocalDate dateOfBirth,
-            String gender, long mobileNumber, String email, float salary, 
+            String gender, long mobileNumber, String email, long salaryInPaise,
             LocalDate dateOfJoining) {
-            
-        return (null == employeesDatabase.put(id, new Employee(id, name, 
-                dateOfBirth, gender, mobileNumber, email, salary, 
-                dateOfJoining)));
+        return employeeRepository.insertEmployee(new Employee(id, name, 
+                (int) dateOfBirth.toEpochDay(), Gender.fromLabel(gender),
+                mobileNumber, email, salaryInPaise,
+                (int) dateOfJoining.toEpochDay()));
+    }
+    
+    /**
+     * Imports employees in bulk from the specified CSV file. Rows are
+     * validated with the same rules as single employees and rows using an
+     * id, mobile number or email of an earlier row or a stored employee are
+     * rejected.
+     *
+     * @param csvFile the file holding the employees to be imported.
+     * @param errorFile the file to write the rejected rows to.
+     * @return the number of accepted and rejected rows.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public ImportSummary importEmployees(Path csvFile, Path errorFile)
+            throws IOException {
+        return new EmployeeImporter(employeeValidator, employeeRepository)
+                .importEmployees(csvFile, errorFile);
     }
    
     /**
@@ -377,10 +847,10 @@ public class EmployeeService {
      * @return true if employee name updated successfully else false.
      */
     public boolean updateName(int id, String name) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setName(name);
-         return (null != employeesDatabase.replace(id, employee));
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setName(name);
+         return patchEmployee(id, patch);
     } 
    
     /**
@@ -391,10 +861,10 @@ public class EmployeeService {
      * @return true if employee date of birth updated successfully else false.
      */
     public boolean updateDateOfBirth(int id, LocalDate dateOfBirth) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setDateOfBirth(dateOfBirth);
-         return (null != employeesDatabase.replace(id, employee));
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setDateOfBirth(dateOfBirth);
+         return patchEmployee(id, patch);
     }
    
     /**
@@ -405,52 +875,54 @@ public class EmployeeService {
      * @return true if employee gender updated successfully else false.
      */
     public boolean updateGender(int id, String gender) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setGender(gender);
-         return (null != employeesDatabase.replace(id, employee));
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setGender(gender);
+         return patchEmployee(id, patch);
     } 
    
     /**
      * Updates specified employee's mobile number and stores in the database.
+     * Fails if the mobile number is used by another employee.
      *
      * @param id employee id to be updated.
      * @param mobileNumber the employee's new moible number to update.
      * @return true if employee mobile number updated successfully else false.
      */
     public boolean updateMobileNumber(int id, long mobileNumber) {
-         Employee employee = employeesDatabase.get(id);
+         EmployeePatch patch = new EmployeePatch();
          
-         employee.setMobileNumber(mobileNumber);
-         return (null != employeesDatabase.replace(id, employee));
+         patch.setMobileNumber(mobileNumber);
+         return patchEmployee(id, patch);
     }
    
     /**
      * Updates specified employee's email and stores in the database.
+     * Fails if the email is used by another employee.
      *
      * @param id employee id to be updated.
      * @param email the employee's new email to update.
      * @return true if employee email updated successfully else false.
      */
     public boolean updateEmail(int id, String email) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setEmail(email);
-         return (null != employeesDatabase.replace(id, employee));
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setEmail(email);
+         return patchEmployee(id, patch);
     }
    
     /**
      * Updates specified employee's salary and stores in the database.
      *
      * @param id employee id to be updated.
-     * @param salary the employee's new salary to update.
+     * @param salaryInPaise the employee's new salary in paise to update.
      * @return true if employee salary updated successfully else false.
      */
-    public boolean updateSalary(int id, float salary) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setSalary(salary);
-         return (null != employeesDatabase.replace(id, employee));
+    public boolean updateSalary(int id, long salaryInPaise) {
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setSalaryInPaise(salaryInPaise);
+         return patchEmployee(id, patch);
     }
    
     /**
@@ -461,14 +933,15 @@ public class EmployeeService {
      * @return true if employee date of joining updated successfully else false.
      */
    public boolean updateDateOfJoining(int id, LocalDate dateOfJoining) {
-         Employee employee = employeesDatabase.get(id);
+         EmployeePatch patch = new EmployeePatch();
          
-         employee.setDateOfJoining(dateOfJoining);
-         return (null != employeesDatabase.replace(id, employee));
+         patch.setDateOfJoining(dateOfJoining);
+         return patchEmployee(id, patch);
     }
    
     /** 
      * Updates all details of the specified employee and stores in the database.
+     * Fails if the mobile number or email is used by another employee.
      *
      * @param id employee's id to be updated.
      * @param name the name of the employee to update.
@@ -476,25 +949,24 @@ public class EmployeeService {
      * @param dateOfBirth the date of birth of the employee to update.
      * @param mobileNumber the mobile number of the employee to update.
      * @param email the email address of the employee to update.
-     * @param salary the salary of the employee to update.
+     * @param salaryInPaise the salary of the employee in paise to update.
      * @param dateOfJoining the employee's date of joining to update.
      * @return true if employee updated successfully otherwise false.
      */
  
      public boolean updateAllDetails(int id, String name,LocalDate dateOfBirth,
-             String gender, long mobileNumber, String email, float salary, 
-             LocalDate dateOfJoining) {
-         Employee employee = employeesDatabase.get(id);
-        
-         employee.setName(name);
-         employee.setGender(gender);
-         employee.setDateOfBirth(dateOfBirth);
-         employee.setMobileNumber(mobileNumber);
-         employee.setEmail(email);
-         employee.setSalary(salary);
-         employee.setDateOfJoining(dateOfJoining);
-        
-         return (null != employeesDatabase.replace(id, employee));
+             String gender, long mobileNumber, String email,
+             long salaryInPaise, LocalDate dateOfJoining) {
+         EmployeePatch patch = new EmployeePatch();
+         
+         patch.setName(name);
+         patch.setGender(gender);
+         patch.setDateOfBirth(dateOfBirth);
+         patch.setMobileNumber(mobileNumber);
+         patch.setEmail(email);
+         patch.setSalaryInPaise(salaryInPaise);
+         patch.setDateOfJoining(dateOfJoining);
+         return patchEmployee(id, patch);
     }
             
     /**
@@ -504,11 +976,26 @@ public class EmployeeService {
      * @return true if employee deleted successfully else false.
      */
     public boolean deleteEmployee(int id) {
-         return (null != employeesDatabase.remove(id));
+         return employeeRepository.deleteEmployee(id);
+    }
+    
+    /**
+     * Deletes the specified employee only if it is still stored with the
+     * specified version, the one the client read it with, so a deletion
+     * based on a stale read fails fast instead of removing an employee
+     * changed meanwhile.
+     *
+     * @param id employee id to be deleted.
+     * @param version the version the employee was read with.
+     * @return true if employee deleted successfully, false if it is not
+     *         found or its version differs.
+     */
+    public boolean deleteEmployeeIfVersion(int id, long version) {
+         return employeeRepository.deleteEmployee(id, version);
     }
    
     /** Deletes all employees from the database. */
     public void deleteAllEmployee() {
-         employeesDatabase.clear();  
+         employeeRepository.deleteAllEmployees();
     }
 }
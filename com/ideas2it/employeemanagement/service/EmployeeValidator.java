@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.service;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.util.DateClock;
+
+/**
+ * The EmployeeValidator class contains validation rules for employee details.
+ * Every rule is compiled once when the class is loaded. The validator holds no
+ * mutable state, so a single instance can be shared by any number of threads.
+ * Ages and experience are computed on the date told by its clock.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeValidator {
+    private static final DateTimeFormatter DATE_FORMATTER
+            = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final Pattern ID_PATTERN
+            = Pattern.compile("(^\\s*[1-9][0-9]*\\s*)$");
+    private static final Pattern NAME_PATTERN = Pattern.compile(
+            "^(\\s*[a-zA-Z]{3,20}\\s*)$|^((\\s*[a-zA-Z]{3,20}) ([a-zA-Z]"
+            + "{2,20})\\s*)$|^((\\s*[a-zA-Z]{3,20}) ([a-zA-Z]{2,20}) "
+            + "([a-zA-Z]){2,20}\\s*)$");
+    private static final Pattern MOBILE_NUMBER_PATTERN
+            = Pattern.compile("^(\\s*[6-9][0-9]{9}\\s*)$");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^\\s*(([a-z0-9][\\.]?[\\-]?[_]?([a-z0-9][\\.]?[\\-]?[_]?){0,50}"
+            + "[a-z0-9]@[a-z0-9][a-z0-9_\\-]{0,30}[a-z0-9]([\\.][a-z]{2,30})"
+            + "{1,3})\\s*$)");
+    private static final Pattern SALARY_PATTERN = Pattern.compile(
+            "^\\s*(([8-9][0-9]{3}|[1-9][0-9]{4,})(\\.[0-9]{1,2})?)\\s*$");
+    private final DateClock dateClock;
+
+    /** Initializes the validator with the system clock. */
+    public EmployeeValidator() {
+        this(DateClock.systemClock());
+    }
+
+    /**
+     * Initializes the validator with the specified clock.
+     *
+     * @param dateClock the clock telling the date ages are computed on.
+     */
+    public EmployeeValidator(DateClock dateClock) {
+        this.dateClock = dateClock;
+    }
+
+    /**
+     * Checks if the specified employee id is a non negative integer
+     * (0 excluded). Allows leading and trailing spaces. Leading zeros are not
+     * allowed (e.g) 001. Signed integers are not considered valid (e.g) +1, -9.
+     * It does not check for id duplication.
+     *
+     * @param the employee id to be validated as a string.
+     * @return true if specified employee id is valid, otherwise false.
+     */
+    private boolean isValidId(String id) {
+        return ID_PATTERN.matcher(id).matches();
+    }
+
+    /**
+     * Validates and parses given employee id.
+     *
+     * @param id the employee id to be validated.
+     * @return employee id as a Integer if it is valid else null.
+     */
+    public Integer validateId(String id) {
+        Integer parsedId = null;
+
+        if (isValidId(id)) {
+            try {
+                parsedId = Integer.parseInt(id.strip());
+            } catch (NumberFormatException exception) {
+                parsedId = null;
+            }
+        }
+        return parsedId;
+    }
+
+    /**
+     * Checks if the specified name is valid. Middle name and last name are
+     * optional. First name can have 3 to 20 letters, middle and last name
+     * can have 2 to 20 letters. Leading and trailing spaces are allowed.
+     *
+     * @param name name of the employee to be validated as a string.
+     * @return true if specified name is valid, otherwise false.
+     */
+    private boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * Validates the specified employee name and converts it to lowercase.
+     *
+     * @param name the employee name to be validated.
+     * @return employee name as a string if it is valid else null.
+     */
+    public String validateName(String name) {
+        return isValidName(name) ? name.strip().toLowerCase() : null;
+    }
+
+    /**
+     * Checks if the employee's age is above 18 (inclusive) and below
+     * 60 (inclusive).
+     *
+     * @param dateOfBirth the employee's date of birth as a LocalDate.
+     * @return true if specified date of birth is valid otherwise false.
+     */
+    private boolean isValidDateOfBirth(LocalDate dateOfBirth) {
+        int age = dateOfBirth.until(dateClock.today()).getYears();
+
+        return ((18 <= age) && (60 >= age));
+    }
+
+    /**
+     * Validates and parses given employee date of birth.
+     *
+     * @param dateOfBirth the employee date of birth to be validated.
+     * @return employee date of birth as a LocalDate if it is valid else null.
+     */
+    public LocalDate validateDateOfBirth(String dateOfBirth) {
+         LocalDate parsedDateOfBirth = parseDate(dateOfBirth.strip());
+
+         return ((null != parsedDateOfBirth)
+                 && (isValidDateOfBirth(parsedDateOfBirth))) ? parsedDateOfBirth
+                                                             : null;
+    }
+
+    /**
+     * Checks if the specified gender is valid(male/female/others).
+     *
+     * @param gender employee's gender as string value.
+     * @return true if specified gender is valid, otherwise false.
+     */
+    private boolean isValidGender(String gender) {
+        return ("male".equals(gender) || "female".equals(gender)
+                || "others".equals(gender));
+    }
+
+    /**
+     * Validates the specified employee gender and converts it to lowercase.
+     *
+     * @param gender the employee gender to be validated.
+     * @return employee gender as a string if it is valid else null.
+     */
+    public String validateGender(String gender) {
+        gender = gender.strip().toLowerCase();
+        return isValidGender(gender) ? gender : null;
+    }
+
+    /**
+     * Checks if the given mobile number is a 10 digit non negative integer
+     * Starting digit must be in range 6 to 9.
+     *
+     * @param mobileNumber the employee mobile number as string value.
+     * @return true if specified mobile number is valid otherwise false.
+     *
+     */
+    private boolean isValidMobileNumber(String mobileNumber) {
+        return MOBILE_NUMBER_PATTERN.matcher(mobileNumber).matches();
+    }
+
+    /**
+     * Validates and parses given employee mobile number.
+     *
+     * @param mobileNumber the employee mobile number to be validated.
+     * @return employee mobile number as a Long if it is valid else null.
+     */
+    public Long validateMobileNumber(String mobileNumber) {
+         Long parsedMobileNumber = null;
+
+         if (isValidMobileNumber(mobileNumber)) {
+             try {
+                 parsedMobileNumber = Long.parseLong(mobileNumber.strip());
+             } catch (NumberFormatException exception) {
+                 parsedMobileNumber = null;
+             }
+         }
+         return parsedMobileNumber;
+    }
+
+    /**
+     * Checks if the given email is valid. Capital letters are not allowed.
+     * '-', '_', '.' are allowed special characters. Same type of special
+     * characters cannot be consecutive (e.g) siva..3@gmail.com. Email address
+     * must start and end with a letter or number. There must be atleast 3
+     * characters and maximum 53 characters. Leading and Trailing spaces are
+     * allowed. After '@' atleast 1 domain name and atmost 3 domain names
+     * allowed.
+     *
+     * @param email employee's email to be validated as string value.
+     * @return true if specified email is valid, otherwise false.
+     */
+    private boolean isValidEmail(String email) {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    /**
+     * Validates the given employee email.
+     *
+     * @param email the employee email to be validated.
+     * @return employee email as a string if it is valid else null.
+     */
+    public String validateEmail(String email) {
+         return isValidEmail(email) ? email.strip() : null;
+    }
+
+    /**
+     * Checks if the specified salary is non negative and atleast 8,000.
+     * Commas are not allowed. Allows one or two decimal points. (e.g) 8000.50,
+     * 30000.6. Trailing and leading spaces are allowed.
+     *
+     * @param salary employee's salary to be validated, as string.
+     * @return true if specified salary is valid, otherwise false.
+     */
+    private boolean isValidSalary(String salary) {
+        return SALARY_PATTERN.matcher(salary).matches();
+    }
+
+    /**
+     * Validates and parses given employee salary into paise. The digits are
+     * parsed exactly, so no paise are lost however large the salary is.
+     *
+     * @param salary the employee salary to be validated.
+     * @return employee salary in paise as a Long if it is valid else null.
+     */
+    public Long validateSalaryInPaise(String salary) {
+         Long parsedSalary = null;
+
+         if (isValidSalary(salary)) {
+             String digits = salary.strip();
+             int pointIndex = digits.indexOf('.');
+             String rupees = (0 > pointIndex) ? digits
+                                              : digits.substring(0, pointIndex);
+             String paise = (0 > pointIndex) ? "00"
+                     : (digits.substring(pointIndex + 1) + "0").substring(0, 2);
+
+             try {
+                 parsedSalary = Math.addExact(Math.multiplyExact(
+                         Long.parseLong(rupees), 100L),
+                         Integer.parseInt(paise));
+             } catch (NumberFormatException | ArithmeticException exception) {
+                 parsedSalary = null;
+             }
+         }
+         return parsedSalary;
+    }
+
+    /**
+     * Checks if the specified date is in dd-mm-yyyy format and parses the date.
+     *
+     * @param date the date as a string to be parsed .
+     * @return the specified date as LocalDate if it is valid otherwise null.
+     */
+    private LocalDate parseDate(String date) {
+        LocalDate parsedDate;
+
+        try {
+            parsedDate = LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException exception) {
+            parsedDate = null;
+        }
+        return parsedDate;
+    }
+
+    /**
+     * Checks if the specified date of joining is valid. Future dates are
+     * not allowed. it does not accept dates that are older than 43 years
+     * (excluded) from the present date.
+     *
+     * @param dateOfJoining employee date of joining to be validated as a
+     *        LocalDate.
+     * @return true if spcified date is valid else false.
+     */
+    private boolean isValidDateOfJoining(LocalDate dateOfJoining) {
+        Period experience = calculateExperience(dateOfJoining);
+
+        return ((43 > experience.getYears())
+                && (!dateOfJoining.isAfter(dateClock.today())));
+    }
+
+    /**
+     * Validates and parses given employee date of joining.
+     *
+     * @param dateOfJoining the employee date of joining to be validated.
+     * @return employee date of joining as a LocalDate if it is valid else null.
+     */
+    public LocalDate validateDateOfJoining(String dateOfJoining) {
+        LocalDate parsedDateOfJoining = parseDate(dateOfJoining.strip());
+
+        return ((null != parsedDateOfJoining)
+                && (isValidDateOfJoining(parsedDateOfJoining)))
+               ? parsedDateOfJoining : null;
+    }
+
+    /**
+     * Calculates experience of the employee from date of joining.
+     *
+     * @param dateOfJoining employee's date of joining as LocalDate.
+     * @return employee's experience as Period.
+     */
+    private Period calculateExperience(LocalDate dateOfJoining) {
+        return dateOfJoining.until(dateClock.today());
+    }
+
+    /**
+     * Validates all details of a candidate employee record at once. A missing
+     * detail is reported as an error of that field.
+     *
+     * @param id the employee id to be validated.
+     * @param name the employee name to be validated.
+     * @param dateOfBirth the employee date of birth to be validated.
+     * @param gender the employee gender to be validated.
+     * @param mobileNumber the employee mobile number to be validated.
+     * @param email the employee email to be validated.
+     * @param salary the employee salary to be validated.
+     * @param dateOfJoining the employee date of joining to be validated.
+     * @return a Map of every invalid field to its error message, empty if all
+     *         details are valid.
+     */
+    public Map<EmployeeField, String> validateEmployee(String id, String name,
+            String dateOfBirth, String gender, String mobileNumber,
+            String email, String salary, String dateOfJoining) {
+        Map<EmployeeField, String> errors = new EnumMap<>(EmployeeField.class);
+
+        if ((null == id) || (null == validateId(id))) {
+            errors.put(EmployeeField.ID, "Id must be a positive integer "
+                       + "without leading zeros");
+        }
+
+        if ((null == name) || (null == validateName(name))) {
+            errors.put(EmployeeField.NAME, "Name must have 1 to 3 words of "
+                       + "letters only");
+        }
+
+        if ((null == dateOfBirth)
+                || (null == validateDateOfBirth(dateOfBirth))) {
+            errors.put(EmployeeField.DATE_OF_BIRTH, "Date of birth must be in "
+                       + "DD-MM-YYYY format and age must be 18 to 60");
+        }
+
+        if ((null == gender) || (null == validateGender(gender))) {
+            errors.put(EmployeeField.GENDER, "Gender must be male, female or"
+                       + " others");
+        }
+
+        if ((null == mobileNumber)
+                || (null == validateMobileNumber(mobileNumber))) {
+            errors.put(EmployeeField.MOBILE_NUMBER, "Mobile number must be 10"
+                       + " digits starting with 6 to 9");
+        }
+
+        if ((null == email) || (null == validateEmail(email))) {
+            errors.put(EmployeeField.EMAIL, "Email is not valid");
+        }
+
+        if ((null == salary) || (null == validateSalaryInPaise(salary))) {
+            errors.put(EmployeeField.SALARY, "Salary must be atleast 8000 with"
+                       + " at most 2 decimal places");
+        }
+
+        if ((null == dateOfJoining)
+                || (null == validateDateOfJoining(dateOfJoining))) {
+            errors.put(EmployeeField.DATE_OF_JOINING, "Date of joining must be"
+                       + " in DD-MM-YYYY format, not in future and not older "
+                       + "than 42 years");
+        }
+        return errors;
+    }
+
+    /**
+     * Validates the specified changes of an employee's details and parses
+     * them into a patch. Every change is validated once with the rules of
+     * its field. The id cannot be changed.
+     *
+     * @param changes the new value of each changed field.
+     * @return the patch holding the parsed changes if all are valid, else
+     *         null.
+     */
+    public EmployeePatch validatePatch(Map<EmployeeField, String> changes) {
+        EmployeePatch patch = new EmployeePatch();
+
+        for (Map.Entry<EmployeeField, String> change : changes.entrySet()) {
+            String value = change.getValue();
+
+            if (null == value) {
+                return null;
+            }
+
+            switch (change.getKey()) {
+                case NAME:
+                    patch.setName(validateName(value));
+                    break;
+                case DATE_OF_BIRTH:
+                    patch.setDateOfBirth(validateDateOfBirth(value));
+                    break;
+                case GENDER:
+                    patch.setGender(validateGender(value));
+                    break;
+                case MOBILE_NUMBER:
+                    patch.setMobileNumber(validateMobileNumber(value));
+                    break;
+                case EMAIL:
+                    patch.setEmail(validateEmail(value));
+                    break;
+                case SALARY:
+                    patch.setSalaryInPaise(validateSalaryInPaise(value));
+                    break;
+                case DATE_OF_JOINING:
+                    patch.setDateOfJoining(validateDateOfJoining(value));
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return (patch.getChangedFields().size() == changes.size()) ? patch
+                                                                   : null;
+    }
+}
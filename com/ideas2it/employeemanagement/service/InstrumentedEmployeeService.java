@@ -0,0 +1,771 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.ExportFormat;
+import com.ideas2it.employeemanagement.model.ImportSummary;
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
+import com.ideas2it.employeemanagement.repository.EmployeeReadSnapshot;
+import com.ideas2it.employeemanagement.repository.EmployeeRepository;
+import com.ideas2it.employeemanagement.util.DateClock;
+import com.ideas2it.employeemanagement.util.OperationMetrics;
+
+/**
+ * The InstrumentedEmployeeService class is an EmployeeService which
+ * records the call count and latency of every public operation. Each
+ * operation has its own OperationMetrics, so recording a call takes two
+ * clock reads and a few atomic increments, with no lock and no allocation.
+ * A call is recorded when it returns or throws. Operations which call
+ * other public operations record those calls too.
+ *
+ * <p>The metrics can be registered as MXBeans named
+ * com.ideas2it.employeemanagement:type=EmployeeService,name=operation, and
+ * printed as a text report.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class InstrumentedEmployeeService extends EmployeeService {
+    private static final String OBJECT_NAME_PREFIX
+            = "com.ideas2it.employeemanagement:type=EmployeeService,name=";
+    private final List<OperationMetrics> operationMetrics = new ArrayList<>();
+    private final OperationMetrics isEmployeeExistMetrics
+            = createMetrics("isEmployeeExist");
+    private final OperationMetrics validateIdMetrics
+            = createMetrics("validateId");
+    private final OperationMetrics validateNameMetrics
+            = createMetrics("validateName");
+    private final OperationMetrics validateDateOfBirthMetrics
+            = createMetrics("validateDateOfBirth");
+    private final OperationMetrics validateGenderMetrics
+            = createMetrics("validateGender");
+    private final OperationMetrics validateMobileNumberMetrics
+            = createMetrics("validateMobileNumber");
+    private final OperationMetrics isMobileNumberExistMetrics
+            = createMetrics("isMobileNumberExist");
+    private final OperationMetrics validateEmailMetrics
+            = createMetrics("validateEmail");
+    private final OperationMetrics isEmailExistMetrics
+            = createMetrics("isEmailExist");
+    private final OperationMetrics validateSalaryInPaiseMetrics
+            = createMetrics("validateSalaryInPaise");
+    private final OperationMetrics validateDateOfJoiningMetrics
+            = createMetrics("validateDateOfJoining");
+    private final OperationMetrics validateEmployeeMetrics
+            = createMetrics("validateEmployee");
+    private final OperationMetrics validatePatchMetrics
+            = createMetrics("validatePatch");
+    private final OperationMetrics isEmployeesDatabaseEmptyMetrics
+            = createMetrics("isEmployeesDatabaseEmpty");
+    private final OperationMetrics getEmployeeMetrics
+            = createMetrics("getEmployee");
+    private final OperationMetrics getAllEmployeesMetrics
+            = createMetrics("getAllEmployees");
+    private final OperationMetrics openSnapshotMetrics
+            = createMetrics("openSnapshot");
+    private final OperationMetrics exportEmployeesMetrics
+            = createMetrics("exportEmployees");
+    private final OperationMetrics getEmployeePageMetrics
+            = createMetrics("getEmployeePage");
+    private final OperationMetrics getEmployeesBySalaryRangeMetrics
+            = createMetrics("getEmployeesBySalaryRange");
+    private final OperationMetrics getHighestPaidEmployeesMetrics
+            = createMetrics("getHighestPaidEmployees");
+    private final OperationMetrics getLowestPaidEmployeesMetrics
+            = createMetrics("getLowestPaidEmployees");
+    private final OperationMetrics getEmployeesByDateOfBirthRangeMetrics
+            = createMetrics("getEmployeesByDateOfBirthRange");
+    private final OperationMetrics getEmployeesByDateOfJoiningRangeMetrics
+            = createMetrics("getEmployeesByDateOfJoiningRange");
+    private final OperationMetrics getEmployeesByAgeRangeMetrics
+            = createMetrics("getEmployeesByAgeRange");
+    private final OperationMetrics getEmployeesByExperienceRangeMetrics
+            = createMetrics("getEmployeesByExperienceRange");
+    private final OperationMetrics getSalaryStatisticsMetrics
+            = createMetrics("getSalaryStatistics");
+    private final OperationMetrics searchEmployeesByNamePrefixMetrics
+            = createMetrics("searchEmployeesByNamePrefix");
+    private final OperationMetrics searchEmployeesByNameMetrics
+            = createMetrics("searchEmployeesByName");
+    private final OperationMetrics createEmployeeMetrics
+            = createMetrics("createEmployee");
+    private final OperationMetrics importEmployeesMetrics
+            = createMetrics("importEmployees");
+    private final OperationMetrics patchEmployeeMetrics
+            = createMetrics("patchEmployee");
+    private final OperationMetrics patchEmployeeIfVersionMetrics
+            = createMetrics("patchEmployeeIfVersion");
+    private final OperationMetrics updateNameMetrics
+            = createMetrics("updateName");
+    private final OperationMetrics updateDateOfBirthMetrics
+            = createMetrics("updateDateOfBirth");
+    private final OperationMetrics updateGenderMetrics
+            = createMetrics("updateGender");
+    private final OperationMetrics updateMobileNumberMetrics
+            = createMetrics("updateMobileNumber");
+    private final OperationMetrics updateEmailMetrics
+            = createMetrics("updateEmail");
+    private final OperationMetrics updateSalaryMetrics
+            = createMetrics("updateSalary");
+    private final OperationMetrics updateDateOfJoiningMetrics
+            = createMetrics("updateDateOfJoining");
+    private final OperationMetrics updateAllDetailsMetrics
+            = createMetrics("updateAllDetails");
+    private final OperationMetrics updateEmployeesMetrics
+            = createMetrics("updateEmployees");
+    private final OperationMetrics updateMatchingEmployeesMetrics
+            = createMetrics("updateMatchingEmployees");
+    private final OperationMetrics deleteEmployeeMetrics
+            = createMetrics("deleteEmployee");
+    private final OperationMetrics deleteEmployeeIfVersionMetrics
+            = createMetrics("deleteEmployeeIfVersion");
+    private final OperationMetrics deleteAllEmployeeMetrics
+            = createMetrics("deleteAllEmployee");
+
+    /** Initializes the service with the repository of the application. */
+    public InstrumentedEmployeeService() {
+        super();
+    }
+
+    /**
+     * Initializes the service with the specified repository.
+     *
+     * @param employeeRepository the repository to store employees in.
+     */
+    public InstrumentedEmployeeService(EmployeeRepository employeeRepository) {
+        super(employeeRepository);
+    }
+
+    /**
+     * Initializes the service with the specified repository and clock.
+     *
+     * @param employeeRepository the repository to store employees in.
+     * @param dateClock the clock telling the date ages and experience are
+     *        computed on.
+     */
+    public InstrumentedEmployeeService(EmployeeRepository employeeRepository,
+            DateClock dateClock) {
+        super(employeeRepository, dateClock);
+    }
+
+    /**
+     * Creates the metrics of the specified operation and adds them to the
+     * metrics of the service.
+     *
+     * @param operation the name of the operation.
+     * @return the metrics of the operation.
+     */
+    private OperationMetrics createMetrics(String operation) {
+        OperationMetrics metrics = new OperationMetrics(operation);
+
+        operationMetrics.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics of every operation with the platform MBean
+     * server, replacing the metrics registered by an earlier service.
+     *
+     * @throws IllegalStateException if the metrics cannot be registered.
+     */
+    public void registerMetrics() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            for (OperationMetrics metrics : operationMetrics) {
+                ObjectName name = new ObjectName(OBJECT_NAME_PREFIX
+                                                 + metrics.getOperation());
+
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException exception) {
+            throw new IllegalStateException("Metrics could not be registered",
+                                            exception);
+        }
+    }
+
+    /**
+     * Formats the metrics of the operations called so far as a table, one
+     * line per operation with latencies in microseconds.
+     *
+     * @return the metrics report.
+     */
+    public String getMetricsReport() {
+        StringBuilder report = new StringBuilder(4096);
+
+        report.append(String.format("%-32s %10s %10s %10s %10s %10s %10s "
+                + "%10s %10s%n", "Operation", "Count", "Per Second", "Mean",
+                "P50", "P90", "P99", "P99.9", "Max"));
+
+        for (OperationMetrics metrics : operationMetrics) {
+            if (0 < metrics.getCount()) {
+                report.append(String.format("%-32s %10d %10.1f %10.1f %10.1f "
+                        + "%10.1f %10.1f %10.1f %10.1f%n",
+                        metrics.getOperation(), metrics.getCount(),
+                        metrics.getThroughput(), metrics.getMeanLatency(),
+                        metrics.getMedianLatency(),
+                        metrics.getNinetiethPercentileLatency(),
+                        metrics.getNinetyNinthPercentileLatency(),
+                        metrics.getNinetyNinePointNinthPercentileLatency(),
+                        metrics.getMaximumLatency()));
+            }
+        }
+        return report.toString();
+    }
+
+    @Override
+    public boolean isEmployeeExist(int id) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.isEmployeeExist(id);
+        } finally {
+            isEmployeeExistMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public Integer validateId(String id) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateId(id);
+        } finally {
+            validateIdMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public String validateName(String name) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateName(name);
+        } finally {
+            validateNameMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public LocalDate validateDateOfBirth(String dateOfBirth) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateDateOfBirth(dateOfBirth);
+        } finally {
+            validateDateOfBirthMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public String validateGender(String gender) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateGender(gender);
+        } finally {
+            validateGenderMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public Long validateMobileNumber(String mobileNumber) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateMobileNumber(mobileNumber);
+        } finally {
+            validateMobileNumberMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean isMobileNumberExist(long mobileNumber) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.isMobileNumberExist(mobileNumber);
+        } finally {
+            isMobileNumberExistMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public String validateEmail(String email) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateEmail(email);
+        } finally {
+            validateEmailMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean isEmailExist(String email) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.isEmailExist(email);
+        } finally {
+            isEmailExistMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public Long validateSalaryInPaise(String salary) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateSalaryInPaise(salary);
+        } finally {
+            validateSalaryInPaiseMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public LocalDate validateDateOfJoining(String dateOfJoining) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateDateOfJoining(dateOfJoining);
+        } finally {
+            validateDateOfJoiningMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public Map<EmployeeField, String> validateEmployee(String id, String name,
+            String dateOfBirth, String gender, String mobileNumber,
+            String email, String salary, String dateOfJoining) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validateEmployee(id, name, dateOfBirth, gender,
+                    mobileNumber, email, salary, dateOfJoining);
+        } finally {
+            validateEmployeeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public EmployeePatch validatePatch(Map<EmployeeField, String> changes) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.validatePatch(changes);
+        } finally {
+            validatePatchMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean isEmployeesDatabaseEmpty() {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.isEmployeesDatabaseEmpty();
+        } finally {
+            isEmployeesDatabaseEmptyMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployee(int id) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployee(id);
+        } finally {
+            getEmployeeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getAllEmployees();
+        } finally {
+            getAllEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public EmployeeReadSnapshot openSnapshot() {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.openSnapshot();
+        } finally {
+            openSnapshotMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public long exportEmployees(ExportFormat format,
+            WritableByteChannel channel) throws IOException {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.exportEmployees(format, channel);
+        } finally {
+            exportEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public EmployeePage getEmployeePage(String cursor, int pageSize) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeePage(cursor, pageSize);
+        } finally {
+            getEmployeePageMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesBySalaryRange(long minimumPaise,
+            long maximumPaise, int limit) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeesBySalaryRange(minimumPaise, maximumPaise,
+                    limit);
+        } finally {
+            getEmployeesBySalaryRangeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getHighestPaidEmployees(int count) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getHighestPaidEmployees(count);
+        } finally {
+            getHighestPaidEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getLowestPaidEmployees(int count) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getLowestPaidEmployees(count);
+        } finally {
+            getLowestPaidEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByDateOfBirthRange(LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeesByDateOfBirthRange(fromDate, toDate,
+                    limit);
+        } finally {
+            getEmployeesByDateOfBirthRangeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByDateOfJoiningRange(LocalDate fromDate,
+            LocalDate toDate, int limit) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeesByDateOfJoiningRange(fromDate, toDate,
+                    limit);
+        } finally {
+            getEmployeesByDateOfJoiningRangeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByAgeRange(int minimumAge, int maximumAge,
+            int limit) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeesByAgeRange(minimumAge, maximumAge, limit);
+        } finally {
+            getEmployeesByAgeRangeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByExperienceRange(int minimumYears,
+            int maximumYears, int limit) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getEmployeesByExperienceRange(minimumYears,
+                    maximumYears, limit);
+        } finally {
+            getEmployeesByExperienceRangeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public Map<String, SalaryStatistics> getSalaryStatistics(
+            EmployeeGrouping grouping) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.getSalaryStatistics(grouping);
+        } finally {
+            getSalaryStatisticsMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public EmployeePage searchEmployeesByNamePrefix(String prefix,
+            String cursor, int pageSize) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.searchEmployeesByNamePrefix(prefix, cursor, pageSize);
+        } finally {
+            searchEmployeesByNamePrefixMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public EmployeePage searchEmployeesByName(String text, String cursor,
+            int pageSize) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.searchEmployeesByName(text, cursor, pageSize);
+        } finally {
+            searchEmployeesByNameMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean createEmployee(int id, String name, LocalDate dateOfBirth,
+            String gender, long mobileNumber, String email, long salaryInPaise,
+            LocalDate dateOfJoining) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.createEmployee(id, name, dateOfBirth, gender,
+                    mobileNumber, email, salaryInPaise, dateOfJoining);
+        } finally {
+            createEmployeeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public ImportSummary importEmployees(Path csvFile,
+            Path errorFile) throws IOException {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.importEmployees(csvFile, errorFile);
+        } finally {
+            importEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean patchEmployee(int id, EmployeePatch patch) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.patchEmployee(id, patch);
+        } finally {
+            patchEmployeeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean patchEmployeeIfVersion(int id, long version,
+            EmployeePatch patch) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.patchEmployeeIfVersion(id, version, patch);
+        } finally {
+            patchEmployeeIfVersionMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateName(int id, String name) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateName(id, name);
+        } finally {
+            updateNameMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateDateOfBirth(int id, LocalDate dateOfBirth) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateDateOfBirth(id, dateOfBirth);
+        } finally {
+            updateDateOfBirthMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateGender(int id, String gender) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateGender(id, gender);
+        } finally {
+            updateGenderMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateMobileNumber(int id, long mobileNumber) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateMobileNumber(id, mobileNumber);
+        } finally {
+            updateMobileNumberMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateEmail(int id, String email) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateEmail(id, email);
+        } finally {
+            updateEmailMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateSalary(int id, long salaryInPaise) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateSalary(id, salaryInPaise);
+        } finally {
+            updateSalaryMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateDateOfJoining(int id, LocalDate dateOfJoining) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateDateOfJoining(id, dateOfJoining);
+        } finally {
+            updateDateOfJoiningMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean updateAllDetails(int id, String name, LocalDate dateOfBirth,
+            String gender, long mobileNumber, String email, long salaryInPaise,
+            LocalDate dateOfJoining) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateAllDetails(id, name, dateOfBirth, gender,
+                    mobileNumber, email, salaryInPaise, dateOfJoining);
+        } finally {
+            updateAllDetailsMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public List<Integer> updateEmployees(
+            Map<Integer, Consumer<Employee>> changes) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateEmployees(changes);
+        } finally {
+            updateEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public int updateMatchingEmployees(Predicate<Employee> filter,
+            Consumer<Employee> changes) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.updateMatchingEmployees(filter, changes);
+        } finally {
+            updateMatchingEmployeesMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int id) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.deleteEmployee(id);
+        } finally {
+            deleteEmployeeMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public boolean deleteEmployeeIfVersion(int id, long version) {
+        long startTime = System.nanoTime();
+
+        try {
+            return super.deleteEmployeeIfVersion(id, version);
+        } finally {
+            deleteEmployeeIfVersionMetrics.record(startTime);
+        }
+    }
+
+    @Override
+    public void deleteAllEmployee() {
+        long startTime = System.nanoTime();
+
+        try {
+            super.deleteAllEmployee();
+        } finally {
+            deleteAllEmployeeMetrics.record(startTime);
+        }
+    }
+}
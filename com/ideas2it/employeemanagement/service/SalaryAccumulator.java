@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.service;
+
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
+import com.ideas2it.employeemanagement.util.HistogramBuckets;
+
+/**
+ * The SalaryAccumulator class gathers the salaries of a group of employees
+ * in paise. Besides the count, total, minimum and maximum it keeps a log
+ * scale histogram with the layout of HistogramBuckets, so a bucket is at
+ * most 1/64 of its salaries wide. Percentiles are estimated from the
+ * buckets. Accumulators of parts of the employees are merged by adding
+ * their counts, so they can be filled in parallel and combined in any
+ * order with the same result.
+ *
+ * <p>An accumulator is not safe to be used by multiple threads.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+class SalaryAccumulator {
+    private final String group;
+    private long[] bucketCounts;
+    private long count;
+    private long totalPaise;
+    private long minimumPaise = Long.MAX_VALUE;
+    private long maximumPaise = Long.MIN_VALUE;
+
+    /**
+     * Initializes an empty accumulator of the specified group.
+     *
+     * @param group the name of the group.
+     */
+    SalaryAccumulator(String group) {
+        this.group = group;
+    }
+
+    /**
+     * Adds the specified salary to the group.
+     *
+     * @param salaryInPaise the salary in paise.
+     */
+    void add(long salaryInPaise) {
+        long paise = Math.max(0, salaryInPaise);
+
+        if (null == bucketCounts) {
+            bucketCounts = new long[HistogramBuckets.BUCKET_COUNT];
+        }
+        bucketCounts[HistogramBuckets.bucketOf(paise)]++;
+        count++;
+        totalPaise += paise;
+        minimumPaise = Math.min(minimumPaise, paise);
+        maximumPaise = Math.max(maximumPaise, paise);
+    }
+
+    /**
+     * Adds the salaries of the specified accumulator of the same group to
+     * this accumulator.
+     *
+     * @param accumulator the accumulator to be merged.
+     * @return this accumulator.
+     */
+    SalaryAccumulator merge(SalaryAccumulator accumulator) {
+        if (0 == accumulator.count) {
+            return this;
+        }
+
+        if (null == bucketCounts) {
+            bucketCounts = new long[HistogramBuckets.BUCKET_COUNT];
+        }
+
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            bucketCounts[bucket] += accumulator.bucketCounts[bucket];
+        }
+        count += accumulator.count;
+        totalPaise += accumulator.totalPaise;
+        minimumPaise = Math.min(minimumPaise, accumulator.minimumPaise);
+        maximumPaise = Math.max(maximumPaise, accumulator.maximumPaise);
+        return this;
+    }
+
+    /**
+     * Estimates the salary the specified percentage of the group earn at
+     * most, as the middle of the bucket holding that rank, kept within the
+     * minimum and maximum salaries.
+     *
+     * @param percentage the percentage, from 0 to 100.
+     * @return the estimated salary in paise.
+     */
+    private long percentileOf(double percentage) {
+        long rank = Math.max(1, (long) Math.ceil(count * percentage / 100));
+        long seen = 0;
+        int bucket = 0;
+
+        while ((seen += bucketCounts[bucket]) < rank) {
+            bucket++;
+        }
+        return Math.min(maximumPaise,
+                        Math.max(minimumPaise,
+                                 HistogramBuckets.middleOf(bucket)));
+    }
+
+    /**
+     * Gets the statistics of the salaries added so far. At least one salary
+     * must have been added.
+     *
+     * @return the statistics of the group in rupees.
+     */
+    SalaryStatistics toStatistics() {
+        return new SalaryStatistics(group, count, totalPaise / 100d,
+                minimumPaise / 100d, maximumPaise / 100d,
+                percentileOf(50) / 100d, percentileOf(90) / 100d,
+                percentileOf(99) / 100d);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The ConcurrentLongIntHashMap class is a thread safe map from primitive long
+ * keys to primitive int values. Keys are spread over a fixed number of
+ * {@link LongIntHashMap} segments, each guarded by its own lock, so threads
+ * working on different keys rarely wait for each other.
+ *
+ * <p>Reads take no lock. A read looks the key up optimistically and checks
+ * the segment's lock afterwards, and is repeated under the read lock only
+ * if a write to the same segment overlapped it.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class ConcurrentLongIntHashMap {
+    private final LongIntHashMap[] segments;
+    private final StampedLock[] locks;
+    private final int segmentMask;
+
+    /** Initializes an empty map with a segment count based on the cores. */
+    public ConcurrentLongIntHashMap() {
+        int segmentCount = Integer.highestOneBit(
+                Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+
+        segments = new LongIntHashMap[segmentCount];
+        locks = new StampedLock[segmentCount];
+        segmentMask = segmentCount - 1;
+
+        for (int index = 0; index < segmentCount; index++) {
+            segments[index] = new LongIntHashMap();
+            locks[index] = new StampedLock();
+        }
+    }
+
+    /**
+     * Selects the segment owning the specified key. The high bits of the
+     * hash are used, since the segment tables probe with the low bits.
+     *
+     * @param key the key whose segment is needed.
+     * @return the index of the segment owning the key.
+     */
+    private int segmentOf(long key) {
+        long hash = key * 0xC2B2AE3D27D4EB4FL;
+
+        return (int) (hash >>> 40) & segmentMask;
+    }
+
+    /**
+     * Checks if the specified key is mapped.
+     *
+     * @param key the key to be searched.
+     * @return true if the key is mapped, otherwise false.
+     */
+    public boolean containsKey(long key) {
+        int index = segmentOf(key);
+        StampedLock lock = locks[index];
+        long stamp = lock.tryOptimisticRead();
+        boolean isMapped = segments[index].containsKeyConcurrently(key);
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+
+            try {
+                isMapped = segments[index].containsKey(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return isMapped;
+    }
+
+    /**
+     * Gets the value mapped to the specified key.
+     *
+     * @param key the key to be searched.
+     * @param defaultValue the value to return if the key is not mapped.
+     * @return the mapped value if key found, otherwise defaultValue.
+     */
+    public int get(long key, int defaultValue) {
+        int index = segmentOf(key);
+        StampedLock lock = locks[index];
+        long stamp = lock.tryOptimisticRead();
+        int value = segments[index].getConcurrently(key, defaultValue);
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+
+            try {
+                value = segments[index].get(key, defaultValue);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing any existing
+     * mapping.
+     *
+     * @param key the key to be mapped.
+     * @param value the value to be mapped.
+     */
+    public void put(long key, int value) {
+        int index = segmentOf(key);
+        long stamp = locks[index].writeLock();
+
+        try {
+            segments[index].put(key, value);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically maps the specified key to the specified value only if the
+     * key is not mapped yet.
+     *
+     * @param key the key to be mapped.
+     * @param value the value to be mapped.
+     * @param absentValue the value to return if the key was not mapped.
+     * @return absentValue if the mapping added, otherwise the value already
+     *         mapped to the key.
+     */
+    public int putIfAbsent(long key, int value, int absentValue) {
+        int index = segmentOf(key);
+        long stamp = locks[index].writeLock();
+
+        try {
+            return segments[index].putIfAbsent(key, value, absentValue);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically removes the mapping of the specified key only if it is
+     * mapped to the specified value.
+     *
+     * @param key the key to be removed.
+     * @param value the value expected to be mapped to the key.
+     * @return true if the mapping removed, otherwise false.
+     */
+    public boolean remove(long key, int value) {
+        int index = segmentOf(key);
+        long stamp = locks[index].writeLock();
+
+        try {
+            return segments[index].remove(key, value);
+        } finally {
+            locks[index].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of mappings. The result is not a consistent snapshot
+     * while other threads are writing.
+     *
+     * @return the number of mappings in this map.
+     */
+    public int size() {
+        int size = 0;
+
+        for (int index = 0; index < segments.length; index++) {
+            long stamp = locks[index].readLock();
+
+            try {
+                size += segments[index].size();
+            } finally {
+                locks[index].unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /** Removes all mappings, one segment at a time. */
+    public void clear() {
+        for (int index = 0; index < segments.length; index++) {
+            long stamp = locks[index].writeLock();
+
+            try {
+                segments[index].clear();
+            } finally {
+                locks[index].unlockWrite(stamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * The DateClock class tells the current date, which ages and experience
+ * are computed on. The date is looked up once and cached along with the
+ * instant the next day starts, so asking for it costs one read of the
+ * clock's millis instead of applying the time-zone rules. The cache is
+ * refreshed the first time it is asked for after midnight.
+ *
+ * <p>The system clock is shared by the application. A clock fixed at a
+ * date can be given to the services instead, so that tests and
+ * benchmarks run the same whatever day it is. A clock is safe to be used
+ * by multiple threads.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class DateClock {
+    private static final DateClock SYSTEM_CLOCK
+            = new DateClock(Clock.systemDefaultZone());
+    private final Clock clock;
+    private volatile CachedDate cachedDate;
+
+    /**
+     * Initializes a clock telling the date of the specified clock.
+     *
+     * @param clock the clock giving the current instant and time-zone.
+     */
+    public DateClock(Clock clock) {
+        this.clock = clock;
+        this.cachedDate = new CachedDate(clock);
+    }
+
+    /**
+     * Gets the clock of the system's default time-zone.
+     *
+     * @return the clock shared by the application.
+     */
+    public static DateClock systemClock() {
+        return SYSTEM_CLOCK;
+    }
+
+    /**
+     * Creates a clock which always tells the specified date.
+     *
+     * @param date the date to be told.
+     * @return a clock fixed at the start of the date.
+     */
+    public static DateClock fixed(LocalDate date) {
+        return new DateClock(Clock.fixed(
+                date.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                ZoneOffset.UTC));
+    }
+
+    /**
+     * Gets the current date, looking it up again only after midnight.
+     *
+     * @return the current date.
+     */
+    public LocalDate today() {
+        CachedDate date = cachedDate;
+
+        if (clock.millis() >= date.nextDayMillis) {
+            date = new CachedDate(clock);
+            cachedDate = date;
+        }
+        return date.today;
+    }
+
+    /**
+     * Holds a date with the instant the following day starts. A holder is
+     * never changed, so it is swapped as a whole when the day changes.
+     */
+    private static final class CachedDate {
+        private final LocalDate today;
+        private final long nextDayMillis;
+
+        /**
+         * Looks up the current date of the specified clock.
+         *
+         * @param clock the clock giving the current instant and time-zone.
+         */
+        private CachedDate(Clock clock) {
+            today = LocalDate.now(clock);
+            nextDayMillis = today.plusDays(1)
+                                 .atStartOfDay(clock.getZone())
+                                 .toInstant().toEpochMilli();
+        }
+    }
+}
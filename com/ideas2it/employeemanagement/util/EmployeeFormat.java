@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The EmployeeFormat class formats employees and their details for people
+ * into a builder. Dates and salaries are formatted digit by digit, so that
+ * formatting allocates nothing but the text appended.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public final class EmployeeFormat {
+
+    private EmployeeFormat() {
+
+    }
+
+    /**
+     * Appends the details of the specified employee, one per line, with
+     * dates in dd/mm/yyyy format.
+     *
+     * @param builder the builder to append to.
+     * @param employee the employee to be formatted.
+     * @return the builder.
+     */
+    public static StringBuilder appendDetails(StringBuilder builder,
+            Employee employee) {
+        builder.append("\n\t\t Employee Id     : ").append(employee.getId())
+               .append("\n\n\t\t Name            : ")
+               .append(employee.getName())
+               .append("\n\n\t\t Date of birth   : ");
+        appendDate(builder, employee.getDateOfBirthEpochDay(), '/');
+        builder.append("\n\n\t\t Gender          : ")
+               .append(employee.getGender())
+               .append("\n\n\t\t Mobile Number   : ")
+               .append(employee.getMobileNumber())
+               .append("\n\n\t\t Email           : ")
+               .append(employee.getEmail())
+               .append("\n\n\t\t Salary          : ");
+        appendSalaryInPaise(builder, employee.getSalaryInPaise());
+        builder.append("\n\n\t\t Date Of joining : ");
+        appendDate(builder, employee.getDateOfJoiningEpochDay(), '/');
+        return builder.append('\n');
+    }
+
+    /**
+     * Appends the date of the specified epoch day as day, month and year,
+     * with two digit day and month and at least four digit year, without
+     * creating a LocalDate.
+     *
+     * @param builder the builder to append to.
+     * @param epochDay the number of days since 1970-01-01.
+     * @param separator the character between day, month and year.
+     */
+    public static void appendDate(StringBuilder builder, int epochDay,
+            char separator) {
+        int date = toCivilDate(epochDay);
+
+        appendDate(builder, date & 0x1F, (date >> 5) & 0xF, date >> 9,
+                   separator);
+    }
+
+    /**
+     * Appends the date of the specified epoch day in ISO-8601 format,
+     * yyyy-mm-dd, as LocalDate.toString does for years 0 to 9999.
+     *
+     * @param builder the builder to append to.
+     * @param epochDay the number of days since 1970-01-01.
+     */
+    public static void appendIsoDate(StringBuilder builder, int epochDay) {
+        int date = toCivilDate(epochDay);
+
+        appendYear(builder, date >> 9);
+        builder.append('-');
+        appendTwoDigits(builder, (date >> 5) & 0xF);
+        builder.append('-');
+        appendTwoDigits(builder, date & 0x1F);
+    }
+
+    /**
+     * Appends the specified salary with exactly two decimal places.
+     *
+     * @param builder the builder to append to.
+     * @param salaryInPaise the salary in paise.
+     */
+    public static void appendSalaryInPaise(StringBuilder builder,
+            long salaryInPaise) {
+        if (0 > salaryInPaise) {
+            builder.append('-');
+        }
+        builder.append(Math.abs(salaryInPaise / 100)).append('.');
+        appendTwoDigits(builder, (int) Math.abs(salaryInPaise % 100));
+    }
+
+    /**
+     * Appends the specified salary with exactly two decimal places, rounded
+     * half up, never in exponent notation.
+     *
+     * @param builder the builder to append to.
+     * @param salary the salary to be appended.
+     */
+    public static void appendSalary(StringBuilder builder, double salary) {
+        long paise = Math.round(Math.abs(salary) * 100d);
+
+        if (0 > salary) {
+            builder.append('-');
+        }
+        builder.append(paise / 100).append('.');
+        appendTwoDigits(builder, (int) (paise % 100));
+    }
+
+    /**
+     * Appends the specified day, month and year.
+     *
+     * @param builder the builder to append to.
+     * @param day the day of the month.
+     * @param month the month of the year.
+     * @param year the year.
+     * @param separator the character between day, month and year.
+     */
+    private static void appendDate(StringBuilder builder, int day, int month,
+            int year, char separator) {
+        appendTwoDigits(builder, day);
+        builder.append(separator);
+        appendTwoDigits(builder, month);
+        builder.append(separator);
+        appendYear(builder, year);
+    }
+
+    /**
+     * Appends the specified year with at least four digits.
+     *
+     * @param builder the builder to append to.
+     * @param year the year to be appended.
+     */
+    private static void appendYear(StringBuilder builder, int year) {
+        if ((0 <= year) && (1000 > year)) {
+            builder.append((100 > year) ? ((10 > year) ? "000" : "00") : "0");
+        }
+        builder.append(year);
+    }
+
+    /**
+     * Converts the specified epoch day to its proleptic Gregorian date,
+     * using the days from civil algorithm of Howard Hinnant in reverse.
+     *
+     * @param epochDay the number of days since 1970-01-01.
+     * @return the year shifted left by 9 bits, or the month shifted left by
+     *         5 bits, or the day of the month.
+     */
+    private static int toCivilDate(int epochDay) {
+        long days = epochDay + 719468L;
+        long era = Math.floorDiv(days, 146097);
+        int dayOfEra = (int) (days - (era * 146097));
+        int yearOfEra = (dayOfEra - (dayOfEra / 1460) + (dayOfEra / 36524)
+                         - (dayOfEra / 146096)) / 365;
+        int dayOfYear = dayOfEra - ((365 * yearOfEra) + (yearOfEra / 4)
+                                    - (yearOfEra / 100));
+        int shiftedMonth = ((5 * dayOfYear) + 2) / 153;
+        int day = dayOfYear - (((153 * shiftedMonth) + 2) / 5) + 1;
+        int month = (10 > shiftedMonth) ? (shiftedMonth + 3)
+                                        : (shiftedMonth - 9);
+        int year = (int) (yearOfEra + (era * 400)) + ((2 >= month) ? 1 : 0);
+
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Appends the specified number from 0 to 99 as two digits.
+     *
+     * @param builder the builder to append to.
+     * @param value the number to be appended.
+     */
+    private static void appendTwoDigits(StringBuilder builder, int value) {
+        builder.append((char) ('0' + (value / 10)))
+               .append((char) ('0' + (value % 10)));
+    }
+}
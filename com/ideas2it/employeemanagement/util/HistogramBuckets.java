@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+/**
+ * The HistogramBuckets class maps non negative long values to the buckets
+ * of a log-linear histogram. Values below 64 have a bucket each, and every
+ * higher power of two is split into 64 buckets of equal width, so a bucket
+ * is at most 1/64 of its values wide and any long fits in a fixed number of
+ * buckets. Histograms with this layout are merged by adding their counts.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public final class HistogramBuckets {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    public static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS)
+                                           * SUB_BUCKET_COUNT;
+
+    private HistogramBuckets() {
+
+    }
+
+    /**
+     * Finds the bucket of the specified value.
+     *
+     * @param value the value, not negative.
+     * @return the index of the bucket.
+     */
+    public static int bucketOf(long value) {
+        int exponent;
+
+        if (SUB_BUCKET_COUNT > value) {
+            return (int) value;
+        }
+        exponent = 63 - Long.numberOfLeadingZeros(value);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS)
+               + (int) ((value >>> (exponent - SUB_BUCKET_BITS))
+                        & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Finds the middle value of the specified bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the value in the middle of the bucket.
+     */
+    public static long middleOf(int bucket) {
+        int shift;
+
+        if (SUB_BUCKET_COUNT > bucket) {
+            return bucket;
+        }
+        shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return (((long) SUB_BUCKET_COUNT + (bucket & (SUB_BUCKET_COUNT - 1)))
+                << shift) + ((1L << shift) >>> 1);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ideas2it.employeemanagement.model.Employee;
+
+/**
+ * The JsonFormat class formats employees as JSON objects into a builder
+ * and parses flat JSON objects. Dates are formatted in ISO-8601 and
+ * salaries with exactly two decimal places. Only objects whose values are
+ * strings, numbers, booleans or null are parsed, which is all an employee
+ * needs.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public final class JsonFormat {
+
+    private JsonFormat() {
+
+    }
+
+    /**
+     * Appends the specified employee as a JSON object.
+     *
+     * @param builder the builder to append to.
+     * @param employee the employee to be formatted.
+     * @param isVersionIncluded true to include the version of the employee.
+     */
+    public static void appendEmployee(StringBuilder builder, Employee employee,
+            boolean isVersionIncluded) {
+        builder.append("{\"id\":").append(employee.getId())
+               .append(",\"name\":");
+        appendString(builder, employee.getName());
+        builder.append(",\"dateOfBirth\":\"");
+        EmployeeFormat.appendIsoDate(builder,
+                                     employee.getDateOfBirthEpochDay());
+        builder.append("\",\"gender\":");
+        appendString(builder, employee.getGender());
+        builder.append(",\"mobileNumber\":").append(employee.getMobileNumber())
+               .append(",\"email\":");
+        appendString(builder, employee.getEmail());
+        builder.append(",\"salary\":");
+        EmployeeFormat.appendSalaryInPaise(builder,
+                                           employee.getSalaryInPaise());
+        builder.append(",\"dateOfJoining\":\"");
+        EmployeeFormat.appendIsoDate(builder,
+                                     employee.getDateOfJoiningEpochDay());
+        builder.append('"');
+        if (isVersionIncluded) {
+            builder.append(",\"version\":").append(employee.getVersion());
+        }
+        builder.append('}');
+    }
+
+    /**
+     * Appends the specified string as a quoted and escaped JSON string.
+     *
+     * @param builder the builder to append to.
+     * @param value the string to be appended.
+     */
+    public static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+
+            if (('"' == character) || ('\\' == character)) {
+                builder.append('\\').append(character);
+            } else if (' ' > character) {
+                builder.append("\\u00")
+                       .append(Character.forDigit(character >> 4, 16))
+                       .append(Character.forDigit(character & 0xF, 16));
+            } else {
+                builder.append(character);
+            }
+        }
+        builder.append('"');
+    }
+
+    /**
+     * Parses the specified JSON object whose values are all strings,
+     * numbers, booleans or null. Numbers and booleans are returned as they
+     * are written, so that they are validated like any other input.
+     *
+     * @param text the JSON object to be parsed.
+     * @return a Map of each name to its value, null for a JSON null, in the
+     *         order written.
+     * @throws IllegalArgumentException if the text is not such an object.
+     */
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> values = new LinkedHashMap<>();
+        int[] position = {skipWhitespace(text, 0)};
+
+        expect(text, position, '{');
+        if ('}' == peek(text, position)) {
+            position[0]++;
+        } else {
+            do {
+                String name = parseString(text, position);
+
+                expect(text, position, ':');
+                if (null != values.put(name, parseValue(text, position))) {
+                    throw new IllegalArgumentException("Duplicate name "
+                                                       + name);
+                }
+            } while (',' == next(text, position));
+
+            if ('}' != text.charAt(position[0] - 1)) {
+                throw new IllegalArgumentException("Expected , or } at "
+                                                   + (position[0] - 1));
+            }
+        }
+
+        if (skipWhitespace(text, position[0]) != text.length()) {
+            throw new IllegalArgumentException("Unexpected text after object");
+        }
+        return values;
+    }
+
+    /**
+     * Parses the value at the position, leaving the position after it.
+     *
+     * @param text the JSON text.
+     * @param position the current position, updated.
+     * @return the text of the value, or null for a JSON null.
+     */
+    private static String parseValue(String text, int[] position) {
+        char character = peek(text, position);
+        int start = position[0];
+
+        if ('"' == character) {
+            return parseString(text, position);
+        }
+
+        if (('{' == character) || ('[' == character)) {
+            throw new IllegalArgumentException("Nested values are not "
+                                               + "supported");
+        }
+
+        while ((position[0] < text.length())
+                && (",}".indexOf(text.charAt(position[0])) < 0)
+                && !Character.isWhitespace(text.charAt(position[0]))) {
+            position[0]++;
+        }
+
+        if (start == position[0]) {
+            throw new IllegalArgumentException("Expected a value at "
+                                               + start);
+        }
+        return "null".equals(text.substring(start, position[0])) ? null
+                : text.substring(start, position[0]);
+    }
+
+    /**
+     * Parses the quoted string at the position, leaving the position after
+     * the closing quote.
+     *
+     * @param text the JSON text.
+     * @param position the current position, updated.
+     * @return the unescaped string.
+     */
+    private static String parseString(String text, int[] position) {
+        StringBuilder value = new StringBuilder();
+
+        expect(text, position, '"');
+        while (true) {
+            char character = charAt(text, position[0]++);
+
+            if ('"' == character) {
+                return value.toString();
+            }
+
+            if ('\\' == character) {
+                character = charAt(text, position[0]++);
+                switch (character) {
+                    case 'b':
+                        character = '\b';
+                        break;
+                    case 'f':
+                        character = '\f';
+                        break;
+                    case 'n':
+                        character = '\n';
+                        break;
+                    case 'r':
+                        character = '\r';
+                        break;
+                    case 't':
+                        character = '\t';
+                        break;
+                    case 'u':
+                        character = parseUnicodeEscape(text, position[0]);
+                        position[0] += 4;
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid escape at "
+                                                           + position[0]);
+                }
+            }
+            value.append(character);
+        }
+    }
+
+    /**
+     * Parses the four hexadecimal digits of a unicode escape.
+     *
+     * @param text the JSON text.
+     * @param start the position of the first digit.
+     * @return the escaped character.
+     */
+    private static char parseUnicodeEscape(String text, int start) {
+        if (start + 4 > text.length()) {
+            throw new IllegalArgumentException("Unterminated string");
+        }
+
+        try {
+            return (char) Integer.parseInt(text.substring(start, start + 4),
+                                           16);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid escape at " + start);
+        }
+    }
+
+    /**
+     * Skips whitespace, then checks that the character at the position is
+     * the expected one and moves past it.
+     *
+     * @param text the JSON text.
+     * @param position the current position, updated.
+     * @param expected the expected character.
+     */
+    private static void expect(String text, int[] position, char expected) {
+        if (expected != next(text, position)) {
+            throw new IllegalArgumentException("Expected " + expected + " at "
+                                               + (position[0] - 1));
+        }
+    }
+
+    /**
+     * Skips whitespace and moves past the next character.
+     *
+     * @param text the JSON text.
+     * @param position the current position, updated.
+     * @return the next character which is not whitespace.
+     */
+    private static char next(String text, int[] position) {
+        char character = peek(text, position);
+
+        position[0]++;
+        return character;
+    }
+
+    /**
+     * Skips whitespace and gets the character at the position.
+     *
+     * @param text the JSON text.
+     * @param position the current position, updated.
+     * @return the next character which is not whitespace.
+     */
+    private static char peek(String text, int[] position) {
+        position[0] = skipWhitespace(text, position[0]);
+        return charAt(text, position[0]);
+    }
+
+    /**
+     * Gets the character at the specified position.
+     *
+     * @param text the JSON text.
+     * @param index the position of the character.
+     * @return the character at the position.
+     * @throws IllegalArgumentException if the text ends before it.
+     */
+    private static char charAt(String text, int index) {
+        if (index >= text.length()) {
+            throw new IllegalArgumentException("Unexpected end of text");
+        }
+        return text.charAt(index);
+    }
+
+    /**
+     * Finds the first position at or after the specified one which is not
+     * whitespace.
+     *
+     * @param text the JSON text.
+     * @param index the position to start at.
+     * @return the position found, or the length of the text.
+     */
+    private static int skipWhitespace(String text, int index) {
+        while ((index < text.length())
+                && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
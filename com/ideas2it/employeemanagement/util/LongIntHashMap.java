@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import java.util.Arrays;
+
+/**
+ * The LongIntHashMap class is a hash map from primitive long keys to primitive
+ * int values. It uses open addressing with linear probing, so no entry objects
+ * or boxed keys are allocated per mapping. It is not thread safe.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class LongIntHashMap {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final long EMPTY_KEY = 0L;
+
+    private boolean hasZeroKey;
+    private int zeroKeyValue;
+    private int size;
+    private int resizeThreshold;
+    private long[] keys;
+    private int[] values;
+
+    /** Initializes an empty map with default capacity. */
+    public LongIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty map which can hold the specified number of
+     * mappings without resizing.
+     *
+     * @param expectedSize the number of mappings expected.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(
+                Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR))
+                - 1) << 1;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Spreads the bits of the specified key and maps it to a slot.
+     *
+     * @param key the key to be hashed.
+     * @param mask the table length minus one.
+     * @return the slot index for the key.
+     */
+    private static int slotOf(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Finds the slot holding the specified key.
+     *
+     * @param key a non zero key to be searched.
+     * @return the slot index if key found, otherwise -1.
+     */
+    private int findSlot(long key) {
+        return findSlot(keys, key);
+    }
+
+    /**
+     * Finds the slot holding the specified key in the specified table,
+     * probing each slot at most once, so the search ends even if another
+     * thread is writing the table.
+     *
+     * @param tableKeys the keys of the table.
+     * @param key a non zero key to be searched.
+     * @return the slot index if key found, otherwise -1.
+     */
+    private static int findSlot(long[] tableKeys, long key) {
+        int mask = tableKeys.length - 1;
+        int slot = slotOf(key, mask);
+
+        for (int probe = 0; probe <= mask; probe++) {
+            long slotKey = tableKeys[slot];
+
+            if (key == slotKey) {
+                return slot;
+            } else if (EMPTY_KEY == slotKey) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the specified key is mapped.
+     *
+     * @param key the key to be searched.
+     * @return true if the key is mapped, otherwise false.
+     */
+    public boolean containsKey(long key) {
+        return (EMPTY_KEY == key) ? hasZeroKey : (-1 != findSlot(key));
+    }
+
+    /**
+     * Gets the value mapped to the specified key.
+     *
+     * @param key the key to be searched.
+     * @param defaultValue the value to return if the key is not mapped.
+     * @return the mapped value if key found, otherwise defaultValue.
+     */
+    public int get(long key, int defaultValue) {
+        int slot;
+
+        if (EMPTY_KEY == key) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        slot = findSlot(key);
+        return (-1 == slot) ? defaultValue : values[slot];
+    }
+
+    /**
+     * Checks if the specified key is mapped while another thread may be
+     * writing the map, for a caller which validates the read afterwards,
+     * like an optimistic read of a StampedLock. The result of an overlapped
+     * read may be wrong, but the read never fails.
+     *
+     * @param key the key to be searched.
+     * @return true if the key is mapped, otherwise false.
+     */
+    boolean containsKeyConcurrently(long key) {
+        return (EMPTY_KEY == key) ? hasZeroKey : (-1 != findSlot(keys, key));
+    }
+
+    /**
+     * Gets the value mapped to the specified key while another thread may
+     * be writing the map, for a caller which validates the read afterwards.
+     * The keys and values are read from the tables seen at the start, which
+     * may belong to different sizes during a resize, in which case the key
+     * is reported as not mapped.
+     *
+     * @param key the key to be searched.
+     * @param defaultValue the value to return if the key is not mapped.
+     * @return the mapped value if key found, otherwise defaultValue.
+     */
+    int getConcurrently(long key, int defaultValue) {
+        long[] tableKeys = keys;
+        int[] tableValues = values;
+        int slot;
+
+        if (EMPTY_KEY == key) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        } else if (tableKeys.length != tableValues.length) {
+            return defaultValue;
+        }
+        slot = findSlot(tableKeys, key);
+        return (-1 == slot) ? defaultValue : tableValues[slot];
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing any existing
+     * mapping.
+     *
+     * @param key the key to be mapped.
+     * @param value the value to be mapped.
+     */
+    public void put(long key, int value) {
+        int mask;
+        int slot;
+
+        if (EMPTY_KEY == key) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return;
+        }
+        mask = keys.length - 1;
+        slot = slotOf(key, mask);
+
+        while (EMPTY_KEY != keys[slot]) {
+            if (key == keys[slot]) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++size > resizeThreshold) {
+            resize(keys.length << 1);
+        }
+    }
+
+    /**
+     * Maps the specified key to the specified value only if the key is not
+     * mapped yet.
+     *
+     * @param key the key to be mapped.
+     * @param value the value to be mapped.
+     * @param absentValue the value to return if the key was not mapped.
+     * @return absentValue if the mapping added, otherwise the value already
+     *         mapped to the key.
+     */
+    public int putIfAbsent(long key, int value, int absentValue) {
+        int slot;
+
+        if (EMPTY_KEY == key) {
+            if (hasZeroKey) {
+                return zeroKeyValue;
+            }
+        } else {
+            slot = findSlot(key);
+
+            if (-1 != slot) {
+                return values[slot];
+            }
+        }
+        put(key, value);
+        return absentValue;
+    }
+
+    /**
+     * Removes the mapping of the specified key only if it is mapped to the
+     * specified value.
+     *
+     * @param key the key to be removed.
+     * @param value the value expected to be mapped to the key.
+     * @return true if the mapping removed, otherwise false.
+     */
+    public boolean remove(long key, int value) {
+        int slot;
+
+        if (EMPTY_KEY == key) {
+            if (hasZeroKey && (value == zeroKeyValue)) {
+                hasZeroKey = false;
+                size--;
+                return true;
+            }
+            return false;
+        }
+        slot = findSlot(key);
+
+        if ((-1 == slot) || (value != values[slot])) {
+            return false;
+        }
+        shiftBackFrom(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Empties the specified slot and moves the following entries of the same
+     * probe sequence back, so that no tombstones are needed.
+     *
+     * @param emptiedSlot the slot whose entry is removed.
+     */
+    private void shiftBackFrom(int emptiedSlot) {
+        int mask = keys.length - 1;
+        int gap = emptiedSlot;
+        int slot = (gap + 1) & mask;
+
+        while (EMPTY_KEY != keys[slot]) {
+            int home = slotOf(keys[slot], mask);
+
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = EMPTY_KEY;
+    }
+
+    /**
+     * Rehashes all entries into tables of the specified capacity.
+     *
+     * @param capacity the new table length, a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int mask = capacity - 1;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (EMPTY_KEY != oldKeys[index]) {
+                int slot = slotOf(oldKeys[index], mask);
+
+                while (EMPTY_KEY != keys[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of mappings.
+     *
+     * @return the number of mappings in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Removes all mappings. */
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The OperationMetrics class records the latency of the calls of one
+ * operation in a histogram with the layout of HistogramBuckets. Recording
+ * a call increments one bucket and adds to the total time with atomic
+ * instructions, so it takes no lock and allocates nothing, and any number
+ * of threads may record at once. Reading the metrics sums the buckets, so
+ * a reading taken while calls are recorded may be off by those calls.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+    private static final double NANOS_PER_MICRO = 1000d;
+    private final String operation;
+    private final AtomicLongArray bucketCounts
+            = new AtomicLongArray(HistogramBuckets.BUCKET_COUNT);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maximumNanos = new AtomicLong();
+    private volatile long startTime = System.nanoTime();
+
+    /**
+     * Initializes empty metrics of the specified operation.
+     *
+     * @param operation the name of the operation.
+     */
+    public OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Gets the name of the operation.
+     *
+     * @return the name of the operation.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Records a call which started at the specified time and ends now.
+     *
+     * @param callStartTime the System.nanoTime() when the call started.
+     */
+    public void record(long callStartTime) {
+        long nanos = Math.max(0, System.nanoTime() - callStartTime);
+        long maximum = maximumNanos.get();
+
+        bucketCounts.incrementAndGet(HistogramBuckets.bucketOf(nanos));
+        totalNanos.addAndGet(nanos);
+
+        while ((nanos > maximum)
+                && !maximumNanos.compareAndSet(maximum, nanos)) {
+            maximum = maximumNanos.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+
+        for (int bucket = 0; bucket < bucketCounts.length(); bucket++) {
+            count += bucketCounts.get(bucket);
+        }
+        return count;
+    }
+
+    @Override
+    public double getThroughput() {
+        return getCount() * 1e9 / Math.max(1, System.nanoTime() - startTime);
+    }
+
+    @Override
+    public double getMeanLatency() {
+        return totalNanos.get() / NANOS_PER_MICRO / Math.max(1, getCount());
+    }
+
+    @Override
+    public double getMaximumLatency() {
+        return maximumNanos.get() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMedianLatency() {
+        return getPercentileLatency(50);
+    }
+
+    @Override
+    public double getNinetiethPercentileLatency() {
+        return getPercentileLatency(90);
+    }
+
+    @Override
+    public double getNinetyNinthPercentileLatency() {
+        return getPercentileLatency(99);
+    }
+
+    @Override
+    public double getNinetyNinePointNinthPercentileLatency() {
+        return getPercentileLatency(99.9);
+    }
+
+    /**
+     * Estimates the latency the specified percentage of the calls took at
+     * most, as the middle of the bucket holding that rank.
+     *
+     * @param percentage the percentage, from 0 to 100.
+     * @return the estimated latency in microseconds, 0 if there are no
+     *         calls.
+     */
+    public double getPercentileLatency(double percentage) {
+        long rank = Math.max(1, (long) Math.ceil(getCount() * percentage
+                                                 / 100));
+        long seen = 0;
+
+        for (int bucket = 0; bucket < bucketCounts.length(); bucket++) {
+            seen += bucketCounts.get(bucket);
+
+            if (seen >= rank) {
+                return Math.min(maximumNanos.get(),
+                                HistogramBuckets.middleOf(bucket))
+                       / NANOS_PER_MICRO;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void reset() {
+        for (int bucket = 0; bucket < bucketCounts.length(); bucket++) {
+            bucketCounts.set(bucket, 0);
+        }
+        totalNanos.set(0);
+        maximumNanos.set(0);
+        startTime = System.nanoTime();
+    }
+}
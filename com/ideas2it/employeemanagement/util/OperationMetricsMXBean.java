@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.util;
+
+/**
+ * The OperationMetricsMXBean interface exposes the call count, throughput
+ * and latency of one operation through JMX. Latencies are in microseconds
+ * and percentiles are within about one percent of the exact values. All
+ * values cover the calls since the metrics were created or last reset.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public interface OperationMetricsMXBean {
+
+    /**
+     * Gets the number of completed calls.
+     *
+     * @return the number of calls.
+     */
+    long getCount();
+
+    /**
+     * Gets the average number of calls per second.
+     *
+     * @return the throughput in calls per second.
+     */
+    double getThroughput();
+
+    /**
+     * Gets the average latency of the calls.
+     *
+     * @return the mean latency in microseconds.
+     */
+    double getMeanLatency();
+
+    /**
+     * Gets the highest latency of the calls.
+     *
+     * @return the maximum latency in microseconds.
+     */
+    double getMaximumLatency();
+
+    /**
+     * Gets the latency half of the calls took at most.
+     *
+     * @return the 50th percentile latency in microseconds.
+     */
+    double getMedianLatency();
+
+    /**
+     * Gets the latency 90 percent of the calls took at most.
+     *
+     * @return the 90th percentile latency in microseconds.
+     */
+    double getNinetiethPercentileLatency();
+
+    /**
+     * Gets the latency 99 percent of the calls took at most.
+     *
+     * @return the 99th percentile latency in microseconds.
+     */
+    double getNinetyNinthPercentileLatency();
+
+    /**
+     * Gets the latency 99.9 percent of the calls took at most.
+     *
+     * @return the 99.9th percentile latency in microseconds.
+     */
+    double getNinetyNinePointNinthPercentileLatency();
+
+    /** Clears the recorded calls. */
+    void reset();
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.view;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ideas2it.employeemanagement.controller.EmployeeController;
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeField;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.util.JsonFormat;
+
+/**
+ * The EmployeeBatchView class runs the commands of a command file without
+ * prompting, for scripts driving the employee management system. Each line
+ * holds one command, and empty lines and lines starting with # are skipped.
+ * The commands are :
+ *
+ * <pre>
+ * create id,name,dateOfBirth,gender,mobileNumber,email,salary,dateOfJoining
+ * update id name=value,salary=value,...
+ * delete id
+ * view id
+ * view all
+ * </pre>
+ *
+ * <p>The details of create are in the order of the import file and the
+ * changes of update are named as in its header, dates in dd-mm-yyyy
+ * format. For every command one result line starting with its line number
+ * and OK or ERROR is written, and viewed employees are written as JSON
+ * objects on the lines following it. Everything goes through one writer,
+ * ending with the number of commands run per second.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeBatchView {
+    private static final int PAGE_SIZE = 1000;
+    private static final int FIELD_COUNT = 8;
+    private final EmployeeController employeeController
+            = new EmployeeController();
+    private final StringBuilder line = new StringBuilder(256);
+    private final Writer output;
+
+    /**
+     * Initializes a batch view writing its results to the specified
+     * writer. The writer should be buffered, and is flushed once all
+     * commands are run.
+     *
+     * @param output the writer of the results.
+     */
+    public EmployeeBatchView(Writer output) {
+        this.output = output;
+    }
+
+    /**
+     * Runs every command read from the specified reader and writes their
+     * results, followed by the number of commands run, failed and run per
+     * second.
+     *
+     * @param commands the reader of the command file.
+     * @return the number of commands run.
+     * @throws IOException if the commands cannot be read or the results
+     *         cannot be written.
+     */
+    public long runCommands(BufferedReader commands) throws IOException {
+        long startTime = System.nanoTime();
+        long commandCount = 0;
+        long failedCount = 0;
+        int lineNumber = 0;
+        double seconds;
+        String command;
+
+        while (null != (command = commands.readLine())) {
+            lineNumber++;
+            command = command.strip();
+
+            if (command.isEmpty() || command.startsWith("#")) {
+                continue;
+            }
+            commandCount++;
+            line.setLength(0);
+            line.append(lineNumber).append(' ');
+
+            if (!runCommand(command)) {
+                failedCount++;
+            }
+        }
+        seconds = Math.max(1, System.nanoTime() - startTime) / 1e9;
+        output.write(String.format("Commands : %d, Failed : %d, Time Taken : "
+                                   + "%d ms, Commands Per Second : %.0f%n",
+                                   commandCount, failedCount,
+                                   (long) (seconds * 1000),
+                                   commandCount / seconds));
+        output.flush();
+        return commandCount;
+    }
+
+    /**
+     * Runs one command and writes its result.
+     *
+     * @param command the command line, not blank.
+     * @return true if the command succeeded, else false.
+     * @throws IOException if the result cannot be written.
+     */
+    private boolean runCommand(String command) throws IOException {
+        String[] words = command.split("\\s+", 2);
+        String arguments = (2 == words.length) ? words[1] : "";
+
+        switch (words[0].toLowerCase()) {
+            case "create":
+                return createEmployee(arguments);
+            case "update":
+                return updateEmployee(arguments);
+            case "delete":
+                return deleteEmployee(arguments);
+            case "view":
+                return viewEmployees(arguments);
+            default:
+                return writeResult(false, "Unknown command " + words[0]);
+        }
+    }
+
+    /**
+     * Validates the details of a create command and creates the employee.
+     *
+     * @param arguments the comma separated details.
+     * @return true if the employee was created, else false.
+     * @throws IOException if the result cannot be written.
+     */
+    private boolean createEmployee(String arguments) throws IOException {
+        String[] details = arguments.split(",", -1);
+        Map<EmployeeField, String> errors;
+
+        if (FIELD_COUNT != details.length) {
+            return writeResult(false, "Create needs " + FIELD_COUNT
+                               + " comma separated details");
+        }
+        errors = employeeController.validateEmployee(details[0], details[1],
+                details[2], details[3], details[4], details[5], details[6],
+                details[7]);
+
+        if (!errors.isEmpty()) {
+            return writeResult(false, String.join("; ", errors.values()));
+        }
+
+        if (!employeeController.createEmployee(
+                employeeController.validateId(details[0]),
+                employeeController.validateName(details[1]),
+                employeeController.validateDateOfBirth(details[2]),
+                employeeController.validateGender(details[3]),
+                employeeController.validateMobileNumber(details[4]),
+                employeeController.validateEmail(details[5]),
+                employeeController.validateSalaryInPaise(details[6]),
+                employeeController.validateDateOfJoining(details[7]))) {
+            return writeResult(false, "Id, mobile number or email already "
+                               + "exists");
+        }
+        return writeResult(true, "Created " + details[0].strip());
+    }
+
+    /**
+     * Validates the changes of an update command and applies them to the
+     * employee in one update.
+     *
+     * @param arguments the id followed by the comma separated changes.
+     * @return true if the employee was updated, else false.
+     * @throws IOException if the result cannot be written.
+     */
+    private boolean updateEmployee(String arguments) throws IOException {
+        String[] words = arguments.split("\\s+", 2);
+        Integer id = employeeController.validateId(words[0]);
+        Map<EmployeeField, String> changes
+                = new EnumMap<>(EmployeeField.class);
+        EmployeePatch patch;
+
+        if ((null == id) || (2 != words.length)) {
+            return writeResult(false, "Update needs an id and changes");
+        }
+
+        for (String change : words[1].split(",")) {
+            int separator = change.indexOf('=');
+            EmployeeField field = (0 > separator) ? null
+                    : EmployeeField.fromPropertyName(
+                            change.substring(0, separator).strip());
+
+            if ((null == field) || (EmployeeField.ID == field)) {
+                return writeResult(false, "Invalid change " + change.strip());
+            }
+            changes.put(field, change.substring(separator + 1));
+        }
+        patch = employeeController.validatePatch(changes);
+
+        if (null == patch) {
+            return writeResult(false, "Invalid changes");
+        }
+
+        if (!employeeController.patchEmployee(id, patch)) {
+            return writeResult(false, employeeController.isEmployeeExist(id)
+                                      ? "Mobile number or email already exists"
+                                      : "Employee not found");
+        }
+        return writeResult(true, "Updated " + id);
+    }
+
+    /**
+     * Deletes the employee of a delete command.
+     *
+     * @param arguments the id of the employee.
+     * @return true if the employee was deleted, else false.
+     * @throws IOException if the result cannot be written.
+     */
+    private boolean deleteEmployee(String arguments) throws IOException {
+        Integer id = employeeController.validateId(arguments);
+
+        if (null == id) {
+            return writeResult(false, "Delete needs an id");
+        }
+
+        if (!employeeController.deleteEmployee(id)) {
+            return writeResult(false, "Employee not found");
+        }
+        return writeResult(true, "Deleted " + id);
+    }
+
+    /**
+     * Writes the employee of a view command, or all employees in id order.
+     *
+     * @param arguments the id of the employee, or all.
+     * @return true if the employees were written, else false.
+     * @throws IOException if the employees cannot be written.
+     */
+    private boolean viewEmployees(String arguments) throws IOException {
+        Integer id = employeeController.validateId(arguments);
+        Employee employee;
+        EmployeePage page = null;
+
+        if ("all".equalsIgnoreCase(arguments)) {
+            writeResult(true, "All employees");
+            do {
+                page = employeeController.getEmployeePage((null == page)
+                        ? null : page.getNextCursor(), PAGE_SIZE);
+                for (Employee pageEmployee : page.getEmployees()) {
+                    writeEmployee(pageEmployee);
+                }
+            } while (page.hasNextPage());
+            return true;
+        }
+
+        if (null == id) {
+            return writeResult(false, "View needs an id or all");
+        }
+        employee = (Employee) employeeController.getEmployee(id).get(0);
+
+        if (null == employee) {
+            return writeResult(false, "Employee not found");
+        }
+        writeResult(true, "Employee " + id);
+        writeEmployee(employee);
+        return true;
+    }
+
+    /**
+     * Writes the result line of the current command.
+     *
+     * @param isSucceeded true if the command succeeded, else false.
+     * @param message the outcome of the command.
+     * @return isSucceeded, for the command to return.
+     * @throws IOException if the line cannot be written.
+     */
+    private boolean writeResult(boolean isSucceeded, String message)
+            throws IOException {
+        line.append(isSucceeded ? "OK " : "ERROR ").append(message)
+            .append('\n');
+        output.append(line);
+        return isSucceeded;
+    }
+
+    /**
+     * Writes the specified employee as a JSON object on its own line.
+     *
+     * @param employee the employee to be written.
+     * @throws IOException if the line cannot be written.
+     */
+    private void writeEmployee(Employee employee) throws IOException {
+        line.setLength(0);
+        JsonFormat.appendEmployee(line, employee, true);
+        output.append(line.append('\n'));
+    }
+}
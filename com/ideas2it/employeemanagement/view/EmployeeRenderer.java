@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Ideas2IT Technologies. All rights reserved.
+ */
+package com.ideas2it.employeemanagement.view;
+
+import java.io.PrintStream;
+
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.util.EmployeeFormat;
+
+/**
+ * The EmployeeRenderer class prints the details of employees in the same
+ * layout as Employee.toString. Employees are formatted straight into one
+ * reused buffer, which is printed only when it fills or when flushed, so
+ * printing many employees costs a few large writes instead of one flushed
+ * line each.
+ *
+ * @author  Sivanantham
+ * @version 1.0
+ */
+public class EmployeeRenderer {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 512);
+    private final PrintStream output;
+
+    /**
+     * Initializes a renderer printing to the specified stream.
+     *
+     * @param output the stream to print to.
+     */
+    public EmployeeRenderer(PrintStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Formats the details of the specified employee into the buffer,
+     * printing the buffer if it is full.
+     *
+     * @param employee the employee to be printed.
+     */
+    public void render(Employee employee) {
+        EmployeeFormat.appendDetails(buffer, employee).append('\n');
+
+        if (BUFFER_SIZE <= buffer.length()) {
+            output.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Prints the buffered employees and flushes the stream.
+     */
+    public void flush() {
+        output.append(buffer);
+        buffer.setLength(0);
+        output.flush();
+    }
+}
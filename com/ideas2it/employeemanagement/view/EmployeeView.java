@@ -3,11 +3,19 @@
  */
 package com.ideas2it.employeemanagement.view;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.function.Function;
 import java.util.Scanner;
 
 import com.ideas2it.employeemanagement.controller.EmployeeController;
+import com.ideas2it.employeemanagement.model.Employee;
+import com.ideas2it.employeemanagement.model.EmployeeGrouping;
+import com.ideas2it.employeemanagement.model.EmployeePage;
+import com.ideas2it.employeemanagement.model.EmployeePatch;
+import com.ideas2it.employeemanagement.model.ExportFormat;
+import com.ideas2it.employeemanagement.model.SalaryStatistics;
 
 /**
  * The EmployeeView class contains view implementations for create, update,
@@ -17,7 +25,12 @@ import com.ideas2it.employeemanagement.controller.EmployeeController;
  * @version 1.4
  */
 public class EmployeeView {
+    private static final int PAGE_SIZE = 20;
+    private static final String EMPLOYEE_CHANGED_MESSAGE = "\n\t\t\t<<<<<< "
+            + "Employee Was Changed By Another User! Please Retry >>>>>>\n";
     private Scanner inputReader = new Scanner(System.in);
+    private EmployeeRenderer employeeRenderer
+            = new EmployeeRenderer(System.out);
     private static EmployeeController employeeController = 
             new EmployeeController();
     
@@ -56,7 +69,8 @@ public class EmployeeView {
         options.append("\n\t\t\t\t\\ Main Menu /\n\t\t\t\t ~~~~~~~~~~~\n")
                .append("\n\t\t1 => Create Employee\t\t2 => Go To View Menu\n\n")
                .append("\t\t3 => Go To Update Menu\t\t4 => Go To Delete Menu\n")
-               .append("\n\t\t5 => Exit\n\n\t\tEnter The Option : ");
+               .append("\n\t\t5 => Import Employees\t\t6 => View Operation ")
+               .append("Metrics\n\n\t\t7 => Exit\n\n\t\tEnter The Option : ");
         
         do {
             System.out.print(options);
@@ -75,13 +89,45 @@ public class EmployeeView {
                 case "4": 
                     showAndGetDeleteChoice();
                     break;                    
-                case "5":  
+                case "5":
+                    importEmployees();
+                    break;
+                case "6":
+                    System.out.println("\n\t\t\t\t ~~~~~~~OPERATION METRICS"
+                            + " (MICROSECONDS)~~~~~~~\n\n"
+                            + employeeController.getOperationMetricsReport());
+                    break;
+                case "7":  
                     break;
                 default:  
                     System.out.println(errorMessage); 
                     break;
             }
-        } while (!"5".equals(userChoice));
+        } while (!"7".equals(userChoice));
+    }
+    
+    /**
+     * Gets the path of a CSV file from the user and imports the employees in
+     * it. Rejected rows are written to an error file next to it.
+     */
+    private void importEmployees() {
+        String csvFile;
+        
+        System.out.print("\n\t\tEnter The CSV File Path (id,name,"
+                         + "dateOfBirth,gender,mobileNumber,email,salary,"
+                         + "dateOfJoining) : ");
+        csvFile = inputReader.nextLine().strip();
+        
+        try {
+            System.out.println("\n\t\t\t<<<<<< "
+                    + employeeController.importEmployees(csvFile,
+                            csvFile + ".errors.csv")
+                    + " >>>>>>\n\t\t\tRejected Rows Are In " + csvFile
+                    + ".errors.csv\n");
+        } catch (IOException | InvalidPathException exception) {
+            System.out.println("\n\t\t\t<<<<<< File Could Not Be Read! "
+                               + ">>>>>>\n");
+        }
     }
     
     /**
@@ -89,7 +135,7 @@ public class EmployeeView {
      * employee.
      */
     private void createEmployee() {
-        float salary;
+        long salaryInPaise;
         long mobileNumber;
         LocalDate dateOfBirth;
         LocalDate dateOfJoining;
@@ -108,11 +154,11 @@ public class EmployeeView {
         dateOfBirth = getDateOfBirthInput();
         mobileNumber = getMobileNumberInput();
         email = getEmailInput();
-        salary = getSalaryInput();
+        salaryInPaise = getSalaryInput();
         dateOfJoining = getDateOfJoiningInput();
         
         if (employeeController.createEmployee(id, name, dateOfBirth, gender, 
-            mobileNumber, email, salary, dateOfJoining)) {      
+            mobileNumber, email, salaryInPaise, dateOfJoining)) {      
             System.out.println("\n\t\t\t<<<<<< Employee Created Successfully! "
                                + ">>>>>>\n");
         } else {
@@ -288,10 +334,10 @@ public class EmployeeView {
      * Gets employee salary from the user for create and update operations and
      * validates salary.
      *
-     * @return employee salary as a float value if valid.
+     * @return employee salary in paise as a long value if valid.
      */
-    private float getSalaryInput() {
-        Float salary = null;
+    private long getSalaryInput() {
+        Long salary = null;
         String userInput;
         String message = "\n\t\t\t<<<<<< Salary Must Be Atleast 8,000 ! Comma " 
                          + "Separators Are Not Allowed, 1 Or 2 Decimal Points "
@@ -300,7 +346,7 @@ public class EmployeeView {
         while (null == salary) {
             System.out.print("\n\t\t Enter Employee's Salary : ");
             userInput = inputReader.nextLine();
-            salary = employeeController.validateSalary(userInput);
+            salary = employeeController.validateSalaryInPaise(userInput);
             
             if (null == salary) {
                 System.out.println(message);
@@ -354,7 +400,9 @@ public class EmployeeView {
         options = new StringBuilder(70);
         options.append("\n\t\t\t\t\\ View Menu /\n\t\t\t\t ~~~~~~~~~~~~\n")
                .append("\n\t\t1 => View Single Employee\t\t2 => View All ")
-               .append("Employees\n\n\t\t3 => Return to Main Menu\n\n\t\t")
+               .append("Employees\n\n\t\t3 => Search Employees By Name\t")
+               .append("4 => Export Employees\n\n\t\t5 => View Salary ")
+               .append("Statistics\t\t6 => Return to Main Menu\n\n\t\t")
                .append("Enter The Option : ");
         
         do {
@@ -368,13 +416,95 @@ public class EmployeeView {
                 case "2": 
                     viewAllEmployee();
                     break;
-                case "3":  
+                case "3":
+                    searchEmployeesByName();
+                    break;
+                case "4":
+                    exportEmployees();
+                    break;
+                case "5":
+                    viewSalaryStatistics();
+                    break;
+                case "6":  
                     break;
                 default:  
                     System.out.println(errorMessage);
                     break;
             }
-        } while (!"3".equals(userChoice)); 
+        } while (!"6".equals(userChoice)); 
+    }
+    
+    /**
+     * Gets the export format and file path from the user and exports all
+     * employees. Employees are printed if no file path is given.
+     */
+    private void exportEmployees() {
+        ExportFormat format = null;
+        String file;
+        
+        while (null == format) {
+            System.out.print("\n\t\t1 => CSV\t\t2 => JSON Lines\n\n\t\t"
+                             + "Enter The Format : ");
+            
+            switch (inputReader.nextLine().strip()) {
+                case "1":
+                    format = ExportFormat.CSV;
+                    break;
+                case "2":
+                    format = ExportFormat.JSON_LINES;
+                    break;
+                default:
+                    System.out.println("\n\t\t\t<<<<<< Please Enter Valid "
+                                       + "Option! >>>>>>\n");
+                    break;
+            }
+        }
+        System.out.print("\n\t\tEnter The File Path (Leave Empty To Print) : ");
+        file = inputReader.nextLine();
+        
+        try {
+            System.out.println("\n\t\t\t<<<<<< "
+                    + employeeController.exportEmployees(format, file)
+                    + " Employees Exported! >>>>>>\n");
+        } catch (IOException | InvalidPathException exception) {
+            System.out.println("\n\t\t\t<<<<<< File Could Not Be Written! "
+                               + ">>>>>>\n");
+        }
+    }
+    
+    /**
+     * Gets the detail to group employees by from the user and prints the
+     * salary statistics of each group.
+     */
+    private void viewSalaryStatistics() {
+        EmployeeGrouping grouping = null;
+        
+        while (null == grouping) {
+            System.out.print("\n\t\t1 => Gender\t\t2 => Joining Year\n\n"
+                             + "\t\t3 => Age Band\n\n\t\tEnter The Option : ");
+            
+            switch (inputReader.nextLine().strip()) {
+                case "1":
+                    grouping = EmployeeGrouping.GENDER;
+                    break;
+                case "2":
+                    grouping = EmployeeGrouping.JOINING_YEAR;
+                    break;
+                case "3":
+                    grouping = EmployeeGrouping.AGE_BAND;
+                    break;
+                default:
+                    System.out.println("\n\t\t\t<<<<<< Please Enter Valid "
+                                       + "Option! >>>>>>\n");
+                    break;
+            }
+        }
+        System.out.println("\n\t\t\t\t ~~~~~~~SALARY STATISTICS~~~~~~~\n");
+        
+        for (SalaryStatistics statistics
+                : employeeController.getSalaryStatistics(grouping).values()) {
+            System.out.println(statistics);
+        }
     }
     
     /**
@@ -393,17 +523,74 @@ public class EmployeeView {
     }
     
     /** 
-     * Checks if database is empty and prints all employee's details if 
-     * database is not empty.
+     * Prints all employee's details one page at a time, in id order. The
+     * next page is fetched only when the user asks for it.
      */
     private void viewAllEmployee() {
-        List employees = employeeController.getAllEmployees();
-        
         System.out.println("\n\t\t\t\t ~~~~~~~ALL EMPLOYEE DETAILS~~~~~~~\n");
+        printPages(cursor -> employeeController.getEmployeePage(cursor,
+                                                                 PAGE_SIZE));
+    }
+    
+    /**
+     * Gets a part of a name from the user and prints the employees whose
+     * name contains it, one page at a time.
+     */
+    private void searchEmployeesByName() {
+        String searchText = getSearchTextInput();
         
-        for (int index = 0; index < employees.size(); index++) {
-            System.out.println(employees.get(index));
-        }
+        System.out.println("\n\t\t\t\t ~~~~~~~MATCHING EMPLOYEES~~~~~~~\n");
+        printPages(cursor -> employeeController.searchEmployeesByName(
+                searchText, cursor, PAGE_SIZE));
+    }
+    
+    /**
+     * Gets the text to search in employee names from the user.
+     *
+     * @return the search text, not blank.
+     */
+    private String getSearchTextInput() {
+        String text;
+        
+        do {
+            System.out.print("\n\t\tEnter The Name To Search : ");
+            text = inputReader.nextLine();
+        } while (text.isBlank());
+        return text;
+    }
+    
+    /**
+     * Prints pages of employees until the last page or until the user asks
+     * to return. The next page is fetched only when the user asks for it,
+     * unless the user asks for all of them. The employees are printed
+     * through the renderer, flushed before each prompt.
+     *
+     * @param pageFetcher the function fetching the page of a cursor.
+     */
+    private void printPages(Function<String, EmployeePage> pageFetcher) {
+        EmployeePage page = null;
+        String choice = "";
+        
+        do {
+            page = pageFetcher.apply((null == page) ? null
+                                                    : page.getNextCursor());
+            
+            for (Employee employee : page.getEmployees()) {
+                employeeRenderer.render(employee);
+            }
+            
+            if (!page.hasNextPage()) {
+                break;
+            }
+            
+            if (!"a".equals(choice)) {
+                employeeRenderer.flush();
+                System.out.print("\n\t\tPress Enter For Next Page, Enter A "
+                                 + "For All Pages Or Enter Q To Return : ");
+                choice = inputReader.nextLine().strip().toLowerCase();
+            }
+        } while (!"q".equals(choice));
+        employeeRenderer.flush();
     }
     
     /** 
@@ -509,14 +696,12 @@ public class EmployeeView {
      * name if id is found.
      */
     private void updateName(int id) {
-        String name = getNameInput();
-            
-        if (employeeController.updateName(id, name)) {
-            System.out.println("\n\t\t\t<<<<<< Name updated successfully! "
-                               + ">>>>>>\n");
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setName(getNameInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Name updated "
+                      + "successfully! >>>>>>\n");
     }
     
     /**
@@ -524,14 +709,12 @@ public class EmployeeView {
      * employee date of birth if employee id is found.
      */
     private void updateDateOfBirth(int id) { 
-        LocalDate dateOfBirth = getDateOfBirthInput();    
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
         
-        if (employeeController.updateDateOfBirth(id, dateOfBirth)) {
-            System.out.println("\n\t\t\t<<<<<< Date Of Birth Updated "
-                               + "Successfully! >>>>>>\n");
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");
-        }
+        patch.setDateOfBirth(getDateOfBirthInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Date Of Birth "
+                      + "Updated Successfully! >>>>>>\n");
     }
     
     /**
@@ -539,14 +722,12 @@ public class EmployeeView {
      * employee gender if employee id is found.
      */
     private void updateGender(int id) {
-        String gender = getGenderInput();
-
-        if (employeeController.updateGender(id, gender)) {      
-            System.out.println("\n\t\t\t<<<<<< Gender Updated Successfully!"
-                               + " >>>>>>\n");
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");    
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setGender(getGenderInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Gender Updated "
+                      + "Successfully! >>>>>>\n");
     }
     
     /**
@@ -554,14 +735,12 @@ public class EmployeeView {
      * the employee gender if id is found.
      */
     private void updateMobileNumber(int id) {
-        long mobileNumber = getMobileNumberInput();
-            
-        if (employeeController.updateMobileNumber(id, mobileNumber)) {
-            System.out.println("\n\t\t\t<<<<<< Mobile Number Updated "
-                                   + "Successfully! >>>>>>\n");
-        } else { 
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setMobileNumber(getMobileNumberInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Mobile Number "
+                      + "Updated Successfully! >>>>>>\n");
     }
     
     /**
@@ -569,14 +748,12 @@ public class EmployeeView {
      * the employee email if id is found.
      */
     private void updateEmail(int id) {
-        String email = getEmailInput();
-            
-        if (employeeController.updateEmail(id, email)) {
-            System.out.println("\n\t\t\t<<<<<< Email Updated Successfully! "
-                               + ">>>>>>\n");
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");         
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setEmail(getEmailInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Email Updated "
+                      + "Successfully! >>>>>>\n");
     }
     
     /**
@@ -584,14 +761,12 @@ public class EmployeeView {
      * the employee salary if id is found.
      */
     private void updateSalary(int id) {
-        float salary = getSalaryInput();
-            
-        if (employeeController.updateSalary(id, salary)) {
-            System.out.println("\n\t\t\t<<<<< Salary Updated Successfully! "
-                               + ">>>>>>\n");    
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setSalaryInPaise(getSalaryInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<< Salary Updated "
+                      + "Successfully! >>>>>>\n");
     }
     
     /**
@@ -599,14 +774,12 @@ public class EmployeeView {
      * the employee date of joining if id is found.
      */
     private void updateDateOfJoining(int id) {
-        LocalDate date = getDateOfJoiningInput();
-            
-        if (employeeController.updateDateOfJoining(id, date)) {
-            System.out.println("\n\t\t\t<<<<<< Date Of Joining Updated " 
-                               + "Successfully! >>>>>>\n");    
-        } else {
-            System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");        
-        }
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setDateOfJoining(getDateOfJoiningInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Date Of Joining "
+                      + "Updated Successfully! >>>>>>\n");
     }
     
     /**
@@ -616,18 +789,50 @@ public class EmployeeView {
      * @param id employee id to be updated.
      */
     private void updateAllDetails(int id) {
-        String name = getNameInput();
-        String gender = getGenderInput();
-        LocalDate dateOfBirth = getDateOfBirthInput();
-        long mobileNumber = getMobileNumberInput();
-        String email = getEmailInput();
-        float salary = getSalaryInput();
-        LocalDate dateOfJoining = getDateOfJoiningInput();
-        
-        if (employeeController.updateAllDetails(id, name, dateOfBirth, gender, 
-                mobileNumber, email, salary, dateOfJoining)) {
-            System.out.println("\n\t\t\t<<<<<< Employee Details Updated "
-                               + "Successfully! >>>>>>\n");
+        long version = getEmployeeVersion(id);
+        EmployeePatch patch = new EmployeePatch();
+        
+        patch.setName(getNameInput());
+        patch.setGender(getGenderInput());
+        patch.setDateOfBirth(getDateOfBirthInput());
+        patch.setMobileNumber(getMobileNumberInput());
+        patch.setEmail(getEmailInput());
+        patch.setSalaryInPaise(getSalaryInput());
+        patch.setDateOfJoining(getDateOfJoiningInput());
+        patchEmployee(id, version, patch, "\n\t\t\t<<<<<< Employee Details "
+                      + "Updated Successfully! >>>>>>\n");
+    }
+    
+    /**
+     * Gets the version the specified employee is stored with, so that it is
+     * changed only if no other user changes it while the user enters the
+     * new details.
+     *
+     * @param id the id of the employee.
+     * @return the version of the employee, or -1 if it is not found.
+     */
+    private long getEmployeeVersion(int id) {
+        Employee employee = (Employee) employeeController.getEmployee(id)
+                                                          .get(0);
+        
+        return (null == employee) ? -1 : employee.getVersion();
+    }
+    
+    /**
+     * Applies the specified patch if the employee is still stored with the
+     * specified version and prints the result.
+     *
+     * @param id the id of the employee to be updated.
+     * @param version the version the employee was read with.
+     * @param patch the details entered by the user.
+     * @param successMessage the message printed if the employee is updated.
+     */
+    private void patchEmployee(int id, long version, EmployeePatch patch,
+            String successMessage) {
+        if (employeeController.patchEmployeeIfVersion(id, version, patch)) {
+            System.out.println(successMessage);
+        } else if (version != getEmployeeVersion(id)) {
+            System.out.println(EMPLOYEE_CHANGED_MESSAGE);
         } else {
             System.out.println("\n\t\t\t<<<<<< An Error Occurred! >>>>>>\n");
         }
@@ -679,15 +884,20 @@ public class EmployeeView {
      */
     public void deleteEmployee() {
         int id = getIdInput();
+        long version = getEmployeeVersion(id);
         
-        if (!employeeController.isEmployeeExist(id)) {
+        if (-1 == version) {
              System.out.println("\n\t\t\t<<<<<< Employee Not Found! >>>>>>\n");
              return;
         }
 
         if (askConfirmationToDelete()) {
-             employeeController.deleteEmployee(id);
-            System.out.println("\n\t\t\t<<<<<< Deleted Successfully! >>>>>>\n");
+            if (employeeController.deleteEmployeeIfVersion(id, version)) {
+                System.out.println("\n\t\t\t<<<<<< Deleted Successfully! "
+                                   + ">>>>>>\n");
+            } else {
+                System.out.println(EMPLOYEE_CHANGED_MESSAGE);
+            }
         }
     }
     